@@ -47,6 +47,85 @@ CREATE TABLE public.corpos_celestes (
     atributo_especial text
 );
 
+-- Os índices, a função e o gatilho abaixo também são criados pela aplicação na inicialização, se
+-- faltarem (CorpoCelesteDAO.criarObjetosFaltantes); mantenha os dois iguais.
+
+-- Índice para buscas por tipo e nome (remoção por nome)
+CREATE INDEX idx_corpos_tipo_nome ON public.corpos_celestes (tipo, nome);
+
+-- Índice para o mais pesado de cada tipo (max por tipo)
+CREATE INDEX idx_corpos_tipo_massa ON public.corpos_celestes (tipo, massa_kg);
+
+-- Índices (coluna, id) para a navegação paginada por chave (keyset) em cada coluna ordenável;
+-- os de massa e distância também atendem aos rankings (ORDER BY ... LIMIT)
+CREATE INDEX idx_corpos_massa_id ON public.corpos_celestes (massa_kg, id);
+CREATE INDEX idx_corpos_distancia_id ON public.corpos_celestes (distancia_anos_luz, id);
+CREATE INDEX idx_corpos_tipo_id ON public.corpos_celestes (tipo, id);
+CREATE INDEX idx_corpos_nome_id ON public.corpos_celestes (nome, id);
+-- A coluna "Atributo Especial" ordena pelo valor exibido (Sim/Não nos planetas, o tipo espectral nas
+-- estrelas), como a tabela em memória
+CREATE INDEX idx_corpos_atributo_exibido_id ON public.corpos_celestes ((lower(CASE WHEN tipo = 'PLANETA'
+    THEN CASE WHEN lower(atributo_especial) = 'true' THEN 'Sim' ELSE 'Não' END
+    ELSE coalesce(atributo_especial, '') END) COLLATE "C"), id);
+
+-- Busca de trecho do nome na navegação paginada (ILIKE '%termo%' sem diferenciar acentos): índice GIN
+-- de trigramas sobre o nome em minúsculas e sem acentos. unaccent() não é IMMUTABLE, então o índice
+-- usa uma função que fixa o dicionário
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE OR REPLACE FUNCTION public.nome_sem_acentos(texto text) RETURNS text AS $fn$
+    SELECT public.unaccent('public.unaccent'::regdictionary, lower(texto))
+$fn$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+CREATE INDEX idx_corpos_nome_trigramas ON public.corpos_celestes USING gin (public.nome_sem_acentos(nome) gin_trgm_ops);
+
+-- Gatilhos de notificação, um por comando (FOR EACH STATEMENT): cada INSERT, UPDATE ou DELETE gera
+-- um pg_notify no canal 'corpos_celestes_alteracoes' com o payload "operação;origem;faixas"
+-- (I/U/D; origem = application_name; faixas = ids afetados como "inicio-fim", separadas por vírgula),
+-- lidos das tabelas de transição. Comandos muito grandes são divididos em mais de uma notificação
+-- (limite de 8000 bytes do payload). As instâncias da aplicação escutam o canal e aplicam só as
+-- alterações feitas pelas outras.
+CREATE OR REPLACE FUNCTION public.notificar_corpos_celestes() RETURNS trigger AS $fn$
+DECLARE
+    prefixo text := left(TG_OP, 1) || ';' || current_setting('application_name') || ';';
+    ids integer[];
+    faixas text := '';
+    faixa record;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT array_agg(id) INTO ids FROM antigos;
+    ELSE
+        SELECT array_agg(id) INTO ids FROM novos;
+    END IF;
+    IF ids IS NULL THEN
+        RETURN NULL;
+    END IF;
+    FOR faixa IN
+        SELECT min(id) AS inicio, max(id) AS fim
+        FROM (SELECT id, id - row_number() OVER (ORDER BY id) AS grupo FROM unnest(ids) AS id) t
+        GROUP BY grupo ORDER BY 1
+    LOOP
+        IF length(faixas) > 7000 THEN
+            PERFORM pg_notify('corpos_celestes_alteracoes', prefixo || faixas);
+            faixas := '';
+        END IF;
+        faixas := faixas || CASE WHEN faixas = '' THEN '' ELSE ',' END || faixa.inicio || '-' || faixa.fim;
+    END LOOP;
+    PERFORM pg_notify('corpos_celestes_alteracoes', prefixo || faixas);
+    RETURN NULL;
+END
+$fn$ LANGUAGE plpgsql;
+
+-- Tabelas de transição só podem ser declaradas num gatilho de um único evento: um por operação
+CREATE TRIGGER trg_corpos_notificar_insercao AFTER INSERT ON public.corpos_celestes
+    REFERENCING NEW TABLE AS novos FOR EACH STATEMENT EXECUTE FUNCTION public.notificar_corpos_celestes();
+CREATE TRIGGER trg_corpos_notificar_alteracao AFTER UPDATE ON public.corpos_celestes
+    REFERENCING NEW TABLE AS novos FOR EACH STATEMENT EXECUTE FUNCTION public.notificar_corpos_celestes();
+CREATE TRIGGER trg_corpos_notificar_remocao AFTER DELETE ON public.corpos_celestes
+    REFERENCING OLD TABLE AS antigos FOR EACH STATEMENT EXECUTE FUNCTION public.notificar_corpos_celestes();
+
+ALTER FUNCTION public.notificar_corpos_celestes() OWNER TO poo_user;
+ALTER FUNCTION public.nome_sem_acentos(text) OWNER TO poo_user;
+
 -- Define o dono da tabela como o usuário do sistema Java
 ALTER TABLE public.corpos_celestes OWNER TO poo_user;
 
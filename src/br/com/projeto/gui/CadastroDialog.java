@@ -264,12 +264,22 @@ public class CadastroDialog extends JDialog {
                 corpo = new Estrela(nome, massa, distancia, tipoEspectral);
             }
 
-            gerenciador.adicionar(corpo);
+            // Evita cadastros duplicados: o usuário decide se substitui o existente
+            if (gerenciador.existe(corpo.getTipoCorpo(), nome)) {
+                int opcao = JOptionPane.showConfirmDialog(this,
+                        "Já existe um corpo do tipo " + corpo.getTipoCorpo() + " chamado " + nome + ".\nDeseja substituir o cadastro existente?",
+                        "Corpo já cadastrado", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                if (opcao != JOptionPane.YES_OPTION) return;
+            }
+
+            gerenciador.adicionar(corpo, GerenciadorCorposCelestes.PoliticaDuplicados.SUBSTITUIR);
             JOptionPane.showMessageDialog(this, nome + " cadastrado com sucesso.", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
             dispose();
 
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Erro nos valores numéricos.\nVerifique se digitou apenas números e ponto (.) para a massa.", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
+        } catch (GerenciadorCorposCelestes.FilaEscritaCheiaException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Banco de dados indisponível", JOptionPane.ERROR_MESSAGE);
         }
     }
 }
\ No newline at end of file
@@ -2,8 +2,9 @@ package br.com.projeto.gui;
 
 import br.com.projeto.modelo.GerenciadorCorposCelestes;
 import br.com.projeto.modelo.CorpoCeleste;
-import br.com.projeto.modelo.Planeta;
 import br.com.projeto.modelo.Estrela;
+import br.com.projeto.modelo.MotorEstatisticas;
+import br.com.projeto.modelo.ResumoColecao;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -13,7 +14,7 @@ import java.awt.event.KeyEvent;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
 
 public class EstatisticasDialog extends JDialog {
 
@@ -22,6 +23,7 @@ public class EstatisticasDialog extends JDialog {
     // Formatador para notação científica (ex: 1.989E30)
     private static final DecimalFormat FORMAT_SCI = new DecimalFormat("0.###E0");
 
+    private final GerenciadorCorposCelestes gerenciador;
     private final List<CorpoCeleste> todos;
 
     // Componentes de Interface
@@ -34,11 +36,15 @@ public class EstatisticasDialog extends JDialog {
     private final JLabel lblQtdHabitaveis;
     private final DefaultListModel<String> modeloHabitaveis;
 
+    // Último cálculo disparado; resultados de cálculos anteriores são ignorados
+    private SwingWorker<?, Void> calculoEmAndamento;
+
     public EstatisticasDialog(JFrame parent, GerenciadorCorposCelestes gerenciador) {
         super(parent, "Estatísticas da Coleção", true);
         
-        // Cria um snapshot (cópia) dos dados atuais para análise
-        this.todos = new ArrayList<>(gerenciador.listarTodos());
+        this.gerenciador = gerenciador;
+        // listarTodos() já devolve uma fotografia imutável dos dados atuais
+        this.todos = gerenciador.listarTodos();
 
         setLayout(new BorderLayout());
 
@@ -48,8 +54,12 @@ public class EstatisticasDialog extends JDialog {
         
         painelEsquerdo.add(new JLabel("Filtrar seleção (CTRL+Click):"), BorderLayout.NORTH);
 
-        DefaultListModel<CorpoCeleste> modelLista = new DefaultListModel<>();
-        todos.forEach(modelLista::addElement);
+        // Modelo apoiado direto no snapshot: não copia nem dispara um evento por item
+        AbstractListModel<CorpoCeleste> modelLista = new AbstractListModel<>() {
+            private static final long serialVersionUID = 1L;
+            @Override public int getSize() { return todos.size(); }
+            @Override public CorpoCeleste getElementAt(int index) { return todos.get(index); }
+        };
 
         listaCorpos = new JList<>(modelLista);
         listaCorpos.setCellRenderer(new CorpoCelesteListRenderer());
@@ -164,29 +174,72 @@ public class EstatisticasDialog extends JDialog {
 
     private void atualizarEstatisticas() {
         // Se nada selecionado, usa TODOS. Se algo selecionado, usa apenas a seleção.
-        List<CorpoCeleste> base = listaCorpos.getSelectedValuesList();
-        if (base.isEmpty()) {
-            base = todos;
+        // Posições da seleção na fotografia: o cálculo lê as colunas, sem criar um objeto por corpo
+        int[] selecionados = listaCorpos.getSelectedIndices();
+
+        // Descarta um cálculo anterior que ainda não terminou
+        if (calculoEmAndamento != null) {
+            calculoEmAndamento.cancel(true);
+            calculoEmAndamento = null;
         }
 
-        // Cálculos usando Java Streams (Programação Funcional)
-        long totalEstrelas = base.stream().filter(c -> c instanceof Estrela).count();
-        long totalPlanetas = base.stream().filter(c -> c instanceof Planeta).count();
-        
-        double somaMassa = base.stream().mapToDouble(CorpoCeleste::getMassaKg).sum();
-        double mediaMassa = base.isEmpty() ? 0.0 : somaMassa / base.size();
+        // Sem seleção: o resumo do gerenciador (totais prontos e habitáveis por consulta planejada; na
+        // navegação paginada, do banco), fora da EDT
+        if (selecionados.length == 0) {
+            SwingWorker<ResumoColecao, Void> consulta = new SwingWorker<>() {
+                @Override
+                protected ResumoColecao doInBackground() {
+                    return gerenciador.getResumo();
+                }
+
+                @Override
+                protected void done() {
+                    if (isCancelled() || calculoEmAndamento != this) return;
+                    try {
+                        ResumoColecao resumo = get();
+                        List<String> nomes = new ArrayList<>(resumo.getQuantidadeHabitaveis());
+                        resumo.habitaveis().forEach(p -> nomes.add(p.getNome()));
+                        exibirEstatisticas(resumo.total(), resumo.estrelas(), resumo.planetas(),
+                                resumo.somaMassa(), resumo.getMediaMassa(), nomes);
+                    } catch (InterruptedException | ExecutionException e) {
+                        lblTotalCorpos.setText("Erro: " + e.getMessage());
+                    }
+                }
+            };
+            calculoEmAndamento = consulta;
+            consulta.execute();
+            return;
+        }
 
-        List<String> nomesHabitaveis = base.stream()
-                .filter(c -> c instanceof Planeta)
-                .map(c -> (Planeta) c)
-                .filter(Planeta::isHabitavel)
-                .map(CorpoCeleste::getNome)
-                .collect(Collectors.toList());
+        // O cálculo (uma única passada, em paralelo) roda fora da EDT
+        SwingWorker<MotorEstatisticas.Estatisticas, Void> calculo = new SwingWorker<>() {
+            @Override
+            protected MotorEstatisticas.Estatisticas doInBackground() {
+                return MotorEstatisticas.calcular(todos, selecionados);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || calculoEmAndamento != this) return;
+                try {
+                    MotorEstatisticas.Estatisticas e = get();
+                    exibirEstatisticas(e.total(), e.estrelas(), e.planetas(),
+                            e.massa().soma(), e.massa().media(), e.nomesHabitaveis());
+                } catch (InterruptedException | ExecutionException e) {
+                    lblTotalCorpos.setText("Erro: " + e.getMessage());
+                }
+            }
+        };
+        calculoEmAndamento = calculo;
+        calculo.execute();
+    }
 
+    private void exibirEstatisticas(long total, long estrelas, long planetas,
+                                    double somaMassa, double mediaMassa, List<String> nomesHabitaveis) {
         // Atualização da Interface
-        lblTotalCorpos.setText(String.valueOf(base.size()));
-        lblTotalEstrelas.setText(String.valueOf(totalEstrelas));
-        lblTotalPlanetas.setText(String.valueOf(totalPlanetas));
+        lblTotalCorpos.setText(String.valueOf(total));
+        lblTotalEstrelas.setText(String.valueOf(estrelas));
+        lblTotalPlanetas.setText(String.valueOf(planetas));
         
         lblSomaMassa.setText(FORMAT_SCI.format(somaMassa));
         lblMediaMassa.setText(FORMAT_SCI.format(mediaMassa));
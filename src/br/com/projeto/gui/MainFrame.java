@@ -1,21 +1,50 @@
 package br.com.projeto.gui;
 
 import br.com.projeto.modelo.*;
+import br.com.projeto.persistencia.ExportadorCsv;
+import br.com.projeto.persistencia.FilaEscritaAssincrona;
 import javax.swing.*;
 import javax.swing.event.*;
 import javax.swing.table.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class MainFrame extends JFrame {
     private static final long serialVersionUID = 1L;
     private final GerenciadorCorposCelestes gerenciador;
     private final JTextField searchField;
     private final JCheckBox chkPlaneta, chkEstrela;
+    private final JTextField campoMassaMin, campoMassaMax, campoDistMin, campoDistMax;
     private final JTable table;
-    private final DefaultTableModel tableModel;
+    private final ModeloTabelaCorpos tableModel;
+    private final JScrollPane scroll;
+    // Só na navegação paginada (tabela do banco grande demais para a memória); null caso contrário
+    private ModeloTabelaPaginada modeloPaginado;
+    private final JButton btnCadastrar, btnRemover, btnExp;
+
+    // Carga do catálogo em segundo plano
+    private static final int TAMANHO_LOTE_CARGA = 5000;
+    private final JPanel painelCarga;
+    private final JProgressBar barraCarga;
+    private final JLabel lblStatus;
+    private SwingWorker<String, Void> carregamento;
+    private boolean cargaCompleta = true;
+
+    // Busca: espera o usuário parar de digitar e filtra fora da EDT; só o resultado da última busca é exibido
+    private static final int ESPERA_DIGITACAO_MS = 250;
+    private final Timer buscaAdiada;
+    private SwingWorker<List<CorpoCeleste>, Void> buscaEmAndamento;
+    private long geracaoBusca;
 
     public MainFrame(GerenciadorCorposCelestes gerenciador) {
         super("AstroData - Gerenciador");
@@ -25,6 +54,13 @@ public class MainFrame extends JFrame {
         if (icon.getImageLoadStatus() != MediaTracker.ERRORED) setIconImage(icon.getImage());
 
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        // Antes de sair, grava no banco as alterações que ainda estão na fila
+        addWindowListener(new WindowAdapter() {
+            @Override public void windowClosing(WindowEvent e) {
+                if (carregamento != null && !carregamento.isDone()) carregamento.cancel(true);
+                gerenciador.encerrar(cargaCompleta);
+            }
+        });
         setSize(800, 600);
         setLayout(new BorderLayout());
 
@@ -33,7 +69,8 @@ public class MainFrame extends JFrame {
         searchField = new JTextField(20);
         chkPlaneta = new JCheckBox("Planeta");
         chkEstrela = new JCheckBox("Estrela");
-        JButton btnCadastrar = new JButton("Cadastrar"), btnRemover = new JButton("Remover");
+        btnCadastrar = new JButton("Cadastrar");
+        btnRemover = new JButton("Remover");
 
         topPanel.add(new JLabel("Buscar:"));
         topPanel.add(searchField);
@@ -41,50 +78,108 @@ public class MainFrame extends JFrame {
         topPanel.add(chkEstrela);
         topPanel.add(btnCadastrar);
         topPanel.add(btnRemover);
-        add(topPanel, BorderLayout.NORTH);
+
+        // Faixas de massa e distância (vazio = sem limite), atendidas pelos índices ordenados
+        JPanel faixasPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        campoMassaMin = new JTextField(8);
+        campoMassaMax = new JTextField(8);
+        campoDistMin = new JTextField(8);
+        campoDistMax = new JTextField(8);
+        faixasPanel.add(new JLabel("Massa (Kg):"));
+        faixasPanel.add(campoMassaMin);
+        faixasPanel.add(new JLabel("a"));
+        faixasPanel.add(campoMassaMax);
+        faixasPanel.add(new JLabel("Distância (AL):"));
+        faixasPanel.add(campoDistMin);
+        faixasPanel.add(new JLabel("a"));
+        faixasPanel.add(campoDistMax);
+
+        JPanel norte = new JPanel(new GridLayout(2, 1));
+        norte.add(topPanel);
+        norte.add(faixasPanel);
+        add(norte, BorderLayout.NORTH);
 
         // Tabela
-        String[] colunas = {"Tipo", "Nome", "Massa (Kg)", "Distância (AL)", "Atributo Especial"};
-        tableModel = new DefaultTableModel(colunas, 0) {
-            private static final long serialVersionUID = 1L;
-            @Override public boolean isCellEditable(int row, int col) { return false; }
-            @Override public Class<?> getColumnClass(int col) {
-                return switch (col) { case 2 -> Double.class; case 3 -> Long.class; default -> String.class; };
-            }
-        };
+        tableModel = new ModeloTabelaCorpos();
 
         table = new JTable(tableModel);
         table.setFillsViewportHeight(true);
-        table.setAutoCreateRowSorter(true);
+        // Ordenação feita pelo próprio modelo (permutação de índices), no clique do cabeçalho
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override public void mouseClicked(MouseEvent e) {
+                int coluna = table.columnAtPoint(e.getPoint());
+                if (coluna < 0) return;
+                modeloOrdenavel().ordenarPor(table.convertColumnIndexToModel(coluna));
+                atualizarCabecalho();
+            }
+        });
         
-        // Centralizar Títulos e Células
-        ((DefaultTableCellRenderer)table.getTableHeader().getDefaultRenderer()).setHorizontalAlignment(SwingConstants.CENTER);
-        DefaultTableCellRenderer center = new DefaultTableCellRenderer();
-        center.setHorizontalAlignment(SwingConstants.CENTER);
-        for (int i : new int[]{0, 2, 3, 4}) table.getColumnModel().getColumn(i).setCellRenderer(center);
+        configurarColunas();
         
-        add(new JScrollPane(table), BorderLayout.CENTER);
+        scroll = new JScrollPane(table);
+        // Na navegação paginada, a rolagem perto das pontas da janela busca a página vizinha
+        scroll.getViewport().addChangeListener(e -> {
+            if (modeloPaginado == null) return;
+            Rectangle visivel = table.getVisibleRect();
+            int primeira = table.rowAtPoint(new Point(0, visivel.y));
+            int ultima = table.rowAtPoint(new Point(0, visivel.y + visivel.height - 1));
+            if (ultima < 0) ultima = table.getRowCount() - 1;
+            modeloPaginado.verificarRolagem(Math.max(primeira, 0), ultima);
+        });
+        add(scroll, BorderLayout.CENTER);
 
         // Painel Inferior
         JPanel bottomPanel = new JPanel(new BorderLayout());
         JPanel left = new JPanel(new FlowLayout(FlowLayout.LEFT));
         JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        JButton btnStats = new JButton("Estatísticas"), btnRank = new JButton("Rankings"), btnExp = new JButton("Exportar CSV");
+        JButton btnStats = new JButton("Estatísticas"), btnRank = new JButton("Rankings");
+        btnExp = new JButton("Exportar CSV");
         
         left.add(btnStats); left.add(btnRank); right.add(btnExp);
         bottomPanel.add(left, BorderLayout.WEST); bottomPanel.add(right, BorderLayout.EAST);
+
+        // Barra de status: progresso da carga (com cancelamento) e, depois, o resumo da fonte
+        JPanel status = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        barraCarga = new JProgressBar();
+        barraCarga.setIndeterminate(true);
+        barraCarga.setStringPainted(true);
+        JButton btnCancelarCarga = new JButton("Cancelar");
+        btnCancelarCarga.addActionListener(e -> { if (carregamento != null) carregamento.cancel(true); });
+        painelCarga = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 0));
+        painelCarga.add(barraCarga);
+        painelCarga.add(btnCancelarCarga);
+        painelCarga.setVisible(false);
+        lblStatus = new JLabel();
+        status.add(painelCarga);
+        status.add(lblStatus);
+        bottomPanel.add(status, BorderLayout.CENTER);
         add(bottomPanel, BorderLayout.SOUTH);
 
         // Listeners
+        buscaAdiada = new Timer(ESPERA_DIGITACAO_MS, e -> atualizarLista());
+        buscaAdiada.setRepeats(false);
         DocumentListener dl = new DocumentListener() {
-            public void insertUpdate(DocumentEvent e) { atualizarLista(); }
-            public void removeUpdate(DocumentEvent e) { atualizarLista(); }
-            public void changedUpdate(DocumentEvent e) { atualizarLista(); }
+            public void insertUpdate(DocumentEvent e) { buscaAdiada.restart(); }
+            public void removeUpdate(DocumentEvent e) { buscaAdiada.restart(); }
+            public void changedUpdate(DocumentEvent e) { buscaAdiada.restart(); }
         };
-        searchField.getDocument().addDocumentListener(dl);
+        for (JTextField campo : new JTextField[]{searchField, campoMassaMin, campoMassaMax, campoDistMin, campoDistMax}) {
+            campo.getDocument().addDocumentListener(dl);
+        }
         chkPlaneta.addItemListener(e -> atualizarLista());
         chkEstrela.addItemListener(e -> atualizarLista());
 
+        // Falhas de gravação chegam da thread de escrita: avisadas na barra de status (o lote será
+        // regravado) ou numa mensagem (alterações descartadas, que valem só nesta sessão)
+        gerenciador.adicionarOuvinteFalhaPersistencia(new FilaEscritaAssincrona.OuvinteFalha() {
+            @Override public void falhou(List<FilaEscritaAssincrona.Mutacao> lote, SQLException erro, boolean seraRepetido) {
+                SwingUtilities.invokeLater(() -> avisarFalhaGravacao(lote.size(), erro, seraRepetido));
+            }
+            @Override public void recuperou() {
+                SwingUtilities.invokeLater(() -> lblStatus.setText("Conexão com o banco restabelecida: alterações gravadas"));
+            }
+        });
+
         btnCadastrar.addActionListener(e -> { new CadastroDialog(this, gerenciador).setVisible(true); listarTodos(); });
         btnRemover.addActionListener(e -> { new RemoverDialog(this, gerenciador).setVisible(true); listarTodos(); });
         btnStats.addActionListener(e -> new EstatisticasDialog(this, gerenciador).setVisible(true));
@@ -96,39 +191,325 @@ public class MainFrame extends JFrame {
         setVisible(true);
     }
 
-    private void listarTodos() { atualizarTabela(gerenciador.listarTodos()); }
+    private void avisarFalhaGravacao(int alteracoes, SQLException erro, boolean seraRepetido) {
+        if (seraRepetido) {
+            lblStatus.setText(String.format("Banco indisponível: %,d alteração(ões) aguardando gravação (%s)",
+                    gerenciador.getAlteracoesPendentes(), erro.getMessage()));
+            return;
+        }
+        JOptionPane.showMessageDialog(this, String.format("%,d alteração(ões) não puderam ser gravadas no banco e valem"
+                + " só nesta sessão:%n%s", alteracoes, erro.getMessage()), "Erro de gravação", JOptionPane.ERROR_MESSAGE);
+    }
+
+    // Abre a janela já utilizável e preenche a tabela em lotes conforme o catálogo é lido
+    public void carregarCatalogo() {
+        if (carregamento != null && !carregamento.isDone()) return;
+        cargaCompleta = false;
+        btnCadastrar.setEnabled(false);
+        btnRemover.setEnabled(false);
+        barraCarga.setString("Carregando catálogo...");
+        lblStatus.setText("");
+        painelCarga.setVisible(true);
+        // Inclusões e remoções de outras instâncias chegam pelo banco e entram na coleção pela EDT;
+        // iniciada antes da carga para não perder o que for alterado enquanto ela roda
+        gerenciador.iniciarSincronizacao(SwingUtilities::invokeLater, this::atualizarLista);
+
+        carregamento = new SwingWorker<>() {
+            private final List<CorpoCeleste> lote = new ArrayList<>(TAMANHO_LOTE_CARGA);
+            private long recebidos;
+
+            @Override
+            protected String doInBackground() {
+                String origem = gerenciador.lerFontesIniciais(new GerenciadorCorposCelestes.DestinoCarga() {
+                    @Override public void receber(CorpoCeleste corpo) {
+                        if (isCancelled()) throw new CancellationException();
+                        lote.add(corpo);
+                        recebidos++;
+                        if (lote.size() == TAMANHO_LOTE_CARGA) entregar(false);
+                    }
+                    @Override public void descartar() {
+                        lote.clear();
+                        recebidos = 0;
+                        entregar(true);
+                    }
+                });
+                entregar(false);
+                return origem;
+            }
+
+            // Os lotes entram na coleção e na tabela pela EDT, na ordem em que foram lidos;
+            // depois de um cancelamento os lotes ainda na fila são ignorados
+            private void entregar(boolean descartarAnteriores) {
+                List<CorpoCeleste> corpos = List.copyOf(lote);
+                lote.clear();
+                long total = recebidos;
+                SwingUtilities.invokeLater(() -> {
+                    if (isCancelled()) return;
+                    if (descartarAnteriores) {
+                        gerenciador.descartarCarregados();
+                        tableModel.setDados(new ArrayList<>());
+                    }
+                    gerenciador.incorporarCarregados(corpos);
+                    // Uma busca em andamento partiu de uma cópia sem este lote: refaz em vez de acrescentar
+                    if (buscaEmAndamento != null) atualizarLista();
+                    else adicionarLinhas(corpos);
+                    barraCarga.setString(String.format("Carregando... %,d corpos", total));
+                });
+            }
+
+            @Override
+            protected void done() {
+                painelCarga.setVisible(false);
+                btnCadastrar.setEnabled(true);
+                btnRemover.setEnabled(true);
+                int total = gerenciador.listarTodos().size();
+                if (isCancelled()) {
+                    gerenciador.marcarCargaCancelada();
+                    lblStatus.setText(String.format("Carga cancelada: %,d corpos carregados", total));
+                    return;
+                }
+                try {
+                    String origem = get();
+                    cargaCompleta = true;
+                    if (gerenciador.isNavegacaoPaginada()) {
+                        iniciarNavegacaoPaginada();
+                        lblStatus.setText(String.format("~%,d corpos (%s)", gerenciador.getLinhasEstimadasNoBanco(), origem));
+                        return;
+                    }
+                    gerenciador.marcarCargaCompleta();
+                    lblStatus.setText(String.format("%,d corpos (%s)", total, origem));
+                    conferirSnapshot();
+                } catch (InterruptedException | ExecutionException ex) {
+                    lblStatus.setText("Erro na carga: " + ex.getMessage());
+                }
+            }
+        };
+        carregamento.execute();
+    }
+
+    private void listarTodos() { atualizarLista(); }
+
+    // A carga pelo snapshot não esperou pelo banco: ele é conferido agora, com a tela já no ar, e só se
+    // tiver ficado para trás o catálogo é carregado de novo (do banco)
+    private void conferirSnapshot() {
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                return gerenciador.snapshotDesatualizado();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    if (!get() || (carregamento != null && !carregamento.isDone())) return;
+                } catch (InterruptedException | ExecutionException ex) {
+                    return;
+                }
+                gerenciador.descartarCarregados();
+                tableModel.setDados(new ArrayList<>());
+                carregarCatalogo();
+                lblStatus.setText("Snapshot desatualizado em relação ao banco: recarregando");
+            }
+        }.execute();
+    }
+
+    // A tabela passa a ler páginas do banco; filtros e ordenação vão para o SQL
+    private void iniciarNavegacaoPaginada() {
+        if (buscaEmAndamento != null) buscaEmAndamento.cancel(true);
+        buscaEmAndamento = null;
+        modeloPaginado = new ModeloTabelaPaginada(gerenciador, new ModeloTabelaPaginada.Ouvinte() {
+            @Override public void linhasDeslocadas(int linhas) {
+                // Mantém as mesmas linhas na tela quando entram/saem linhas acima delas
+                scroll.validate();
+                JViewport viewport = scroll.getViewport();
+                Point posicao = viewport.getViewPosition();
+                posicao.y = Math.max(0, posicao.y + linhas * table.getRowHeight());
+                viewport.setViewPosition(posicao);
+            }
+            @Override public void falhou(String mensagem) {
+                lblStatus.setText(mensagem);
+            }
+        });
+        table.setModel(modeloPaginado);
+        configurarColunas();
+        atualizarCabecalho();
+        lblStatus.setToolTipText(null);
+
+        // Remoção e exportação trabalham sobre a coleção em memória, que aqui fica vazia
+        String indisponivel = "Indisponível na navegação paginada: a tabela do banco é grande demais para a memória";
+        btnRemover.setEnabled(false);
+        btnRemover.setToolTipText(indisponivel);
+        btnExp.setEnabled(false);
+        btnExp.setToolTipText(indisponivel);
+        modeloPaginado.filtrar(consultaAtual());
+    }
+
+    private TabelaOrdenavel modeloOrdenavel() {
+        return (modeloPaginado != null) ? modeloPaginado : tableModel;
+    }
 
-    private void atualizarTabela(List<CorpoCeleste> dados) {
-        tableModel.setRowCount(0);
+    // Centralizar Títulos e Células (refeito ao trocar o modelo, que recria as colunas)
+    private void configurarColunas() {
+        ((DefaultTableCellRenderer)table.getTableHeader().getDefaultRenderer()).setHorizontalAlignment(SwingConstants.CENTER);
+        DefaultTableCellRenderer center = new DefaultTableCellRenderer();
+        center.setHorizontalAlignment(SwingConstants.CENTER);
+        for (int i : new int[]{0, 2, 3, 4}) table.getColumnModel().getColumn(i).setCellRenderer(center);
+    }
+
+    private void adicionarLinhas(List<CorpoCeleste> dados) {
+        tableModel.adicionar(filtrar(dados));
+    }
+
+    private List<CorpoCeleste> filtrar(List<CorpoCeleste> dados) {
+        Consulta consulta = consultaAtual();
+        List<CorpoCeleste> filtrados = new ArrayList<>(dados.size());
         for (CorpoCeleste c : dados) {
-            if (c == null) continue;
-            String tipo = "OUTRO", extra = "";
-            if (c instanceof Planeta p) { tipo = "PLANETA"; extra = p.isHabitavel() ? "Sim" : "Não"; }
-            else if (c instanceof Estrela e) { tipo = "ESTRELA"; extra = e.getTipoEspectral(); }
-            tableModel.addRow(new Object[]{tipo, c.getNome(), c.getMassaKg(), c.getDistanciaEmAnosLuz(), extra});
+            if (consulta.aceita(c)) filtrados.add(c);
         }
+        return filtrados;
     }
 
+    // Indica no cabeçalho a coluna ordenada e o sentido
+    private void atualizarCabecalho() {
+        TabelaOrdenavel modelo = modeloOrdenavel();
+        for (int i = 0; i < table.getColumnCount(); i++) {
+            int coluna = table.convertColumnIndexToModel(i);
+            String nome = table.getModel().getColumnName(coluna);
+            if (coluna == modelo.getColunaOrdenada()) nome += modelo.isCrescente() ? " \u25B2" : " \u25BC";
+            table.getColumnModel().getColumn(i).setHeaderValue(nome);
+        }
+        table.getTableHeader().repaint();
+    }
+
+    // Lido na EDT: termo, tipo e faixas (campo inválido fica destacado e é tratado como vazio)
+    private Consulta consultaAtual() {
+        return Consulta.todos()
+            .comTrecho(searchField.getText())
+            .comTipo(Consulta.tipoDe(chkPlaneta.isSelected(), chkEstrela.isSelected()))
+            .comMassaEntre(lerMassa(campoMassaMin, Double.NEGATIVE_INFINITY), lerMassa(campoMassaMax, Double.POSITIVE_INFINITY))
+            .comDistanciaEntre(lerDistancia(campoDistMin, Long.MIN_VALUE), lerDistancia(campoDistMax, Long.MAX_VALUE));
+    }
+
+    private static double lerMassa(JTextField campo, double semLimite) {
+        String texto = campo.getText().trim();
+        double valor = semLimite;
+        boolean valido = true;
+        if (!texto.isEmpty()) {
+            try {
+                valor = Double.parseDouble(texto.replace(',', '.'));
+                valido = !Double.isNaN(valor);
+                if (!valido) valor = semLimite;
+            } catch (NumberFormatException e) {
+                valido = false;
+            }
+        }
+        marcarValidade(campo, valido);
+        return valor;
+    }
+
+    private static long lerDistancia(JTextField campo, long semLimite) {
+        String texto = campo.getText().trim();
+        long valor = semLimite;
+        boolean valido = true;
+        if (!texto.isEmpty()) {
+            try {
+                valor = Long.parseLong(texto);
+            } catch (NumberFormatException e) {
+                valido = false;
+            }
+        }
+        marcarValidade(campo, valido);
+        return valor;
+    }
+
+    private static void marcarValidade(JTextField campo, boolean valido) {
+        campo.setBackground(valido ? UIManager.getColor("TextField.background") : Color.PINK);
+    }
+
+    // Dispara a busca em segundo plano, cancelando a anterior; resultados de buscas antigas são descartados
     private void atualizarLista() {
-        String termo = searchField.getText().toLowerCase();
-        boolean fPlaneta = chkPlaneta.isSelected(), fEstrela = chkEstrela.isSelected();
-        List<CorpoCeleste> filtrados = gerenciador.listarTodos().stream()
-            .filter(c -> termo.isEmpty() || (c.getNome() != null && c.getNome().toLowerCase().contains(termo)))
-            .filter(c -> (!fPlaneta && !fEstrela) || (fPlaneta && c instanceof Planeta) || (fEstrela && c instanceof Estrela))
-            .collect(Collectors.toList());
-        atualizarTabela(filtrados);
+        buscaAdiada.stop();
+        if (modeloPaginado != null) {
+            modeloPaginado.filtrar(consultaAtual());
+            return;
+        }
+        if (buscaEmAndamento != null) buscaEmAndamento.cancel(true);
+
+        long geracao = ++geracaoBusca;
+        // Os filtros são lidos aqui, na EDT; o planejador escolhe a fonte (índice, varredura ou banco),
+        // copia a faixa do índice e filtra no worker. O "explain" fica na dica da barra de status.
+        Consulta consulta = consultaAtual();
+
+        SwingWorker<List<CorpoCeleste>, Void> busca = new SwingWorker<>() {
+            private volatile PlanoConsulta plano;
+
+            @Override
+            protected List<CorpoCeleste> doInBackground() {
+                ExecucaoConsulta execucao = gerenciador.prepararConsulta(consulta);
+                plano = execucao.plano();
+                return execucao.executar(this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || geracao != geracaoBusca) return;
+                buscaEmAndamento = null;
+                if (plano != null) {
+                    String explicacao = plano.explicar().replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+                    lblStatus.setToolTipText("<html><pre>" + explicacao + "</pre></html>");
+                }
+                try {
+                    tableModel.setDados(get());
+                } catch (InterruptedException | ExecutionException ex) {
+                    lblStatus.setText("Erro na busca: " + ex.getMessage());
+                }
+            }
+        };
+        buscaEmAndamento = busca;
+        busca.execute();
     }
 
+    // Exporta em segundo plano com barra de progresso e cancelamento (".gz" no nome grava comprimido)
     private void exportarCsv() {
         JFileChooser ch = new JFileChooser();
         ch.setSelectedFile(new File("corpos_celestes.csv"));
-        if (ch.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                gerenciador.exportarParaCsv(ch.getSelectedFile().getAbsolutePath());
-                JOptionPane.showMessageDialog(this, "Sucesso!");
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Erro: " + ex.getMessage());
+        if (ch.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        Path destino = ch.getSelectedFile().toPath();
+        List<CorpoCeleste> corpos = gerenciador.listarTodos();
+        ProgressMonitor monitor = new ProgressMonitor(this, "Exportando " + destino.getFileName(), "", 0, 100);
+        monitor.setMillisToDecideToPopup(200);
+        Timer verificarCancelamento = new Timer(200, null);
+
+        SwingWorker<ExportadorCsv.ResultadoExportacao, Void> exportacao = new SwingWorker<>() {
+            @Override
+            protected ExportadorCsv.ResultadoExportacao doInBackground() throws Exception {
+                return gerenciador.exportarParaCsv(corpos, destino, ExportadorCsv.usaGzip(destino),
+                        (gravadas, total) -> setProgress(total == 0 ? 100 : (int) (gravadas * 100 / total)),
+                        this::isCancelled);
             }
-        }
+
+            @Override
+            protected void done() {
+                verificarCancelamento.stop();
+                monitor.close();
+                if (isCancelled()) return;
+                try {
+                    ExportadorCsv.ResultadoExportacao r = get();
+                    JOptionPane.showMessageDialog(MainFrame.this, String.format("Sucesso! %,d linhas em %.1f s.",
+                            r.linhas(), r.duracaoNanos() / 1e9));
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable causa = (ex.getCause() != null) ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(MainFrame.this, "Erro: " + causa.getMessage());
+                }
+            }
+        };
+        exportacao.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) monitor.setProgress((Integer) e.getNewValue());
+        });
+        // O botão Cancelar do monitor é consultado na EDT e repassado à exportação
+        verificarCancelamento.addActionListener(e -> { if (monitor.isCanceled()) exportacao.cancel(true); });
+        verificarCancelamento.start();
+        exportacao.execute();
     }
 }
\ No newline at end of file
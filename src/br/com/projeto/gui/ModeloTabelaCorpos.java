@@ -0,0 +1,189 @@
+package br.com.projeto.gui;
+
+import br.com.projeto.modelo.CorpoCeleste;
+import br.com.projeto.modelo.Estrela;
+import br.com.projeto.modelo.Planeta;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Modelo da tabela principal: as células são lidas dos próprios corpos, sob demanda, pelo índice
+// da linha (só as linhas visíveis são consultadas). Não há cópia dos dados em Vector/Object[].
+// A ordenação é uma permutação de índices (int[]) sobre a lista, calculada com merge sort estável.
+class ModeloTabelaCorpos extends AbstractTableModel implements TabelaOrdenavel {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String[] COLUNAS = {"Tipo", "Nome", "Massa (Kg)", "Distância (AL)", "Atributo Especial"};
+    private static final Comparator<String> ORDEM_TEXTO = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+
+    private transient List<CorpoCeleste> dados = new ArrayList<>();
+    // Linha da tabela -> posição em "dados"; null enquanto não há ordenação
+    private int[] ordem;
+    private int colunaOrdenada = -1;
+    private boolean crescente = true;
+
+    // --- AbstractTableModel ---
+
+    @Override
+    public int getRowCount() {
+        return dados.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return COLUNAS[coluna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return classeDaColuna(coluna);
+    }
+
+    static Class<?> classeDaColuna(int coluna) {
+        return switch (coluna) { case 2 -> Double.class; case 3 -> Long.class; default -> String.class; };
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        CorpoCeleste c = getCorpo(linha);
+        return switch (coluna) {
+            case 0 -> tipo(c);
+            case 1 -> c.getNome();
+            case 2 -> c.getMassaKg();
+            case 3 -> c.getDistanciaEmAnosLuz();
+            default -> extra(c);
+        };
+    }
+
+    public CorpoCeleste getCorpo(int linha) {
+        return dados.get(ordem == null ? linha : ordem[linha]);
+    }
+
+    // --- Troca e inclusão de dados ---
+
+    // A lista passa a ser do modelo (não deve ser alterada por quem chamou); um único evento de atualização
+    public void setDados(List<CorpoCeleste> novos) {
+        dados = (novos instanceof ArrayList) ? novos : new ArrayList<>(novos);
+        ordem = (colunaOrdenada < 0) ? null : ordenar(sequencia(0, dados.size()));
+        fireTableDataChanged();
+    }
+
+    // Acrescenta um lote ao final; com ordenação ativa, o lote é ordenado e intercalado em O(n)
+    public void adicionar(List<CorpoCeleste> lote) {
+        if (lote.isEmpty()) return;
+        int inicio = dados.size();
+        dados.addAll(lote);
+        if (ordem == null) {
+            fireTableRowsInserted(inicio, dados.size() - 1);
+            return;
+        }
+        ordem = intercalar(ordem, ordenar(sequencia(inicio, dados.size())));
+        fireTableDataChanged();
+    }
+
+    // --- Ordenação ---
+
+    // Clique repetido na mesma coluna inverte o sentido
+    @Override
+    public void ordenarPor(int coluna) {
+        crescente = (coluna != colunaOrdenada) || !crescente;
+        colunaOrdenada = coluna;
+        ordem = ordenar(sequencia(0, dados.size()));
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getColunaOrdenada() {
+        return colunaOrdenada;
+    }
+
+    @Override
+    public boolean isCrescente() {
+        return crescente;
+    }
+
+    private int comparar(int a, int b) {
+        CorpoCeleste x = dados.get(a), y = dados.get(b);
+        int resultado = switch (colunaOrdenada) {
+            case 0 -> tipo(x).compareTo(tipo(y));
+            case 1 -> ORDEM_TEXTO.compare(x.getNome(), y.getNome());
+            case 2 -> Double.compare(x.getMassaKg(), y.getMassaKg());
+            case 3 -> Long.compare(x.getDistanciaEmAnosLuz(), y.getDistanciaEmAnosLuz());
+            default -> ORDEM_TEXTO.compare(extra(x), extra(y));
+        };
+        return crescente ? resultado : -resultado;
+    }
+
+    private static int[] sequencia(int inicio, int fim) {
+        int[] indices = new int[fim - inicio];
+        for (int i = 0; i < indices.length; i++) indices[i] = inicio + i;
+        return indices;
+    }
+
+    // Merge sort estável: empates mantêm a ordem original da lista
+    private int[] ordenar(int[] indices) {
+        int[] auxiliar = indices.clone();
+        mergeSort(auxiliar, indices, 0, indices.length);
+        return indices;
+    }
+
+    // Ordena destino[inicio, fim) usando origem (com o mesmo conteúdo) como área de trabalho
+    private void mergeSort(int[] origem, int[] destino, int inicio, int fim) {
+        if (fim - inicio <= 16) {
+            for (int i = inicio + 1; i < fim; i++) {
+                int valor = destino[i];
+                int j = i - 1;
+                while (j >= inicio && comparar(destino[j], valor) > 0) {
+                    destino[j + 1] = destino[j];
+                    j--;
+                }
+                destino[j + 1] = valor;
+            }
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        mergeSort(destino, origem, inicio, meio);
+        mergeSort(destino, origem, meio, fim);
+        // Metades já em ordem: basta copiar
+        if (comparar(origem[meio - 1], origem[meio]) <= 0) {
+            System.arraycopy(origem, inicio, destino, inicio, fim - inicio);
+            return;
+        }
+        for (int i = inicio, p = inicio, q = meio; i < fim; i++) {
+            if (q >= fim || (p < meio && comparar(origem[p], origem[q]) <= 0)) destino[i] = origem[p++];
+            else destino[i] = origem[q++];
+        }
+    }
+
+    // Os índices de "depois" são todos maiores que os de "antes", então os empates ficam com "antes" primeiro
+    private int[] intercalar(int[] antes, int[] depois) {
+        int[] resultado = new int[antes.length + depois.length];
+        for (int i = 0, p = 0, q = 0; i < resultado.length; i++) {
+            if (q >= depois.length || (p < antes.length && comparar(antes[p], depois[q]) <= 0)) resultado[i] = antes[p++];
+            else resultado[i] = depois[q++];
+        }
+        return resultado;
+    }
+
+    // --- Valores exibidos ---
+
+    static String tipo(CorpoCeleste c) {
+        if (c instanceof Planeta) return "PLANETA";
+        if (c instanceof Estrela) return "ESTRELA";
+        return "OUTRO";
+    }
+
+    static String extra(CorpoCeleste c) {
+        if (c instanceof Planeta p) return p.isHabitavel() ? "Sim" : "Não";
+        if (c instanceof Estrela e) return e.getTipoEspectral();
+        return "";
+    }
+}
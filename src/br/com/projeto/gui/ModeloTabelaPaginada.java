@@ -0,0 +1,219 @@
+package br.com.projeto.gui;
+
+import br.com.projeto.modelo.Consulta;
+import br.com.projeto.modelo.CorpoCeleste;
+import br.com.projeto.modelo.GerenciadorCorposCelestes;
+import br.com.projeto.persistencia.CorpoCelesteDAO;
+
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+// Modelo da tabela principal na navegação paginada (tabela do banco grande demais para a memória).
+// Mantém só uma janela de até MAXIMO_PAGINAS páginas consecutivas. Quando a rolagem se aproxima
+// do fim (ou do começo) da janela, a página seguinte (ou anterior) é buscada em segundo plano, pela
+// chave da última (ou primeira) linha (keyset no DAO); ao passar do máximo, a página na outra ponta
+// sai da janela. Memória e tempo por página ficam constantes em qualquer profundidade.
+class ModeloTabelaPaginada extends AbstractTableModel implements TabelaOrdenavel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int TAMANHO_PAGINA = 500;
+    private static final int MAXIMO_PAGINAS = 4;
+    // Linhas restantes até a ponta da janela que disparam a busca da página vizinha
+    private static final int MARGEM_PRE_BUSCA = TAMANHO_PAGINA / 2;
+
+    // Avisos para a tela: linhas entraram/saíram acima da área visível (a rolagem deve compensar)
+    // e falhas de acesso ao banco
+    interface Ouvinte {
+        void linhasDeslocadas(int linhas);
+
+        void falhou(String mensagem);
+    }
+
+    private final transient GerenciadorCorposCelestes gerenciador;
+    private final transient Ouvinte ouvinte;
+
+    private final transient List<CorpoCelesteDAO.Pagina> paginas = new ArrayList<>();
+    private int totalLinhas;
+    private boolean haAnterior;
+    private boolean haProxima;
+
+    private transient Consulta filtro = Consulta.todos();
+    private int colunaOrdenada = -1;
+    private boolean crescente = true;
+
+    private transient SwingWorker<CorpoCelesteDAO.Pagina, Void> buscaEmAndamento;
+    // Muda a cada reinício; páginas de buscas anteriores são descartadas
+    private long geracao;
+
+    ModeloTabelaPaginada(GerenciadorCorposCelestes gerenciador, Ouvinte ouvinte) {
+        this.gerenciador = gerenciador;
+        this.ouvinte = ouvinte;
+    }
+
+    // --- AbstractTableModel ---
+
+    @Override
+    public int getRowCount() {
+        return totalLinhas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return ModeloTabelaCorpos.COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return ModeloTabelaCorpos.COLUNAS[coluna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return ModeloTabelaCorpos.classeDaColuna(coluna);
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        CorpoCeleste c = getCorpo(linha);
+        return switch (coluna) {
+            case 0 -> ModeloTabelaCorpos.tipo(c);
+            case 1 -> c.getNome();
+            case 2 -> c.getMassaKg();
+            case 3 -> c.getDistanciaEmAnosLuz();
+            default -> ModeloTabelaCorpos.extra(c);
+        };
+    }
+
+    // No máximo MAXIMO_PAGINAS páginas para percorrer
+    public CorpoCeleste getCorpo(int linha) {
+        for (CorpoCelesteDAO.Pagina pagina : paginas) {
+            if (linha < pagina.linhas().size()) return pagina.linhas().get(linha);
+            linha -= pagina.linhas().size();
+        }
+        throw new IndexOutOfBoundsException("Linha fora da janela: " + linha);
+    }
+
+    // --- Filtro e ordenação (recomeçam do início) ---
+
+    public void filtrar(Consulta novoFiltro) {
+        filtro = novoFiltro;
+        reiniciar();
+    }
+
+    @Override
+    public void ordenarPor(int coluna) {
+        crescente = (coluna != colunaOrdenada) || !crescente;
+        colunaOrdenada = coluna;
+        reiniciar();
+    }
+
+    @Override
+    public int getColunaOrdenada() {
+        return colunaOrdenada;
+    }
+
+    @Override
+    public boolean isCrescente() {
+        return crescente;
+    }
+
+    private void reiniciar() {
+        if (buscaEmAndamento != null) buscaEmAndamento.cancel(true);
+        buscaEmAndamento = null;
+        geracao++;
+        paginas.clear();
+        totalLinhas = 0;
+        haAnterior = false;
+        haProxima = false;
+        fireTableDataChanged();
+        buscar(false);
+    }
+
+    // --- Rolagem ---
+
+    // Chamado pela tela a cada mudança da área visível (linhas em coordenadas do modelo)
+    public void verificarRolagem(int primeiraVisivel, int ultimaVisivel) {
+        if (buscaEmAndamento != null) return;
+        if (haProxima && ultimaVisivel >= totalLinhas - MARGEM_PRE_BUSCA) {
+            buscar(false);
+        } else if (haAnterior && primeiraVisivel < MARGEM_PRE_BUSCA) {
+            buscar(true);
+        }
+    }
+
+    private void buscar(boolean paraTras) {
+        CorpoCelesteDAO.ChavePagina chave = paginas.isEmpty() ? null
+                : paraTras ? paginas.get(0).primeira() : paginas.get(paginas.size() - 1).ultima();
+        CorpoCelesteDAO.ColunaPaginacao coluna = colunaDoBanco(colunaOrdenada);
+        Consulta filtroAtual = filtro;
+        boolean emOrdemCrescente = crescente;
+        long geracaoDaBusca = geracao;
+
+        SwingWorker<CorpoCelesteDAO.Pagina, Void> busca = new SwingWorker<>() {
+            @Override
+            protected CorpoCelesteDAO.Pagina doInBackground() throws Exception {
+                return gerenciador.buscarPagina(filtroAtual, coluna, emOrdemCrescente, chave, TAMANHO_PAGINA, paraTras);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || geracaoDaBusca != geracao) return;
+                buscaEmAndamento = null;
+                try {
+                    incorporar(get(), paraTras);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable causa = (e.getCause() != null) ? e.getCause() : e;
+                    ouvinte.falhou("Erro lendo página do banco: " + causa.getMessage());
+                }
+            }
+        };
+        buscaEmAndamento = busca;
+        busca.execute();
+    }
+
+    private void incorporar(CorpoCelesteDAO.Pagina pagina, boolean paraTras) {
+        int quantidade = pagina.linhas().size();
+        if (!paraTras) {
+            haProxima = pagina.haMais();
+            if (quantidade == 0) return;
+            paginas.add(pagina);
+            totalLinhas += quantidade;
+            fireTableRowsInserted(totalLinhas - quantidade, totalLinhas - 1);
+            if (paginas.size() > MAXIMO_PAGINAS) {
+                int removidas = paginas.remove(0).linhas().size();
+                totalLinhas -= removidas;
+                haAnterior = true;
+                fireTableRowsDeleted(0, removidas - 1);
+                ouvinte.linhasDeslocadas(-removidas);
+            }
+        } else {
+            haAnterior = pagina.haMais();
+            if (quantidade == 0) return;
+            paginas.add(0, pagina);
+            totalLinhas += quantidade;
+            fireTableRowsInserted(0, quantidade - 1);
+            ouvinte.linhasDeslocadas(quantidade);
+            if (paginas.size() > MAXIMO_PAGINAS) {
+                int removidas = paginas.remove(paginas.size() - 1).linhas().size();
+                totalLinhas -= removidas;
+                haProxima = true;
+                fireTableRowsDeleted(totalLinhas, totalLinhas + removidas - 1);
+            }
+        }
+    }
+
+    private static CorpoCelesteDAO.ColunaPaginacao colunaDoBanco(int coluna) {
+        return switch (coluna) {
+            case 0 -> CorpoCelesteDAO.ColunaPaginacao.TIPO;
+            case 1 -> CorpoCelesteDAO.ColunaPaginacao.NOME;
+            case 2 -> CorpoCelesteDAO.ColunaPaginacao.MASSA;
+            case 3 -> CorpoCelesteDAO.ColunaPaginacao.DISTANCIA;
+            case 4 -> CorpoCelesteDAO.ColunaPaginacao.ATRIBUTO;
+            default -> CorpoCelesteDAO.ColunaPaginacao.ID;
+        };
+    }
+}
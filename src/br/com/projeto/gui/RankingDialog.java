@@ -11,6 +11,7 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 public class RankingDialog extends JDialog {
 
@@ -24,6 +25,9 @@ public class RankingDialog extends JDialog {
     private final DefaultTableModel tableModel;
     private final JButton btnFechar;
 
+    // Ranking sendo consultado no banco; trocar a opção descarta o anterior
+    private SwingWorker<List<CorpoCeleste>, Void> consultaEmAndamento;
+
     public RankingDialog(JFrame parent, GerenciadorCorposCelestes gerenciador) {
         super(parent, "Rankings da Coleção", true);
         this.gerenciador = gerenciador;
@@ -112,20 +116,56 @@ public class RankingDialog extends JDialog {
     private void atualizarRanking() {
         String opcao = (String) comboRanking.getSelectedItem();
         tableModel.setRowCount(0);
+        if (consultaEmAndamento != null) {
+            consultaEmAndamento.cancel(true);
+            consultaEmAndamento = null;
+        }
 
         if (opcao == null) return;
 
+        GerenciadorCorposCelestes.Ranking ranking;
+        int limite = 3;
         if (opcao.startsWith("Ranking Peso")) {
-            preencherRanking(gerenciador.getRankingPeso(3));
+            ranking = GerenciadorCorposCelestes.Ranking.PESO;
         } else if (opcao.startsWith("Ranking Distância")) {
-            preencherRanking(gerenciador.getRankingDistancia(3));
+            ranking = GerenciadorCorposCelestes.Ranking.DISTANCIA;
         } else if (opcao.startsWith("Planeta Mais Pesado")) {
-            Planeta p = gerenciador.getPlanetaMaisPesado();
-            if (p != null) adicionarLinha(1, p);
+            ranking = GerenciadorCorposCelestes.Ranking.PLANETA_MAIS_PESADO;
+            limite = 1;
         } else if (opcao.startsWith("Estrela Mais Pesada")) {
-            Estrela e = gerenciador.getEstrelaMaisPesada();
-            if (e != null) adicionarLinha(1, e);
+            ranking = GerenciadorCorposCelestes.Ranking.ESTRELA_MAIS_PESADA;
+            limite = 1;
+        } else {
+            return;
+        }
+
+        // Em memória a resposta é imediata (índices ordenados)
+        if (!gerenciador.rankingsNoBanco()) {
+            preencherRanking(gerenciador.getRanking(ranking, limite));
+            return;
         }
+
+        // No banco, a consulta sai da EDT; se falhar, o gerenciador volta para a memória
+        int quantidade = limite;
+        SwingWorker<List<CorpoCeleste>, Void> consulta = new SwingWorker<>() {
+            @Override
+            protected List<CorpoCeleste> doInBackground() throws Exception {
+                return gerenciador.getRankingNoBanco(ranking, quantidade);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || consultaEmAndamento != this) return;
+                consultaEmAndamento = null;
+                try {
+                    preencherRanking(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    preencherRanking(gerenciador.getRanking(ranking, quantidade));
+                }
+            }
+        };
+        consultaEmAndamento = consulta;
+        consulta.execute();
     }
 
     // Método auxiliar genérico para preencher listas
@@ -1,6 +1,7 @@
 package br.com.projeto.gui;
 
 import br.com.projeto.modelo.GerenciadorCorposCelestes;
+import br.com.projeto.modelo.Consulta;
 import br.com.projeto.modelo.CorpoCeleste;
 
 import javax.swing.*;
@@ -9,7 +10,6 @@ import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
 import java.util.List;
 
 public class RemoverDialog extends JDialog {
@@ -30,8 +30,8 @@ public class RemoverDialog extends JDialog {
         super(parent, "Remover corpos celestes", true);
         this.gerenciador = gerenciador;
 
-        // Snapshot da lista atual para garantir estabilidade no filtro
-        this.todosCorpos = new ArrayList<>(gerenciador.listarTodos());
+        // Fotografia imutável da lista atual (sem cópia) para garantir estabilidade no filtro
+        this.todosCorpos = gerenciador.listarTodos();
 
         // Layout com espaçamento (hgap, vgap)
         setLayout(new BorderLayout(10, 10));
@@ -48,7 +48,7 @@ public class RemoverDialog extends JDialog {
 
         // --- Lista Central ---
         listModel = new DefaultListModel<>();
-        todosCorpos.forEach(listModel::addElement);
+        listModel.addAll(todosCorpos);
 
         listaCorpos = new JList<>(listModel);
         listaCorpos.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
@@ -103,16 +103,13 @@ public class RemoverDialog extends JDialog {
 
     private void aplicarFiltro() {
         String termo = campoFiltro.getText();
-        String termoLower = (termo == null) ? "" : termo.toLowerCase();
 
-        listModel.clear();
+        // O planejador do gerenciador escolhe a fonte (com termo, em geral o índice de trigramas);
+        // corpos vindos do banco são removidos pelo id
+        List<CorpoCeleste> filtrados = gerenciador.consultar(Consulta.todos().comTrecho(termo));
 
-        for (CorpoCeleste c : todosCorpos) {
-            String nome = c.getNome() == null ? "" : c.getNome().toLowerCase();
-            if (termoLower.isEmpty() || nome.contains(termoLower)) {
-                listModel.addElement(c);
-            }
-        }
+        listModel.clear();
+        listModel.addAll(filtrados);
     }
 
     private void confirmarRemocao() {
@@ -132,11 +129,12 @@ public class RemoverDialog extends JDialog {
             return;
         }
 
-        // Remove um a um
-        for (CorpoCeleste corpo : selecionados) {
-            if (corpo.getNome() != null) {
-                gerenciador.removerPorNome(corpo.getNome());
-            }
+        // Remove só os selecionados (por identidade/id), todos de uma vez
+        try {
+            gerenciador.removerTodos(selecionados);
+        } catch (GerenciadorCorposCelestes.FilaEscritaCheiaException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Banco de dados indisponível", JOptionPane.ERROR_MESSAGE);
+            return;
         }
 
         // Feedback ao usuário
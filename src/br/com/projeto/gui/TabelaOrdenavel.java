@@ -0,0 +1,12 @@
+package br.com.projeto.gui;
+
+// Modelos da tabela principal que ordenam pelo clique no cabeçalho
+interface TabelaOrdenavel {
+
+    void ordenarPor(int coluna);
+
+    // -1 enquanto não há ordenação
+    int getColunaOrdenada();
+
+    boolean isCrescente();
+}
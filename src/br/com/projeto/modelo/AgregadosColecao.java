@@ -0,0 +1,65 @@
+package br.com.projeto.modelo;
+
+import java.util.List;
+
+// Totais da coleção mantidos a cada inclusão/remoção, para que o resumo geral
+// (contagens, soma/média de massa, habitáveis) saia em tempo constante.
+// Os valores vêm das colunas do ArmazenamentoColunar; quais planetas são habitáveis fica no bitset dele.
+class AgregadosColecao {
+
+    private long total;
+    private long estrelas;
+    private long planetas;
+    private int habitaveis;
+    // Soma compensada (Kahan-Neumaier), também nas subtrações
+    private double somaMassa;
+    private double compensacao;
+
+    void adicionar(byte tipo, double massa, boolean habitavel) {
+        total++;
+        somar(massa);
+        if (tipo == ArmazenamentoColunar.TIPO_PLANETA) {
+            planetas++;
+            if (habitavel) habitaveis++;
+        } else {
+            estrelas++;
+        }
+    }
+
+    void remover(byte tipo, double massa, boolean habitavel) {
+        total--;
+        somar(-massa);
+        if (tipo == ArmazenamentoColunar.TIPO_PLANETA) {
+            planetas--;
+            if (habitavel) habitaveis--;
+        } else {
+            estrelas--;
+        }
+    }
+
+    void limpar() {
+        total = estrelas = planetas = 0;
+        habitaveis = 0;
+        somaMassa = compensacao = 0.0;
+    }
+
+    private void somar(double valor) {
+        double t = somaMassa + valor;
+        if (Math.abs(somaMassa) >= Math.abs(valor)) {
+            compensacao += (somaMassa - t) + valor;
+        } else {
+            compensacao += (valor - t) + somaMassa;
+        }
+        somaMassa = t;
+    }
+
+    long total() { return total; }
+    long estrelas() { return estrelas; }
+    long planetas() { return planetas; }
+    int quantidadeHabitaveis() { return habitaveis; }
+
+    // Quem chama segura a trava dos agregados; os habitáveis vêm de fora (consulta planejada)
+    ResumoColecao resumo(List<Planeta> habitaveis) {
+        return new ResumoColecao(total, estrelas, planetas, somaMassa + compensacao, List.copyOf(habitaveis));
+    }
+}
@@ -0,0 +1,558 @@
+package br.com.projeto.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.StampedLock;
+
+// Coleção em memória do gerenciador, guardada em colunas ("struct of arrays") e lida por meio de
+// versões imutáveis (Fotografia). Em vez de um objeto por corpo, cada campo fica num array primitivo:
+//  - massa em double[], distância em long[], tipo em byte[], id em int[]
+//  - habitabilidade em bits (long[])
+//  - tipo espectral codificado por dicionário (cada texto distinto é guardado uma vez)
+//  - nomes em UTF-8 numa única "arena" de bytes, com início/tamanho por linha
+// Rankings, estatísticas e filtros percorrem as colunas; objetos CorpoCeleste só são criados sob
+// demanda (views desligadas do armazenamento) quando alguém pede uma linha.
+//
+// As linhas ficam em blocos de TAMANHO_BLOCO, apontados por uma tabela de blocos. Uma fotografia guarda
+// a tabela e os blocos da versão em que foi tirada; depois disso, a primeira escrita num bloco o copia
+// (copy-on-write), assim como a tabela. A arena e o dicionário só crescem no fim, então o que uma
+// fotografia lê nunca é sobrescrito; ao crescer (ou compactar) eles ganham um array novo e a fotografia
+// fica com o antigo. Quem recebeu uma fotografia lê sem trava e sem cópia, de qualquer thread.
+//
+// Cada corpo tem uma chave estável (a linha muda, porque a remoção troca pela última). Os índices do
+// gerenciador guardam chaves; as views levam a chave e a geração dela, para uma view antiga não
+// apontar para outro corpo quando a chave for reaproveitada.
+//
+// Custos: fotografia() é O(1) (a mesma instância é devolvida enquanto não houver escrita); a primeira
+// escrita num bloco depois de uma fotografia o copia (O(TAMANHO_BLOCO)), as seguintes são O(1).
+// Escritores são serializados pelo StampedLock; as leituras por chave são da thread que altera.
+final class ArmazenamentoColunar {
+
+    static final byte TIPO_PLANETA = 0;
+    static final byte TIPO_ESTRELA = 1;
+
+    // Código das linhas sem tipo espectral (planetas e estrelas sem o dado)
+    static final int SEM_ESPECTRAL = -1;
+    // Linha de uma chave que não está no armazenamento
+    static final int AUSENTE = -1;
+
+    private static final int BITS_BLOCO = 10;
+    private static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+    private static final int MASCARA_BLOCO = TAMANHO_BLOCO - 1;
+
+    // A arena é reescrita quando mais da metade dela (e pelo menos isso) é de nomes removidos
+    private static final int MINIMO_PARA_COMPACTAR_ARENA = 1 << 16;
+    private static final int LIMITE_ARENA = Integer.MAX_VALUE - 8;
+
+    private final StampedLock lock = new StampedLock();
+
+    // --- Estado do escritor (alterado só com o lock de escrita) ---
+    private Bloco[] blocos = new Bloco[4];
+    private int quantidadeBlocos;
+    private int tamanho;
+    // Um bloco só pode ser alterado no lugar se foi criado (ou copiado) depois da última fotografia
+    private int[] epocaDoBloco = new int[4];
+    private int epoca;
+    private boolean tabelaCompartilhada;
+
+    private byte[] arena = new byte[16 * 1024];
+    private int usadoArena;
+    // Bytes de nomes removidos que ainda ocupam a arena
+    private long desperdicioArena;
+
+    private String[] dicionario = new String[16];
+    private int tamanhoDicionario;
+    private final Map<String, Integer> codigoPorEspectral = new HashMap<>();
+
+    // Chave -> linha atual (AUSENTE se livre) e geração da chave
+    private int[] linhaDaChave = new int[TAMANHO_BLOCO];
+    private int[] geracaoDaChave = new int[TAMANHO_BLOCO];
+    private int proximaChave;
+    private int[] chavesLivres = new int[64];
+    private int quantidadeLivres;
+
+    private volatile long versao;
+    private volatile Fotografia publicada = new Fotografia(new Bloco[0], 0, 0, arena, dicionario, 0);
+
+    // Colunas de TAMANHO_BLOCO linhas
+    private static final class Bloco {
+        // Chave nos 32 bits de baixo, geração + 1 nos de cima (nunca 0)
+        final long[] referencias;
+        final int[] ids;
+        final byte[] tipos;
+        final double[] massas;
+        final long[] distancias;
+        final long[] habitaveis;
+        final int[] codigosEspectrais;
+        final int[] inicioNome;
+        final int[] tamanhoNome;
+
+        Bloco() {
+            referencias = new long[TAMANHO_BLOCO];
+            ids = new int[TAMANHO_BLOCO];
+            tipos = new byte[TAMANHO_BLOCO];
+            massas = new double[TAMANHO_BLOCO];
+            distancias = new long[TAMANHO_BLOCO];
+            habitaveis = new long[TAMANHO_BLOCO / Long.SIZE];
+            codigosEspectrais = new int[TAMANHO_BLOCO];
+            inicioNome = new int[TAMANHO_BLOCO];
+            tamanhoNome = new int[TAMANHO_BLOCO];
+        }
+
+        Bloco(Bloco origem) {
+            referencias = origem.referencias.clone();
+            ids = origem.ids.clone();
+            tipos = origem.tipos.clone();
+            massas = origem.massas.clone();
+            distancias = origem.distancias.clone();
+            habitaveis = origem.habitaveis.clone();
+            codigosEspectrais = origem.codigosEspectrais.clone();
+            inicioNome = origem.inicioNome.clone();
+            tamanhoNome = origem.tamanhoNome.clone();
+        }
+
+        boolean habitavel(int i) {
+            return (habitaveis[i >>> 6] & (1L << i)) != 0;
+        }
+
+        void definirHabitavel(int i, boolean valor) {
+            if (valor) habitaveis[i >>> 6] |= 1L << i;
+            else habitaveis[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    // Versão imutável da coleção. get(i) cria uma view (objeto novo, desligado do armazenamento);
+    // os acessos por coluna (linha em [0, size())) não criam objetos
+    static final class Fotografia extends AbstractList<CorpoCeleste> implements RandomAccess {
+
+        private final Bloco[] blocos;
+        private final int tamanho;
+        private final long versao;
+        private final byte[] arena;
+        private final String[] dicionario;
+        private final int tamanhoDicionario;
+
+        private Fotografia(Bloco[] blocos, int tamanho, long versao, byte[] arena, String[] dicionario,
+                           int tamanhoDicionario) {
+            this.blocos = blocos;
+            this.tamanho = tamanho;
+            this.versao = versao;
+            this.arena = arena;
+            this.dicionario = dicionario;
+            this.tamanhoDicionario = tamanhoDicionario;
+        }
+
+        @Override
+        public CorpoCeleste get(int indice) {
+            if (indice < 0 || indice >= tamanho) throw new IndexOutOfBoundsException("Índice " + indice + ", tamanho " + tamanho);
+            return vista(bloco(indice), indice & MASCARA_BLOCO, arena, dicionario);
+        }
+
+        @Override
+        public int size() {
+            return tamanho;
+        }
+
+        long versao() {
+            return versao;
+        }
+
+        int chave(int linha) {
+            return (int) bloco(linha).referencias[linha & MASCARA_BLOCO];
+        }
+
+        int id(int linha) {
+            return bloco(linha).ids[linha & MASCARA_BLOCO];
+        }
+
+        byte tipo(int linha) {
+            return bloco(linha).tipos[linha & MASCARA_BLOCO];
+        }
+
+        double massa(int linha) {
+            return bloco(linha).massas[linha & MASCARA_BLOCO];
+        }
+
+        long distancia(int linha) {
+            return bloco(linha).distancias[linha & MASCARA_BLOCO];
+        }
+
+        boolean habitavel(int linha) {
+            return bloco(linha).habitavel(linha & MASCARA_BLOCO);
+        }
+
+        int codigoEspectral(int linha) {
+            return bloco(linha).codigosEspectrais[linha & MASCARA_BLOCO];
+        }
+
+        String tipoEspectral(int linha) {
+            return espectral(dicionario, codigoEspectral(linha));
+        }
+
+        String nome(int linha) {
+            Bloco b = bloco(linha);
+            int i = linha & MASCARA_BLOCO;
+            return new String(arena, b.inicioNome[i], b.tamanhoNome[i], StandardCharsets.UTF_8);
+        }
+
+        // Códigos cujo texto é igual ao informado, sem diferenciar maiúsculas (posição = código)
+        boolean[] codigosEspectraisIguais(String tipoEspectral) {
+            boolean[] iguais = new boolean[tamanhoDicionario];
+            for (int codigo = 0; codigo < tamanhoDicionario; codigo++) {
+                iguais[codigo] = dicionario[codigo].equalsIgnoreCase(tipoEspectral);
+            }
+            return iguais;
+        }
+
+        // Linhas com o bit de habitável ligado, em ordem: O(n / 64 + k), sem olhar as outras colunas
+        int[] linhasHabitaveis() {
+            int[] linhas = new int[16];
+            int encontradas = 0;
+            for (int inicio = 0; inicio < tamanho; inicio += TAMANHO_BLOCO) {
+                long[] bits = blocos[inicio >>> BITS_BLOCO].habitaveis;
+                for (int palavra = 0; palavra < bits.length; palavra++) {
+                    for (long resto = bits[palavra]; resto != 0; resto &= resto - 1) {
+                        int linha = inicio + palavra * Long.SIZE + Long.numberOfTrailingZeros(resto);
+                        // Bits além do fim são de linhas já removidas
+                        if (linha >= tamanho) break;
+                        if (encontradas == linhas.length) linhas = Arrays.copyOf(linhas, encontradas * 2);
+                        linhas[encontradas++] = linha;
+                    }
+                }
+            }
+            return Arrays.copyOf(linhas, encontradas);
+        }
+
+        private Bloco bloco(int linha) {
+            return blocos[linha >>> BITS_BLOCO];
+        }
+    }
+
+    // --- Leitura ---
+
+    // Sem trava quando nada mudou desde a última fotografia
+    Fotografia fotografia() {
+        Fotografia atual = publicada;
+        if (atual.versao == versao) return atual;
+        long carimbo = lock.writeLock();
+        try {
+            if (publicada.versao != versao) {
+                publicada = new Fotografia(blocos, tamanho, versao, arena, dicionario, tamanhoDicionario);
+                // Tudo o que existe agora passa a ser da fotografia
+                epoca++;
+                tabelaCompartilhada = true;
+            }
+            return publicada;
+        } finally {
+            lock.unlockWrite(carimbo);
+        }
+    }
+
+    // Leitura otimista: só trava se um escritor mexeu no meio
+    int tamanho() {
+        long carimbo = lock.tryOptimisticRead();
+        int n = tamanho;
+        if (!lock.validate(carimbo)) {
+            carimbo = lock.readLock();
+            try {
+                n = tamanho;
+            } finally {
+                lock.unlockRead(carimbo);
+            }
+        }
+        return n;
+    }
+
+    long versao() {
+        return versao;
+    }
+
+    // --- Leitura por chave (estado atual, na thread que altera) ---
+
+    // Chave do corpo se ele é uma view (ou o original) de uma linha que ainda está aqui; senão AUSENTE
+    int chaveDe(CorpoCeleste corpo) {
+        long referencia = corpo.referencia;
+        int chave = (int) referencia;
+        if (referencia == 0 || chave < 0 || chave >= proximaChave || linhaDaChave[chave] == AUSENTE) return AUSENTE;
+        return (referencia(chave) == referencia) ? chave : AUSENTE;
+    }
+
+    int linha(int chave) {
+        return linhaDaChave[chave];
+    }
+
+    int id(int chave) {
+        int linha = linhaDaChave[chave];
+        return bloco(linha).ids[linha & MASCARA_BLOCO];
+    }
+
+    byte tipo(int chave) {
+        int linha = linhaDaChave[chave];
+        return bloco(linha).tipos[linha & MASCARA_BLOCO];
+    }
+
+    double massa(int chave) {
+        int linha = linhaDaChave[chave];
+        return bloco(linha).massas[linha & MASCARA_BLOCO];
+    }
+
+    long distancia(int chave) {
+        int linha = linhaDaChave[chave];
+        return bloco(linha).distancias[linha & MASCARA_BLOCO];
+    }
+
+    boolean habitavel(int chave) {
+        int linha = linhaDaChave[chave];
+        return bloco(linha).habitavel(linha & MASCARA_BLOCO);
+    }
+
+    String nome(int chave) {
+        int linha = linhaDaChave[chave];
+        Bloco b = bloco(linha);
+        int i = linha & MASCARA_BLOCO;
+        return new String(arena, b.inicioNome[i], b.tamanhoNome[i], StandardCharsets.UTF_8);
+    }
+
+    // View da linha atual da chave
+    CorpoCeleste corpo(int chave) {
+        int linha = linhaDaChave[chave];
+        return vista(bloco(linha), linha & MASCARA_BLOCO, arena, dicionario);
+    }
+
+    // --- Escrita ---
+
+    // Inclui o corpo e devolve a chave dele; o próprio objeto passa a referenciar a linha (como uma view)
+    int adicionar(CorpoCeleste corpo) {
+        byte tipo;
+        boolean habitavel = false;
+        String tipoEspectral = null;
+        if (corpo instanceof Planeta p) {
+            tipo = TIPO_PLANETA;
+            habitavel = p.isHabitavel();
+        } else if (corpo instanceof Estrela e) {
+            tipo = TIPO_ESTRELA;
+            tipoEspectral = e.getTipoEspectral();
+        } else {
+            throw new IllegalArgumentException("Tipo de corpo não suportado: " + corpo.getTipoCorpo());
+        }
+        byte[] nome = (corpo.getNome() == null ? "" : corpo.getNome()).getBytes(StandardCharsets.UTF_8);
+
+        long carimbo = lock.writeLock();
+        try {
+            int linha = tamanho;
+            int indiceBloco = linha >>> BITS_BLOCO;
+            if (indiceBloco == quantidadeBlocos) {
+                tabelaPropria(indiceBloco + 1);
+                blocos[indiceBloco] = new Bloco();
+                epocaDoBloco[indiceBloco] = epoca;
+                quantidadeBlocos++;
+            }
+            int chave = novaChave();
+            long referencia = referencia(chave);
+            Bloco b = blocoProprio(indiceBloco);
+            int i = linha & MASCARA_BLOCO;
+            b.referencias[i] = referencia;
+            b.ids[i] = corpo.getId();
+            b.tipos[i] = tipo;
+            b.massas[i] = corpo.getMassaKg();
+            b.distancias[i] = corpo.getDistanciaEmAnosLuz();
+            b.definirHabitavel(i, habitavel);
+            b.codigosEspectrais[i] = codificarEspectral(tipoEspectral);
+            gravarNome(b, i, nome);
+            linhaDaChave[chave] = linha;
+            tamanho++;
+            versao++;
+            corpo.referencia = referencia;
+            return chave;
+        } finally {
+            lock.unlockWrite(carimbo);
+        }
+    }
+
+    // Remove trocando pela última linha: O(1), mas não preserva a ordem das linhas
+    void remover(int chave) {
+        long carimbo = lock.writeLock();
+        try {
+            int linha = linhaDaChave[chave];
+            if (linha == AUSENTE) return;
+            int ultima = tamanho - 1;
+            Bloco origem = blocos[ultima >>> BITS_BLOCO];
+            int io = ultima & MASCARA_BLOCO;
+            Bloco destino = blocoProprio(linha >>> BITS_BLOCO);
+            int id = linha & MASCARA_BLOCO;
+            desperdicioArena += destino.tamanhoNome[id];
+
+            if (linha != ultima) {
+                destino.referencias[id] = origem.referencias[io];
+                destino.ids[id] = origem.ids[io];
+                destino.tipos[id] = origem.tipos[io];
+                destino.massas[id] = origem.massas[io];
+                destino.distancias[id] = origem.distancias[io];
+                destino.definirHabitavel(id, origem.habitavel(io));
+                destino.codigosEspectrais[id] = origem.codigosEspectrais[io];
+                destino.inicioNome[id] = origem.inicioNome[io];
+                destino.tamanhoNome[id] = origem.tamanhoNome[io];
+                linhaDaChave[(int) origem.referencias[io]] = linha;
+            }
+            if (io == 0) {
+                // Bloco esvaziado: sai da tabela sem precisar ser copiado
+                tabelaPropria(quantidadeBlocos);
+                blocos[ultima >>> BITS_BLOCO] = null;
+                quantidadeBlocos--;
+            }
+            liberarChave(chave);
+            tamanho--;
+            versao++;
+            if (desperdicioArena > usadoArena / 2 && desperdicioArena > MINIMO_PARA_COMPACTAR_ARENA) compactarArena();
+        } finally {
+            lock.unlockWrite(carimbo);
+        }
+    }
+
+    // Id atribuído pelo banco depois da inclusão
+    void definirId(int chave, int id) {
+        long carimbo = lock.writeLock();
+        try {
+            int linha = linhaDaChave[chave];
+            if (linha == AUSENTE) return;
+            blocoProprio(linha >>> BITS_BLOCO).ids[linha & MASCARA_BLOCO] = id;
+            versao++;
+        } finally {
+            lock.unlockWrite(carimbo);
+        }
+    }
+
+    void limpar() {
+        long carimbo = lock.writeLock();
+        try {
+            blocos = new Bloco[4];
+            epocaDoBloco = new int[4];
+            quantidadeBlocos = 0;
+            tamanho = 0;
+            tabelaCompartilhada = false;
+            arena = new byte[16 * 1024];
+            usadoArena = 0;
+            desperdicioArena = 0;
+            // As chaves recomeçam do zero com a geração seguinte: views antigas não valem mais
+            for (int chave = 0; chave < proximaChave; chave++) {
+                linhaDaChave[chave] = AUSENTE;
+                geracaoDaChave[chave]++;
+            }
+            proximaChave = 0;
+            quantidadeLivres = 0;
+            versao++;
+        } finally {
+            lock.unlockWrite(carimbo);
+        }
+    }
+
+    // --- Auxiliares ---
+
+    private Bloco bloco(int linha) {
+        return blocos[linha >>> BITS_BLOCO];
+    }
+
+    private static CorpoCeleste vista(Bloco b, int i, byte[] arena, String[] dicionario) {
+        String nome = new String(arena, b.inicioNome[i], b.tamanhoNome[i], StandardCharsets.UTF_8);
+        CorpoCeleste corpo = (b.tipos[i] == TIPO_PLANETA)
+                ? new Planeta(nome, b.massas[i], b.distancias[i], b.habitavel(i))
+                : new Estrela(nome, b.massas[i], b.distancias[i], espectral(dicionario, b.codigosEspectrais[i]));
+        corpo.setId(b.ids[i]);
+        corpo.referencia = b.referencias[i];
+        return corpo;
+    }
+
+    private static String espectral(String[] dicionario, int codigo) {
+        return (codigo == SEM_ESPECTRAL) ? null : dicionario[codigo];
+    }
+
+    private long referencia(int chave) {
+        return ((long) (geracaoDaChave[chave] + 1) << 32) | (chave & 0xFFFF_FFFFL);
+    }
+
+    private int novaChave() {
+        if (quantidadeLivres > 0) return chavesLivres[--quantidadeLivres];
+        int chave = proximaChave++;
+        if (chave == linhaDaChave.length) {
+            linhaDaChave = Arrays.copyOf(linhaDaChave, chave * 2);
+            geracaoDaChave = Arrays.copyOf(geracaoDaChave, chave * 2);
+        }
+        return chave;
+    }
+
+    private void liberarChave(int chave) {
+        linhaDaChave[chave] = AUSENTE;
+        geracaoDaChave[chave]++;
+        if (quantidadeLivres == chavesLivres.length) chavesLivres = Arrays.copyOf(chavesLivres, quantidadeLivres * 2);
+        chavesLivres[quantidadeLivres++] = chave;
+    }
+
+    // Append-only: um texto novo vai para o fim; as posições já usadas não mudam
+    private int codificarEspectral(String tipoEspectral) {
+        if (tipoEspectral == null) return SEM_ESPECTRAL;
+        Integer codigo = codigoPorEspectral.get(tipoEspectral);
+        if (codigo != null) return codigo;
+        if (tamanhoDicionario == dicionario.length) dicionario = Arrays.copyOf(dicionario, tamanhoDicionario * 2);
+        dicionario[tamanhoDicionario] = tipoEspectral;
+        codigoPorEspectral.put(tipoEspectral, tamanhoDicionario);
+        return tamanhoDicionario++;
+    }
+
+    // Acrescenta no fim da arena; ao faltar espaço, a arena nova é uma cópia (as fotografias ficam com a antiga)
+    private void gravarNome(Bloco b, int i, byte[] nome) {
+        if ((long) usadoArena + nome.length > arena.length) {
+            if (desperdicioArena > 0 && (long) usadoArena + nome.length > LIMITE_ARENA) compactarArena();
+            long necessario = (long) usadoArena + nome.length;
+            if (necessario > LIMITE_ARENA) throw new IllegalStateException("Arena de nomes cheia (" + usadoArena + " bytes)");
+            if (necessario > arena.length) {
+                arena = Arrays.copyOf(arena, (int) Math.min(LIMITE_ARENA, Math.max(necessario, arena.length * 2L)));
+            }
+        }
+        System.arraycopy(nome, 0, arena, usadoArena, nome.length);
+        b.inicioNome[i] = usadoArena;
+        b.tamanhoNome[i] = nome.length;
+        usadoArena += nome.length;
+    }
+
+    // Reescreve a arena só com os nomes das linhas vivas (numa arena nova, para não mexer nas fotografias)
+    private void compactarArena() {
+        byte[] nova = new byte[(int) Math.max(16 * 1024, (usadoArena - desperdicioArena) * 3 / 2)];
+        int usado = 0;
+        for (int indiceBloco = 0; indiceBloco < quantidadeBlocos; indiceBloco++) {
+            Bloco b = blocoProprio(indiceBloco);
+            int linhas = Math.min(TAMANHO_BLOCO, tamanho - (indiceBloco << BITS_BLOCO));
+            for (int i = 0; i < linhas; i++) {
+                System.arraycopy(arena, b.inicioNome[i], nova, usado, b.tamanhoNome[i]);
+                b.inicioNome[i] = usado;
+                usado += b.tamanhoNome[i];
+            }
+        }
+        arena = nova;
+        usadoArena = usado;
+        desperdicioArena = 0;
+    }
+
+    // Garante uma tabela que nenhuma fotografia usa, com espaço para "necessarios" blocos
+    private void tabelaPropria(int necessarios) {
+        if (!tabelaCompartilhada && necessarios <= blocos.length) return;
+        int capacidade = Math.max(blocos.length, 4);
+        while (capacidade < necessarios) capacidade *= 2;
+        blocos = Arrays.copyOf(blocos, capacidade);
+        if (epocaDoBloco.length < capacidade) epocaDoBloco = Arrays.copyOf(epocaDoBloco, capacidade);
+        tabelaCompartilhada = false;
+    }
+
+    // Copia o bloco se ele ainda pertence a alguma fotografia
+    private Bloco blocoProprio(int indiceBloco) {
+        if (epocaDoBloco[indiceBloco] == epoca) return blocos[indiceBloco];
+        tabelaPropria(quantidadeBlocos);
+        Bloco copia = new Bloco(blocos[indiceBloco]);
+        blocos[indiceBloco] = copia;
+        epocaDoBloco[indiceBloco] = epoca;
+        return copia;
+    }
+}
@@ -0,0 +1,194 @@
+package br.com.projeto.modelo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+
+// Descrição de uma consulta sobre a coleção: predicados (tipo, trecho do nome, faixas de massa e
+// distância, habitabilidade, tipo espectral), ordenação e limite. Imutável: cada "com..." devolve
+// uma cópia alterada. Quem decide como executá-la é o PlanejadorConsultas (via gerenciador).
+//
+// Faixas são inclusivas; sem limite = infinito (massa) ou Long.MIN_VALUE/MAX_VALUE (distância).
+// habitavel e tipoEspectral null não filtram; habitavel só aceita planetas e tipoEspectral só estrelas.
+// limite 0 = sem limite.
+public record Consulta(Tipo tipo, String trecho, double massaMin, double massaMax,
+                       long distanciaMin, long distanciaMax, Boolean habitavel, String tipoEspectral,
+                       Ordenacao ordenacao, boolean crescente, int limite) {
+
+    public enum Tipo { TODOS, PLANETA, ESTRELA }
+
+    public enum Ordenacao { NENHUMA, NOME, MASSA, DISTANCIA }
+
+    private static final Comparator<String> ORDEM_NOME = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+
+    public Consulta {
+        if (tipo == null) tipo = Tipo.TODOS;
+        if (trecho == null) trecho = "";
+        if (tipoEspectral != null && tipoEspectral.isBlank()) tipoEspectral = null;
+        if (ordenacao == null) ordenacao = Ordenacao.NENHUMA;
+        if (Double.isNaN(massaMin) || Double.isNaN(massaMax)) throw new IllegalArgumentException("Faixa de massa inválida");
+        if (limite < 0) throw new IllegalArgumentException("Limite inválido: " + limite);
+    }
+
+    // Consulta sem filtros: todos os corpos, na ordem da coleção
+    public static Consulta todos() {
+        return new Consulta(Tipo.TODOS, "", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Long.MIN_VALUE, Long.MAX_VALUE, null, null, Ordenacao.NENHUMA, true, 0);
+    }
+
+    // Marcar os dois tipos (ou nenhum) equivale a não filtrar por tipo
+    public static Tipo tipoDe(boolean planetas, boolean estrelas) {
+        if (planetas == estrelas) return Tipo.TODOS;
+        return planetas ? Tipo.PLANETA : Tipo.ESTRELA;
+    }
+
+    // --- Construção ---
+
+    public Consulta comTipo(Tipo novoTipo) {
+        return new Consulta(novoTipo, trecho, massaMin, massaMax, distanciaMin, distanciaMax,
+                habitavel, tipoEspectral, ordenacao, crescente, limite);
+    }
+
+    public Consulta comTrecho(String novoTrecho) {
+        return new Consulta(tipo, novoTrecho, massaMin, massaMax, distanciaMin, distanciaMax,
+                habitavel, tipoEspectral, ordenacao, crescente, limite);
+    }
+
+    public Consulta comMassaEntre(double minimo, double maximo) {
+        return new Consulta(tipo, trecho, minimo, maximo, distanciaMin, distanciaMax,
+                habitavel, tipoEspectral, ordenacao, crescente, limite);
+    }
+
+    public Consulta comDistanciaEntre(long minimo, long maximo) {
+        return new Consulta(tipo, trecho, massaMin, massaMax, minimo, maximo,
+                habitavel, tipoEspectral, ordenacao, crescente, limite);
+    }
+
+    public Consulta comHabitavel(Boolean novoHabitavel) {
+        return new Consulta(tipo, trecho, massaMin, massaMax, distanciaMin, distanciaMax,
+                novoHabitavel, tipoEspectral, ordenacao, crescente, limite);
+    }
+
+    public Consulta comTipoEspectral(String novoTipoEspectral) {
+        return new Consulta(tipo, trecho, massaMin, massaMax, distanciaMin, distanciaMax,
+                habitavel, novoTipoEspectral, ordenacao, crescente, limite);
+    }
+
+    public Consulta ordenadaPor(Ordenacao novaOrdenacao, boolean emOrdemCrescente) {
+        return new Consulta(tipo, trecho, massaMin, massaMax, distanciaMin, distanciaMax,
+                habitavel, tipoEspectral, novaOrdenacao, emOrdemCrescente, limite);
+    }
+
+    public Consulta limitadaA(int novoLimite) {
+        return new Consulta(tipo, trecho, massaMin, massaMax, distanciaMin, distanciaMax,
+                habitavel, tipoEspectral, ordenacao, crescente, novoLimite);
+    }
+
+    // --- Avaliação ---
+
+    public boolean temTrecho() {
+        return !trecho.isEmpty();
+    }
+
+    public boolean limitaMassa() {
+        return massaMin != Double.NEGATIVE_INFINITY || massaMax != Double.POSITIVE_INFINITY;
+    }
+
+    public boolean limitaDistancia() {
+        return distanciaMin != Long.MIN_VALUE || distanciaMax != Long.MAX_VALUE;
+    }
+
+    // Todos os predicados; pode ser chamado de qualquer thread
+    public boolean aceita(CorpoCeleste c) {
+        if (c == null) return false;
+        return aceitaTipo(c)
+                && (!limitaMassa() || (c.getMassaKg() >= massaMin && c.getMassaKg() <= massaMax))
+                && (!limitaDistancia() || (c.getDistanciaEmAnosLuz() >= distanciaMin && c.getDistanciaEmAnosLuz() <= distanciaMax))
+                && (habitavel == null || (c instanceof Planeta p && p.isHabitavel() == habitavel))
+                && (tipoEspectral == null || (c instanceof Estrela e && tipoEspectral.equalsIgnoreCase(e.getTipoEspectral())))
+                && (!temTrecho() || IndiceTrigramas.contem(c.getNome(), trecho));
+    }
+
+    // Os mesmos predicados de aceita(), lidos direto das colunas de uma fotografia, sem criar views.
+    // O nome, único que precisa decodificar texto, é conferido por último.
+    IntPredicate aceitaLinha(ArmazenamentoColunar.Fotografia f) {
+        int tipoAceito = switch (tipo) {
+            case TODOS -> -1;
+            case PLANETA -> ArmazenamentoColunar.TIPO_PLANETA;
+            case ESTRELA -> ArmazenamentoColunar.TIPO_ESTRELA;
+        };
+        boolean[] espectraisAceitos = (tipoEspectral == null) ? null : f.codigosEspectraisIguais(tipoEspectral);
+        boolean filtraMassa = limitaMassa();
+        boolean filtraDistancia = limitaDistancia();
+        String alvo = temTrecho() ? IndiceTrigramas.normalizar(trecho) : null;
+        return linha -> {
+            byte t = f.tipo(linha);
+            if (tipoAceito >= 0 && t != tipoAceito) return false;
+            if (filtraMassa) {
+                double m = f.massa(linha);
+                if (!(m >= massaMin && m <= massaMax)) return false;
+            }
+            if (filtraDistancia) {
+                long d = f.distancia(linha);
+                if (d < distanciaMin || d > distanciaMax) return false;
+            }
+            if (habitavel != null && (t != ArmazenamentoColunar.TIPO_PLANETA || f.habitavel(linha) != habitavel)) return false;
+            if (espectraisAceitos != null) {
+                int codigo = f.codigoEspectral(linha);
+                if (t != ArmazenamentoColunar.TIPO_ESTRELA || codigo < 0 || !espectraisAceitos[codigo]) return false;
+            }
+            return alvo == null || IndiceTrigramas.normalizar(f.nome(linha)).contains(alvo);
+        };
+    }
+
+    private boolean aceitaTipo(CorpoCeleste c) {
+        return switch (tipo) {
+            case TODOS -> true;
+            case PLANETA -> c instanceof Planeta;
+            case ESTRELA -> c instanceof Estrela;
+        };
+    }
+
+    // null quando não há ordenação. Massa e distância desempatam pelo id, na mesma direção (como o
+    // ORDER BY do banco e os índices em memória), com os ainda sem id por último; por nome, a ordem
+    // entre empates depende da fonte escolhida pelo planejador
+    public Comparator<CorpoCeleste> comparador() {
+        Comparator<CorpoCeleste> comparador = switch (ordenacao) {
+            case NENHUMA -> null;
+            case NOME -> Comparator.comparing(CorpoCeleste::getNome, ORDEM_NOME);
+            case MASSA -> Comparator.comparingDouble(CorpoCeleste::getMassaKg).thenComparingLong(Consulta::desempate);
+            case DISTANCIA -> Comparator.comparingLong(CorpoCeleste::getDistanciaEmAnosLuz).thenComparingLong(Consulta::desempate);
+        };
+        return (comparador == null || crescente) ? comparador : comparador.reversed();
+    }
+
+    private static long desempate(CorpoCeleste c) {
+        return (c.getId() != 0) ? c.getId() : Long.MAX_VALUE;
+    }
+
+    // Forma legível dos predicados, usada no "explain"
+    public String descrever() {
+        List<String> partes = new ArrayList<>();
+        if (tipo != Tipo.TODOS) partes.add("tipo = " + tipo);
+        if (temTrecho()) partes.add("nome contém \"" + trecho + "\"");
+        if (limitaMassa()) partes.add("massa em [" + limiteTexto(massaMin) + ", " + limiteTexto(massaMax) + "]");
+        if (limitaDistancia()) {
+            partes.add("distância em [" + (distanciaMin == Long.MIN_VALUE ? "-∞" : distanciaMin) + ", "
+                    + (distanciaMax == Long.MAX_VALUE ? "+∞" : distanciaMax) + "]");
+        }
+        if (habitavel != null) partes.add(habitavel ? "habitável" : "não habitável");
+        if (tipoEspectral != null) partes.add("tipo espectral = " + tipoEspectral.toUpperCase(Locale.ROOT));
+        String texto = partes.isEmpty() ? "todos" : String.join(", ", partes);
+        if (ordenacao != Ordenacao.NENHUMA) texto += "; ordem " + ordenacao + (crescente ? " crescente" : " decrescente");
+        if (limite > 0) texto += "; limite " + limite;
+        return texto;
+    }
+
+    private static String limiteTexto(double valor) {
+        if (valor == Double.NEGATIVE_INFINITY) return "-∞";
+        if (valor == Double.POSITIVE_INFINITY) return "+∞";
+        return String.valueOf(valor);
+    }
+}
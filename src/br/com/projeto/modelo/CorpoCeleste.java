@@ -11,6 +11,8 @@ public abstract class CorpoCeleste implements Serializable {
     private String nome;
     private double massaKg; 
     private long distanciaEmAnosLuz;
+    // Linha do corpo no ArmazenamentoColunar do gerenciador (0 = não veio de lá); não é serializada
+    transient long referencia;
 
     public CorpoCeleste(String nome, double massaKg, long distanciaEmAnosLuz) {
         this.nome = nome;
@@ -0,0 +1,125 @@
+package br.com.projeto.modelo;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+// Consulta já planejada e pronta para rodar. É criada pelo gerenciador, que já leu dos índices
+// o que precisava sob a trava deles; executar() não toca nos índices não sincronizados e pode
+// rodar em qualquer thread.
+// Em memória, os candidatos são linhas de uma fotografia do ArmazenamentoColunar: os predicados
+// são avaliados nas colunas e só as linhas aceitas viram objetos (views).
+public final class ExecucaoConsulta {
+
+    // Origem dos candidatos no banco; pode falhar
+    @FunctionalInterface
+    interface Fonte {
+        List<CorpoCeleste> obter() throws SQLException;
+    }
+
+    private static final int INTERVALO_CANCELAMENTO = 4096;
+
+    private final PlanoConsulta plano;
+    // Linhas candidatas da fotografia (null = todas) e o que falta conferir nelas (null = nada)
+    private final ArmazenamentoColunar.Fotografia fotografia;
+    private final int[] linhas;
+    private final IntPredicate residualLinhas;
+    // Só no banco: a fotografia acima é a reserva, varrida com todos os predicados se ele falhar
+    private final Fonte fonte;
+    private final Predicate<CorpoCeleste> residual;
+    private final boolean ordenada;
+
+    private ExecucaoConsulta(PlanoConsulta plano, ArmazenamentoColunar.Fotografia fotografia, int[] linhas,
+                             IntPredicate residualLinhas, Fonte fonte, Predicate<CorpoCeleste> residual,
+                             boolean ordenada) {
+        this.plano = plano;
+        this.fotografia = fotografia;
+        this.linhas = linhas;
+        this.residualLinhas = residualLinhas;
+        this.fonte = fonte;
+        this.residual = residual;
+        this.ordenada = ordenada;
+    }
+
+    static ExecucaoConsulta naMemoria(PlanoConsulta plano, ArmazenamentoColunar.Fotografia fotografia, int[] linhas,
+                                      IntPredicate residual, boolean ordenada) {
+        return new ExecucaoConsulta(plano, fotografia, linhas, residual, null, null, ordenada);
+    }
+
+    static ExecucaoConsulta noBanco(PlanoConsulta plano, Fonte fonte, Predicate<CorpoCeleste> residual, boolean ordenada,
+                                    ArmazenamentoColunar.Fotografia reserva) {
+        return new ExecucaoConsulta(plano, reserva, null, null, fonte, residual, ordenada);
+    }
+
+    public PlanoConsulta plano() {
+        return plano;
+    }
+
+    // Lança CancellationException se cancelado.getAsBoolean() ficar true durante a filtragem
+    public List<CorpoCeleste> executar(BooleanSupplier cancelado) {
+        if (fonte == null) return filtrarLinhas(linhas, residualLinhas, ordenada, cancelado);
+
+        List<CorpoCeleste> candidatos;
+        try {
+            candidatos = fonte.obter();
+        } catch (SQLException e) {
+            if (fotografia == null) throw new IllegalStateException("Falha na consulta: " + e.getMessage(), e);
+            System.err.println("Aviso: consulta no banco falhou, usando a memória (" + e.getMessage() + ")");
+            return filtrarLinhas(null, plano.consulta().aceitaLinha(fotografia), false, cancelado);
+        }
+
+        boolean pararNoLimite = pararNoLimite(ordenada);
+        int limite = plano.consulta().limite();
+        List<CorpoCeleste> resultado = new ArrayList<>();
+        for (int i = 0; i < candidatos.size(); i++) {
+            verificarCancelamento(cancelado, i);
+            CorpoCeleste c = candidatos.get(i);
+            if (c != null && (residual == null || residual.test(c))) {
+                resultado.add(c);
+                if (pararNoLimite && resultado.size() == limite) break;
+            }
+        }
+        return finalizar(resultado, ordenada);
+    }
+
+    private List<CorpoCeleste> filtrarLinhas(int[] candidatas, IntPredicate filtro, boolean emOrdem, BooleanSupplier cancelado) {
+        boolean pararNoLimite = pararNoLimite(emOrdem);
+        int limite = plano.consulta().limite();
+        int total = (candidatas == null) ? fotografia.size() : candidatas.length;
+        List<CorpoCeleste> resultado = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            verificarCancelamento(cancelado, i);
+            int linha = (candidatas == null) ? i : candidatas[i];
+            if (filtro == null || filtro.test(linha)) {
+                resultado.add(fotografia.get(linha));
+                if (pararNoLimite && resultado.size() == limite) break;
+            }
+        }
+        return finalizar(resultado, emOrdem);
+    }
+
+    // Sem ordenação pendente, o limite encerra a varredura assim que for atingido
+    private boolean pararNoLimite(boolean emOrdem) {
+        Consulta consulta = plano.consulta();
+        return consulta.limite() > 0 && (consulta.comparador() == null || emOrdem);
+    }
+
+    private List<CorpoCeleste> finalizar(List<CorpoCeleste> resultado, boolean emOrdem) {
+        Comparator<CorpoCeleste> comparador = plano.consulta().comparador();
+        int limite = plano.consulta().limite();
+        if (comparador != null && !emOrdem) resultado.sort(comparador);
+        if (limite > 0 && resultado.size() > limite) resultado = new ArrayList<>(resultado.subList(0, limite));
+        return resultado;
+    }
+
+    private static void verificarCancelamento(BooleanSupplier cancelado, int i) {
+        if (cancelado != null && (i % INTERVALO_CANCELAMENTO) == 0 && cancelado.getAsBoolean()) {
+            throw new CancellationException("Consulta cancelada");
+        }
+    }
+}
@@ -1,178 +1,986 @@
 package br.com.projeto.modelo;
 
+import br.com.projeto.persistencia.ArquivoColunar;
+import br.com.projeto.persistencia.ConexaoBanco;
 import br.com.projeto.persistencia.CorpoCelesteDAO;
+import br.com.projeto.persistencia.ExportadorCsv;
+import br.com.projeto.persistencia.FilaEscritaAssincrona;
+import br.com.projeto.persistencia.LeitorCatalogo;
+import br.com.projeto.persistencia.OuvinteNotificacoes;
+import br.com.projeto.persistencia.SnapshotBinario;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.StreamSupport;
 
 public class GerenciadorCorposCelestes {
 
-    private final List<CorpoCeleste> colecaoEmMemoria;
+    // O que fazer quando já existe um corpo com o mesmo tipo e nome
+    public enum PoliticaDuplicados { PERMITIR, REJEITAR, SUBSTITUIR }
+
+    // A coleção, em colunas primitivas; lida por fotografias imutáveis (listarTodos), de qualquer thread,
+    // sem cópia. Ela e os índices abaixo são alterados só pela thread que altera a coleção (ex.: EDT),
+    // e os índices guardam as chaves do armazenamento, não objetos
+    private final ArmazenamentoColunar armazenamento;
+    // Id do banco -> chave, para aplicar as alterações de outras instâncias sem varrer a coleção
+    private final MapaInteiros chavePorId;
+    // Incluídos por esta instância e ainda sem id, pela chave. O id é atribuído depois, na thread de
+    // escrita, no próprio objeto recebido: é ele que vai numa remoção feita antes de o id chegar
+    private final Map<Integer, CorpoCeleste> aguardandoId;
+    private final IndiceNomes indiceNomes;
+    private final IndiceTrigramas indiceTrigramas;
+    private final IndicesRanking indicesRanking;
+    private final AgregadosColecao agregados;
+    private final PlanejadorConsultas planejador;
+    // Protege o armazenamento, os índices e os agregados, lidos pelo planejador fora da EDT: as alterações
+    // (O(log n) cada) pegam a escrita; planejar e preparar uma consulta pegam a leitura
+    private final ReentrantReadWriteLock travaIndices = new ReentrantReadWriteLock();
+    // false enquanto a carga inicial feita por quem criou o gerenciador não termina (ou se foi cancelada)
+    private volatile boolean colecaoCompleta;
     private final CorpoCelesteDAO dao;
+    // Gravações no banco saem da thread de quem chamou (ex.: EDT) e são feitas em segundo plano
+    private final FilaEscritaAssincrona filaEscrita;
+
+    // Configuração da escrita assíncrona
+    private static final int CAPACIDADE_FILA_ESCRITA = 10_000;
+    private static final int MUTACOES_POR_TRANSACAO = 500;
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+    // Quanto uma alteração espera por espaço na fila cheia antes de ser recusada (chamada na EDT)
+    private static final long ESPERA_FILA_CHEIA_MS = 1000;
+
+    // Acima disso (estimativa do pg_class) a tabela não é carregada: a tela usa navegação paginada
+    private static final long LINHAS_MAXIMAS_EM_MEMORIA = 5_000_000;
+    private volatile boolean navegacaoPaginada;
+
+    // Snapshot binário usado para acelerar a próxima inicialização
+    private static final Path ARQUIVO_SNAPSHOT = Paths.get("dados", "catalogo.snap");
+    private static final Duration IDADE_MAXIMA_SNAPSHOT = Duration.ofHours(24);
+    // A última carga veio do snapshot (ainda não conferido com o banco)
+    private volatile boolean carregadoDoSnapshot;
+    // A conferência achou o snapshot para trás do banco: as próximas cargas não o usam
+    private volatile boolean ignorarSnapshot;
 
     public GerenciadorCorposCelestes() {
-        this.colecaoEmMemoria = new ArrayList<>();
+        this(true);
+    }
+
+    // Com carregarAgora = false a coleção começa vazia e quem criou o gerenciador faz a carga
+    // (ex.: em segundo plano, via lerFontesIniciais + incorporarCarregados)
+    public GerenciadorCorposCelestes(boolean carregarAgora) {
+        this.armazenamento = new ArmazenamentoColunar();
+        this.chavePorId = new MapaInteiros();
+        this.aguardandoId = new HashMap<>();
+        this.indiceNomes = new IndiceNomes(armazenamento);
+        this.indiceTrigramas = new IndiceTrigramas();
+        this.indicesRanking = new IndicesRanking();
+        this.agregados = new AgregadosColecao();
         this.dao = new CorpoCelesteDAO();
-        carregarDadosIniciais();
+        this.filaEscrita = new FilaEscritaAssincrona(dao, CAPACIDADE_FILA_ESCRITA, MUTACOES_POR_TRANSACAO);
+        this.planejador = new PlanejadorConsultas(armazenamento, indicesRanking, indiceTrigramas, agregados, dao);
+        this.colecaoCompleta = carregarAgora;
+        this.filaEscrita.adicionarOuvinteFalha((lote, erro, seraRepetido) ->
+                System.err.println("Erro persistência (" + lote.size() + " alterações"
+                        + (seraRepetido ? ", nova tentativa em breve" : ", descartadas") + "): " + erro.getMessage()));
+        if (carregarAgora) carregarDadosIniciais();
+    }
+
+    // --- Carga inicial ---
+
+    // Recebe os corpos lidos das fontes. Se uma fonte falha no meio da leitura, descartar() é
+    // chamado antes de tentar a próxima, para o que já foi entregue não se misturar com o fallback.
+    public interface DestinoCarga {
+        void receber(CorpoCeleste corpo);
+
+        void descartar();
     }
 
     private void carregarDadosIniciais() {
-        if (carregarDoBanco()) return;
-        if (carregarDoArquivoTxt()) return;
-        inicializarDadosFake();
+        DestinoCarga destino = new DestinoCarga() {
+            @Override public void receber(CorpoCeleste corpo) { incluirEmMemoria(corpo); }
+            @Override public void descartar() { limparMemoria(); }
+        };
+        lerFontesIniciais(destino);
+        // Sem interface para liberar antes: a conferência do snapshot é feita aqui mesmo
+        if (snapshotDesatualizado()) {
+            limparMemoria();
+            lerFontesIniciais(destino);
+        }
+    }
+
+    // Percorre snapshot → banco → dados.txt → dados de exemplo sem tocar na coleção em memória,
+    // então pode rodar fora da EDT. Devolve a descrição da fonte usada.
+    // O snapshot é usado só pelo cabeçalho (idade e CRC), sem abrir conexão: a conferência com o banco
+    // fica para depois da carga, em snapshotDesatualizado.
+    // Uma CancellationException lançada pelo destino interrompe a carga e é repassada a quem chamou.
+    public String lerFontesIniciais(DestinoCarga destino) {
+        carregadoDoSnapshot = false;
+        if (!ignorarSnapshot && carregarDoSnapshot(destino)) {
+            carregadoDoSnapshot = true;
+            return "snapshot";
+        }
+        verificarEsquemaDoBanco();
+        if (carregarDoBanco(destino)) return navegacaoPaginada ? "banco de dados, navegação paginada" : "banco de dados";
+        if (carregarDoArquivoTxt(destino)) return "arquivo texto";
+        inicializarDadosFake(destino);
+        return "dados de exemplo";
     }
 
-    private boolean carregarDoBanco() {
+    // Inclui na coleção corpos que vieram das fontes de dados (sem gravar de novo no banco)
+    public void incorporarCarregados(Collection<? extends CorpoCeleste> corpos) {
+        travaIndices.writeLock().lock();
         try {
-            List<CorpoCeleste> doBanco = dao.listarTodos();
-            if (!doBanco.isEmpty()) {
-                colecaoEmMemoria.addAll(doBanco);
+            for (CorpoCeleste corpo : corpos) incluir(corpo);
+        } finally {
+            travaIndices.writeLock().unlock();
+        }
+    }
+
+    // A coleção fica vazia e deixa de contar como completa até o próximo marcarCargaCompleta
+    public void descartarCarregados() {
+        colecaoCompleta = false;
+        limparMemoria();
+    }
+
+    // Avisa que a carga feita via lerFontesIniciais chegou ao fim: as consultas deixam de recorrer ao banco
+    // (na navegação paginada a coleção em memória nunca fica completa)
+    public void marcarCargaCompleta() {
+        if (navegacaoPaginada) {
+            // As páginas são lidas do banco a cada rolagem: não há coleção para sincronizar
+            encerrarSincronizacao();
+            return;
+        }
+        colecaoCompleta = true;
+        if (!alteracoesAdiadas.isEmpty()) {
+            List<CorpoCeleste> gravados = new ArrayList<>();
+            Set<Integer> removidos = new HashSet<>();
+            alteracoesAdiadas.forEach((id, corpo) -> {
+                if (corpo != null) gravados.add(corpo);
+                else removidos.add(id);
+            });
+            alteracoesAdiadas.clear();
+            aplicarAlteracoes(new OuvinteNotificacoes.Alteracoes(gravados, removidos));
+            if (aoSincronizar != null) aoSincronizar.run();
+        }
+    }
+
+    // Avisa que a carga feita via lerFontesIniciais foi cancelada: a coleção fica parcial (as consultas
+    // continuam indo ao banco) e deixa de ser sincronizada, então o que estava adiado é descartado
+    public void marcarCargaCancelada() {
+        encerrarSincronizacao();
+    }
+
+    // --- Navegação paginada (tabelas maiores que LINHAS_MAXIMAS_EM_MEMORIA) ---
+
+    // true quando a carga inicial encontrou a tabela grande demais e não a trouxe para a memória:
+    // a listagem vem de buscarPagina, e consultas e rankings vão ao banco (coleção incompleta)
+    public boolean isNavegacaoPaginada() {
+        return navegacaoPaginada;
+    }
+
+    // Estimativa do pg_class lida na carga pelo banco (-1 se não houve)
+    public long getLinhasEstimadasNoBanco() {
+        return linhasEstimadasNoBanco;
+    }
+
+    // Não toca na coleção em memória: pode rodar fora da EDT
+    public CorpoCelesteDAO.Pagina buscarPagina(Consulta filtro, CorpoCelesteDAO.ColunaPaginacao coluna, boolean crescente,
+                                               CorpoCelesteDAO.ChavePagina chave, int tamanho, boolean paraTras)
+            throws SQLException {
+        return dao.buscarPagina(filtro, coluna, crescente, chave, tamanho, paraTras);
+    }
+
+    // Cria (uma vez por inicialização) os índices, a função e o gatilho que faltam, como o script_banco.sql.
+    // Se o usuário não puder fazer DDL, só avisa do que falta. Sem banco não há o que conferir (a carga
+    // segue para as outras fontes).
+    private void verificarEsquemaDoBanco() {
+        try {
+            List<String> faltantes = dao.criarObjetosFaltantes();
+            if (!faltantes.isEmpty()) {
+                System.err.println("Aviso: Faltam no banco " + faltantes + "; execute o script_banco.sql");
+            }
+        } catch (SQLException e) {
+            // Banco indisponível: carregarDoBanco avisa
+        }
+    }
+
+    private boolean carregarDoBanco(DestinoCarga destino) {
+        long[] recebidos = {0};
+        try {
+            // Numa nova carga (snapshot desatualizado), o que esta instância ainda tem na fila precisa
+            // estar no banco para vir junto
+            aguardarPersistencia(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS);
+            linhasEstimadasNoBanco = dao.estimarTotalLinhas();
+            // Tabela grande demais para a memória: nada é carregado e a tela navega por páginas do banco
+            if (linhasEstimadasNoBanco > LINHAS_MAXIMAS_EM_MEMORIA) {
+                navegacaoPaginada = true;
                 return true;
             }
+            // As linhas chegam ao destino conforme saem do cursor, sem lista intermediária
+            dao.percorrerTodos(corpo -> {
+                destino.receber(corpo);
+                recebidos[0]++;
+            });
+            return recebidos[0] > 0;
         } catch (SQLException e) {
             // Corrige aviso: Captura específica de SQL
             System.err.println("Aviso: Banco indisponível (" + e.getMessage() + ")");
+        } catch (CancellationException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Carga interrompida");
         } catch (Exception e) {
             System.err.println("Aviso: Erro genérico (" + e.getMessage() + ")");
         }
+        // Descarta o que foi lido parcialmente para não duplicar com o fallback
+        if (recebidos[0] > 0) destino.descartar();
         return false;
     }
 
-    private boolean carregarDoArquivoTxt() {
+    // Só usa o snapshot se ele for mais novo que o dados.txt e tiver no máximo IDADE_MAXIMA_SNAPSHOT;
+    // o CRC do conteúdo é conferido na leitura
+    private boolean carregarDoSnapshot(DestinoCarga destino) {
+        File txt = localizarArquivoTxt();
+        if (!SnapshotBinario.estaAtualizado(ARQUIVO_SNAPSHOT, txt == null ? null : txt.toPath(), IDADE_MAXIMA_SNAPSHOT)) {
+            return false;
+        }
+        try {
+            return SnapshotBinario.ler(ARQUIVO_SNAPSHOT, destino::receber).quantidade() > 0;
+        } catch (IOException e) {
+            System.err.println("Aviso: Snapshot ignorado (" + e.getMessage() + ")");
+            destino.descartar();
+            return false;
+        }
+    }
+
+    // Depois de uma carga pelo snapshot, confere a coleção com o banco: outras instâncias podem ter
+    // incluído ou removido linhas desde que o snapshot foi gravado, e a sincronização não repassa o que
+    // aconteceu com esta instância fechada. Compara quantidade, maior id e soma dos ids (o banco percorre
+    // o índice da chave primária), então chame fora da EDT, com a interface já no ar.
+    // Devolve true se a coleção ficou para trás: quem chamou descarta a coleção e carrega de novo, e a
+    // próxima lerFontesIniciais pula o snapshot. Sem banco, o snapshot continua valendo (false).
+    public boolean snapshotDesatualizado() {
+        if (!carregadoDoSnapshot) return false;
+        verificarEsquemaDoBanco();
+        try {
+            // As alterações desta instância ainda na fila fariam o banco parecer diferente
+            if (!aguardarPersistencia(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) return false;
+            // Tabela grande demais para a memória: a nova carga vai para a navegação paginada
+            boolean desatualizado = dao.estimarTotalLinhas() > LINHAS_MAXIMAS_EM_MEMORIA;
+            if (!desatualizado) {
+                CorpoCelesteDAO.ResumoIds memoria = resumirIds(armazenamento.fotografia());
+                // Inclusão desta instância ainda sem id: não dá para comparar agora
+                if (memoria == null) return false;
+                desatualizado = !memoria.equals(dao.resumirIds());
+            }
+            if (desatualizado) ignorarSnapshot = true;
+            return desatualizado;
+        } catch (SQLException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Mesmo resumo de CorpoCelesteDAO.resumirIds, pela coluna de ids; null se alguma linha ainda não tem id
+    private static CorpoCelesteDAO.ResumoIds resumirIds(ArmazenamentoColunar.Fotografia fotografia) {
+        long maior = 0;
+        long soma = 0;
+        for (int linha = 0; linha < fotografia.size(); linha++) {
+            int id = fotografia.id(linha);
+            if (id == 0) return null;
+            maior = Math.max(maior, id);
+            soma += id;
+        }
+        return new CorpoCelesteDAO.ResumoIds(fotografia.size(), maior, soma);
+    }
+
+    private static File localizarArquivoTxt() {
         File arquivo = new File("dados/dados.txt");
         if (!arquivo.exists()) arquivo = new File("dados.txt");
-        if (!arquivo.exists()) return false;
-
-        // Corrige aviso: Uso de 'var' para simplificar o tipo
-        try (var br = new BufferedReader(new FileReader(arquivo))) {
-            String linha;
-            boolean carregouAlgo = false;
-
-            while ((linha = br.readLine()) != null) {
-                if (linha.trim().isEmpty() || linha.startsWith("#")) continue;
-                try {
-                    String[] partes = linha.split(",");
-                    if (partes.length < 5) continue;
-
-                    String tipo = partes[0].trim().toUpperCase();
-                    String nome = partes[1].trim();
-                    double massa = Double.parseDouble(partes[2].trim());
-                    long distancia = Long.parseLong(partes[3].trim());
-                    String extra = partes[4].trim();
-
-                    if ("PLANETA".equals(tipo)) {
-                        colecaoEmMemoria.add(new Planeta(nome, massa, distancia, Boolean.parseBoolean(extra)));
-                        carregouAlgo = true;
-                    } else if ("ESTRELA".equals(tipo)) {
-                        colecaoEmMemoria.add(new Estrela(nome, massa, distancia, extra));
-                        carregouAlgo = true;
-                    }
-                } catch (NumberFormatException ignored) {}
-            }
-            return carregouAlgo;
+        return arquivo.exists() ? arquivo : null;
+    }
+
+    private boolean carregarDoArquivoTxt(DestinoCarga destino) {
+        File arquivo = localizarArquivoTxt();
+        if (arquivo == null) return false;
+
+        try {
+            // Arquivo mapeado em memória e interpretado em paralelo; os corpos chegam na ordem do arquivo
+            LeitorCatalogo.ResultadoLeitura resultado = new LeitorCatalogo().ler(arquivo.toPath(), destino::receber);
+            if (resultado.linhasComErro() > 0) {
+                System.err.println("Aviso: " + resultado.linhasComErro() + " linha(s) ignorada(s) em " + arquivo);
+                resultado.erros().stream().limit(10).forEach(erro -> System.err.println("  " + erro));
+            }
+            return resultado.registros() > 0;
         } catch (IOException e) {
+            System.err.println("Aviso: Erro lendo " + arquivo + " (" + e.getMessage() + ")");
+            destino.descartar();
             return false;
         }
     }
 
-    private void inicializarDadosFake() {
-        colecaoEmMemoria.add(new Estrela("Sol", 1.989e30, 0, "G2V"));
-        colecaoEmMemoria.add(new Planeta("Terra", 5.972e24, 0, true));
+    private void inicializarDadosFake(DestinoCarga destino) {
+        destino.receber(new Estrela("Sol", 1.989e30, 0, "G2V"));
+        destino.receber(new Planeta("Terra", 5.972e24, 0, true));
     }
 
+    // --- Manutenção da coleção e dos índices ---
+
+    private int incluirEmMemoria(CorpoCeleste corpo) {
+        travaIndices.writeLock().lock();
+        try {
+            return incluir(corpo);
+        } finally {
+            travaIndices.writeLock().unlock();
+        }
+    }
+
+    // Com a trava de escrita: o corpo vai para as colunas e os índices recebem a chave dele
+    private int incluir(CorpoCeleste corpo) {
+        int chave = armazenamento.adicionar(corpo);
+        byte tipo = armazenamento.tipo(chave);
+        if (corpo.getId() != 0) chavePorId.definir(corpo.getId(), chave);
+        indiceNomes.adicionar(chave, corpo.getNome());
+        indiceTrigramas.adicionar(chave, corpo.getNome());
+        indicesRanking.adicionar(chave, tipo, corpo.getMassaKg(), corpo.getDistanciaEmAnosLuz(), corpo.getId());
+        agregados.adicionar(tipo, corpo.getMassaKg(), armazenamento.habitavel(chave));
+        return chave;
+    }
+
+    private void excluirDaMemoria(int chave) {
+        travaIndices.writeLock().lock();
+        try {
+            excluir(chave);
+        } finally {
+            travaIndices.writeLock().unlock();
+        }
+    }
+
+    // Com a trava de escrita. Os valores para tirar dos índices são lidos das colunas antes da linha sair;
+    // o armazenamento troca a linha removida pela última: O(1), mas não preserva a ordem da coleção
+    private void excluir(int chave) {
+        int id = armazenamento.id(chave);
+        if (id != 0 && chavePorId.obter(id, ArmazenamentoColunar.AUSENTE) == chave) {
+            chavePorId.remover(id, ArmazenamentoColunar.AUSENTE);
+        }
+        aguardandoId.remove(chave);
+        byte tipo = armazenamento.tipo(chave);
+        indiceNomes.remover(chave, armazenamento.nome(chave));
+        indiceTrigramas.remover(chave);
+        indicesRanking.remover(chave, tipo);
+        agregados.remover(tipo, armazenamento.massa(chave), armazenamento.habitavel(chave));
+        armazenamento.remover(chave);
+    }
+
+    private void limparMemoria() {
+        travaIndices.writeLock().lock();
+        try {
+            armazenamento.limpar();
+            chavePorId.limpar();
+            aguardandoId.clear();
+            indiceNomes.limpar();
+            indiceTrigramas.limpar();
+            indicesRanking.limpar();
+            agregados.limpar();
+        } finally {
+            travaIndices.writeLock().unlock();
+        }
+    }
+
+    // Id recebido do banco por um corpo incluído aqui
+    private void registrarId(int chave, int id) {
+        travaIndices.writeLock().lock();
+        try {
+            armazenamento.definirId(chave, id);
+            chavePorId.definir(id, chave);
+            indicesRanking.definirId(chave, armazenamento.tipo(chave), id);
+        } finally {
+            travaIndices.writeLock().unlock();
+        }
+    }
+
+    // Views das chaves, na ordem recebida
+    private List<CorpoCeleste> corpos(int[] chaves) {
+        List<CorpoCeleste> corpos = new ArrayList<>(chaves.length);
+        for (int chave : chaves) corpos.add(armazenamento.corpo(chave));
+        return corpos;
+    }
+
+    private Iterator<CorpoCeleste> corpos(PrimitiveIterator.OfInt chaves) {
+        return new Iterator<>() {
+            @Override public boolean hasNext() { return chaves.hasNext(); }
+            @Override public CorpoCeleste next() { return armazenamento.corpo(chaves.nextInt()); }
+        };
+    }
+
+    // Fotografia imutável da coleção atual: O(1), sem cópia, e não muda com as alterações seguintes.
+    // Pode ser lida (e percorrida) de qualquer thread. Cada get(i) cria uma view nova, desligada da
+    // coleção (alterar a view não altera a coleção); as views servem para remover o corpo depois.
     public List<CorpoCeleste> listarTodos() {
-        return new ArrayList<>(colecaoEmMemoria);
+        return armazenamento.fotografia();
     }
 
     public void adicionar(CorpoCeleste corpo) {
-        if (corpo == null) return;
-        colecaoEmMemoria.add(corpo);
+        adicionar(corpo, PoliticaDuplicados.PERMITIR);
+    }
+
+    // Retorna false se o corpo foi recusado por já existir outro com o mesmo tipo e nome.
+    // Lança FilaEscritaCheiaException se a fila de escrita não tiver espaço: o corpo não entra na coleção
+    // (com SUBSTITUIR, a remoção do existente pode já ter sido aceita).
+    public boolean adicionar(CorpoCeleste corpo, PoliticaDuplicados politica) {
+        if (corpo == null) return false;
+
+        if (politica != PoliticaDuplicados.PERMITIR) {
+            CorpoCeleste existente = buscar(corpo.getTipoCorpo(), corpo.getNome());
+            if (existente != null) {
+                if (politica == PoliticaDuplicados.REJEITAR) return false;
+                remover(existente);
+            }
+        }
+
+        int chave = incluirEmMemoria(corpo);
+        aguardandoId.put(chave, corpo);
+        if (!enfileirar(new FilaEscritaAssincrona.Insercao(corpo))) {
+            excluirDaMemoria(chave);
+            throw new FilaEscritaCheiaException(filaEscrita.getPendentes());
+        }
+        return true;
+    }
+
+    private boolean enfileirar(FilaEscritaAssincrona.Mutacao mutacao) {
+        return filaEscrita.enfileirar(mutacao, ESPERA_FILA_CHEIA_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Busca O(1) por tipo ("Planeta"/"Estrela") e nome, sem diferenciar maiúsculas/minúsculas
+    public CorpoCeleste buscar(String tipoCorpo, String nome) {
+        int chave = indiceNomes.buscar(tipoCorpo, nome);
+        return (chave == ArmazenamentoColunar.AUSENTE) ? null : armazenamento.corpo(chave);
+    }
+
+    public boolean existe(String tipoCorpo, String nome) {
+        return indiceNomes.buscar(tipoCorpo, nome) != ArmazenamentoColunar.AUSENTE;
+    }
+
+    // Corpos cujo nome contém o trecho, sem diferenciar maiúsculas nem acentos (índice de trigramas).
+    // Pode ser chamado fora da EDT; trecho vazio devolve todos, na ordem de inclusão.
+    public List<CorpoCeleste> buscarPorTrecho(String trecho) {
+        travaIndices.readLock().lock();
         try {
-            dao.inserir(corpo);
+            return corpos(indiceTrigramas.buscar(trecho));
+        } finally {
+            travaIndices.readLock().unlock();
+        }
+    }
+
+    // Mesmo critério de buscarPorTrecho, para filtrar corpos que já estão em mãos
+    public static boolean nomeContem(String nome, String trecho) {
+        return IndiceTrigramas.contem(nome, trecho);
+    }
+
+    // Inclui vários corpos de uma vez: memória primeiro, banco num único INSERT em lote (uma transação).
+    // Retorna os ids gerados pelo banco. Com alterações ainda na fila, o lote não espera por elas (nem
+    // trava quem chamou): vai pela própria fila, atrás delas, e a lista volta vazia (os ids chegam
+    // depois, como em adicionar; falhas vão para os ouvintes de falha de persistência).
+    // Se o banco recusar o lote, os corpos saem da coleção e a SQLException chega a quem chamou. Se a
+    // fila recusar, FilaEscritaCheiaException: os corpos ainda não enfileirados saem da coleção.
+    public List<Integer> adicionarTodos(Collection<? extends CorpoCeleste> corpos) throws SQLException {
+        if (corpos == null || corpos.isEmpty()) return new ArrayList<>();
+
+        List<CorpoCeleste> validos = new ArrayList<>(corpos.size());
+        for (CorpoCeleste corpo : corpos) {
+            if (corpo != null) validos.add(corpo);
+        }
+        int[] chaves = new int[validos.size()];
+        travaIndices.writeLock().lock();
+        try {
+            for (int i = 0; i < chaves.length; i++) {
+                chaves[i] = incluir(validos.get(i));
+                aguardandoId.put(chaves[i], validos.get(i));
+            }
+        } finally {
+            travaIndices.writeLock().unlock();
+        }
+
+        // Só esta thread enfileira: sem pendentes agora, nada do que veio antes fica para trás do lote
+        if (filaEscrita.getPendentes() > 0) {
+            for (int i = 0; i < chaves.length; i++) {
+                if (!enfileirar(new FilaEscritaAssincrona.Insercao(validos.get(i)))) {
+                    excluirDaMemoria(chaves, i);
+                    throw new FilaEscritaCheiaException(filaEscrita.getPendentes());
+                }
+            }
+            return new ArrayList<>();
+        }
+
+        List<Integer> ids;
+        try {
+            ids = dao.inserirLote(validos);
         } catch (SQLException e) {
-            System.err.println("Erro persistência: " + e.getMessage());
+            excluirDaMemoria(chaves, 0);
+            throw e;
+        }
+        // Ids atribuídos nesta mesma thread: já podem ir para as colunas e para chavePorId
+        for (int i = 0; i < chaves.length; i++) {
+            CorpoCeleste corpo = validos.get(i);
+            if (aguardandoId.get(chaves[i]) == corpo && corpo.getId() != 0) {
+                aguardandoId.remove(chaves[i]);
+                registrarId(chaves[i], corpo.getId());
+            }
+        }
+        return ids;
+    }
+
+    // Desfaz a inclusão das chaves a partir de "inicio"
+    private void excluirDaMemoria(int[] chaves, int inicio) {
+        travaIndices.writeLock().lock();
+        try {
+            for (int i = inicio; i < chaves.length; i++) excluir(chaves[i]);
+        } finally {
+            travaIndices.writeLock().unlock();
         }
     }
 
     public void removerPorNome(String nome) {
         if (nome == null) return;
-        String nomeTratado = nome.trim().toLowerCase();
 
-        // Corrige aviso: Null check no filtro
-        CorpoCeleste alvo = colecaoEmMemoria.stream()
-                .filter(c -> c != null && c.getNome() != null)
-                .filter(c -> c.getNome().toLowerCase().equals(nomeTratado))
-                .findFirst()
-                .orElse(null);
+        int chave = indiceNomes.buscar(nome);
+        if (chave != ArmazenamentoColunar.AUSENTE) {
+            remover(armazenamento.corpo(chave));
+        }
+    }
+
+    // Remove exatamente esses corpos (não outros de mesmo nome): da memória numa passada, O(1) cada,
+    // e do banco num único DELETE ... WHERE id = ANY(?), feito em segundo plano pela fila de escrita.
+    // Devolve quantos estavam na coleção.
+    public int removerTodos(Collection<? extends CorpoCeleste> corpos) {
+        if (corpos == null || corpos.isEmpty()) return 0;
+
+        List<CorpoCeleste> removidos = new ArrayList<>(corpos.size());
+        resolverIdsAtribuidos();
+        travaIndices.writeLock().lock();
+        try {
+            for (CorpoCeleste corpo : corpos) {
+                int chave = (corpo == null) ? ArmazenamentoColunar.AUSENTE : armazenamento.chaveDe(corpo);
+                // Corpo lido do banco (ex.: consulta que o planejador mandou ao servidor): vale o id
+                if (chave == ArmazenamentoColunar.AUSENTE && corpo != null && corpo.getId() != 0) {
+                    chave = chavePorId.obter(corpo.getId(), ArmazenamentoColunar.AUSENTE);
+                }
+                if (chave == ArmazenamentoColunar.AUSENTE) continue;
+                // Ainda sem id: vai o objeto original, que recebe o id na thread de escrita
+                CorpoCeleste original = aguardandoId.get(chave);
+                removidos.add(original != null ? original : armazenamento.corpo(chave));
+                excluir(chave);
+            }
+        } finally {
+            travaIndices.writeLock().unlock();
+        }
+        if (!removidos.isEmpty() && !enfileirar(new FilaEscritaAssincrona.RemocaoPorIds(removidos))) {
+            // Recusada pela fila: a coleção volta ao que era e o banco continua igual a ela
+            travaIndices.writeLock().lock();
+            try {
+                for (CorpoCeleste corpo : removidos) {
+                    int chave = incluir(corpo);
+                    if (corpo.getId() == 0) aguardandoId.put(chave, corpo);
+                }
+            } finally {
+                travaIndices.writeLock().unlock();
+            }
+            throw new FilaEscritaCheiaException(filaEscrita.getPendentes());
+        }
+        return removidos.size();
+    }
+
+    // Mesma remoção, a partir dos ids do banco; ids que não estão na coleção são ignorados
+    public int removerPorIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return 0;
+        resolverIdsAtribuidos();
+        List<CorpoCeleste> corpos = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            int chave = (id == null) ? ArmazenamentoColunar.AUSENTE : chavePorId.obter(id, ArmazenamentoColunar.AUSENTE);
+            if (chave != ArmazenamentoColunar.AUSENTE) corpos.add(armazenamento.corpo(chave));
+        }
+        return removerTodos(corpos);
+    }
+
+    // Só a linha deste corpo, por id, mesmo que outras tenham o mesmo nome. Sem id ainda, a remoção
+    // lê o id na gravação, depois da inserção que está antes dela na fila
+    private void remover(CorpoCeleste alvo) {
+        removerTodos(List.of(alvo));
+    }
+
+    // --- Controle da persistência assíncrona ---
+
+    // A fila de escrita continuou cheia (ex.: banco fora do ar) e a alteração foi desfeita na memória
+    public static class FilaEscritaCheiaException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        public FilaEscritaCheiaException(int pendentes) {
+            super("O banco de dados não está acompanhando as alterações (" + pendentes
+                    + " aguardando gravação). Tente novamente mais tarde.");
+        }
+    }
+
+    // O ouvinte roda na thread de escrita: para mexer na interface, repasse à EDT
+    public void adicionarOuvinteFalhaPersistencia(FilaEscritaAssincrona.OuvinteFalha ouvinte) {
+        filaEscrita.adicionarOuvinteFalha(ouvinte);
+    }
+
+    public int getAlteracoesPendentes() {
+        return filaEscrita.getPendentes();
+    }
+
+    // Retorna true se tudo o que foi alterado até agora já foi gravado (ou descartado por falha)
+    public boolean aguardarPersistencia(long tempo, TimeUnit unidade) throws InterruptedException {
+        return filaEscrita.aguardarEscrita(tempo, unidade);
+    }
+
+    // Deve ser chamado ao fechar a aplicação: grava o que estiver pendente e libera as conexões
+    public void encerrar() {
+        encerrar(true);
+    }
+
+    // salvarSnapshot = false quando a coleção está incompleta (ex.: carga inicial cancelada),
+    // para não deixar um snapshot parcial que seria usado na próxima inicialização
+    public void encerrar(boolean salvarSnapshot) {
+        encerrarSincronizacao();
+        try {
+            if (!filaEscrita.encerrar(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) {
+                System.err.println("Aviso: " + filaEscrita.getPendentes() + " alterações não foram gravadas no banco");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ConexaoBanco.encerrar();
+        }
+        // Na navegação paginada a memória não tem o catálogo: um snapshot dela estaria incompleto
+        if (!salvarSnapshot || navegacaoPaginada) return;
+        try {
+            salvarSnapshot();
+        } catch (IOException e) {
+            System.err.println("Aviso: Não foi possível gravar o snapshot (" + e.getMessage() + ")");
+        }
+    }
+
+    // Grava o estado atual da coleção para a próxima inicialização pular banco e dados.txt
+    public void salvarSnapshot() throws IOException {
+        SnapshotBinario.gravar(ARQUIVO_SNAPSHOT, armazenamento.fotografia());
+    }
+
+    // --- Sincronização com outras instâncias (LISTEN/NOTIFY) ---
+
+    private OuvinteNotificacoes ouvinteNotificacoes;
+    private Runnable aoSincronizar;
+    // Alterações recebidas antes de a carga inicial terminar, aplicadas em marcarCargaCompleta. Por id,
+    // valendo a última (null = removido): no máximo uma entrada por linha, por mais que ela mude
+    private final Map<Integer, CorpoCeleste> alteracoesAdiadas = new LinkedHashMap<>();
+
+    // Passa a receber as inclusões e remoções feitas no banco por outras instâncias. Cada delta é
+    // aplicado na coleção e nos índices pela threadDaColecao (ex.: SwingUtilities::invokeLater) e
+    // em seguida aoAlterar roda na mesma thread. Chamar antes da carga inicial: o que chegar durante
+    // a carga fica guardado e, por ser aplicado por id, não duplica as linhas que a carga já trouxe.
+    public void iniciarSincronizacao(Executor threadDaColecao, Runnable aoAlterar) {
+        if (ouvinteNotificacoes != null) return;
+        aoSincronizar = aoAlterar;
+        ouvinteNotificacoes = new OuvinteNotificacoes(dao,
+                alteracoes -> threadDaColecao.execute(() -> receberAlteracoes(alteracoes)));
+        ouvinteNotificacoes.iniciar();
+    }
+
+    private void encerrarSincronizacao() {
+        if (ouvinteNotificacoes == null) return;
+        ouvinteNotificacoes.encerrar();
+        ouvinteNotificacoes = null;
+        alteracoesAdiadas.clear();
+    }
+
+    private void receberAlteracoes(OuvinteNotificacoes.Alteracoes alteracoes) {
+        if (ouvinteNotificacoes == null || navegacaoPaginada) return;
+        if (!colecaoCompleta) {
+            // Mesma ordem de aplicarAlteracoes: remoções antes das gravações
+            for (Integer id : alteracoes.removidos()) alteracoesAdiadas.put(id, null);
+            for (CorpoCeleste corpo : alteracoes.gravados()) alteracoesAdiadas.put(corpo.getId(), corpo);
+            return;
+        }
+        aplicarAlteracoes(alteracoes);
+        if (aoSincronizar != null) aoSincronizar.run();
+    }
+
+    // Custo proporcional ao delta: cada id é localizado por chavePorId
+    private void aplicarAlteracoes(OuvinteNotificacoes.Alteracoes alteracoes) {
+        resolverIdsAtribuidos();
+        travaIndices.writeLock().lock();
+        try {
+            for (Integer id : alteracoes.removidos()) {
+                int chave = chavePorId.obter(id, ArmazenamentoColunar.AUSENTE);
+                if (chave != ArmazenamentoColunar.AUSENTE) excluir(chave);
+            }
+            for (CorpoCeleste corpo : alteracoes.gravados()) {
+                int chave = chavePorId.obter(corpo.getId(), ArmazenamentoColunar.AUSENTE);
+                if (chave != ArmazenamentoColunar.AUSENTE) excluir(chave);
+                incluir(corpo);
+            }
+        } finally {
+            travaIndices.writeLock().unlock();
+        }
+    }
+
+    // Leva para as colunas (e para chavePorId) os ids que a thread de escrita atribuiu aos corpos desta
+    // instância. Os ids chegam pela fila concorrente da escrita (que os publica para esta thread); os
+    // corpos que saíram da coleção nesse meio tempo são ignorados.
+    private void resolverIdsAtribuidos() {
+        filaEscrita.retirarIdsAtribuidos(corpo -> {
+            int chave = armazenamento.chaveDe(corpo);
+            if (chave != ArmazenamentoColunar.AUSENTE && aguardandoId.get(chave) == corpo) {
+                aguardandoId.remove(chave);
+                registrarId(chave, corpo.getId());
+            }
+        });
+    }
+
+    // --- Consultas compostas (Consulta + PlanejadorConsultas) ---
+
+    // Só planeja: a estratégia escolhida e as alternativas estão em PlanoConsulta.explicar()
+    public PlanoConsulta planejar(Consulta consulta) {
+        travaIndices.readLock().lock();
+        try {
+            return planejador.planejar(consulta, colecaoCompleta, filaEscrita.getPendentes() == 0);
+        } finally {
+            travaIndices.readLock().unlock();
+        }
+    }
+
+    // Pode rodar fora da EDT (ex.: no doInBackground de um SwingWorker): a faixa do índice escolhido é
+    // copiada sob a trava de leitura, e o restante da execução usa só cópias e a fotografia da coleção
+    public ExecucaoConsulta prepararConsulta(Consulta consulta) {
+        travaIndices.readLock().lock();
+        try {
+            return planejador.preparar(planejar(consulta));
+        } finally {
+            travaIndices.readLock().unlock();
+        }
+    }
+
+    public List<CorpoCeleste> consultar(Consulta consulta) {
+        return prepararConsulta(consulta).executar(null);
+    }
+
+    // --- Consultas por faixa (índices ordenados): O(log n + k) ---
+
+    // Distâncias acima de 2^53 não são exatas como double (chave do índice)
+    private static final long LIMITE_DISTANCIA_EXATA = 1L << 53;
+
+    // Corpos com massa em [minimo, maximo], em ordem crescente de massa, percorridos sob demanda.
+    // A iteração deve terminar antes de a coleção ser alterada.
+    public Iterable<CorpoCeleste> buscarPorMassa(double minimo, double maximo) {
+        return () -> corpos(indicesRanking.porMassa().intervalo(minimo, maximo));
+    }
+
+    public int contarPorMassa(double minimo, double maximo) {
+        return indicesRanking.porMassa().contar(minimo, maximo);
+    }
+
+    // Corpos com distância em [minimo, maximo], em ordem crescente de distância, percorridos sob demanda
+    public Iterable<CorpoCeleste> buscarPorDistancia(long minimo, long maximo) {
+        Iterable<CorpoCeleste> faixa = () -> corpos(indicesRanking.porDistancia().intervalo(minimo, maximo));
+        if (distanciaExata(minimo) && distanciaExata(maximo)) return faixa;
+        // Nos extremos, distâncias vizinhas podem ter virado o mesmo double: confere o valor exato
+        return () -> StreamSupport.stream(faixa.spliterator(), false)
+                .filter(c -> c.getDistanciaEmAnosLuz() >= minimo && c.getDistanciaEmAnosLuz() <= maximo)
+                .iterator();
+    }
+
+    public int contarPorDistancia(long minimo, long maximo) {
+        if (minimo > maximo) return 0;
+        IndiceOrdenado indice = indicesRanking.porDistancia();
+        int total = indice.contar(minimo, maximo);
+        if (!distanciaExata(minimo)) {
+            for (PrimitiveIterator.OfInt it = indice.intervalo(minimo, minimo); it.hasNext(); ) {
+                if (armazenamento.distancia(it.nextInt()) < minimo) total--;
+            }
+        }
+        if (!distanciaExata(maximo)) {
+            for (PrimitiveIterator.OfInt it = indice.intervalo(maximo, maximo); it.hasNext(); ) {
+                if (armazenamento.distancia(it.nextInt()) > maximo) total--;
+            }
+        }
+        return total;
+    }
+
+    private static boolean distanciaExata(long valor) {
+        return valor > -LIMITE_DISTANCIA_EXATA && valor < LIMITE_DISTANCIA_EXATA;
+    }
+
+    // --- Rankings: índices em memória ou consultas no banco ---
+
+    public enum Ranking { PESO, DISTANCIA, PLANETA_MAIS_PESADO, ESTRELA_MAIS_PESADA }
+
+    // MEMORIA: índices ordenados, O(log n + limite). BANCO: ORDER BY ... LIMIT e max por tipo no
+    // PostgreSQL, apoiados nos índices btree. AUTOMATICO: banco quando a coleção em memória está
+    // incompleta ou a tabela passa de LINHAS_PARA_RANKING_NO_BANCO (estimativa do pg_class).
+    public enum ModoRankings { MEMORIA, BANCO, AUTOMATICO }
+
+    private static final long LINHAS_PARA_RANKING_NO_BANCO = 1_000_000;
+    private volatile ModoRankings modoRankings = ModoRankings.AUTOMATICO;
+    private volatile long linhasEstimadasNoBanco = -1;
+    // Depois de uma falha no banco os rankings voltam para a memória até o modo ser redefinido
+    private volatile boolean bancoFalhouNosRankings;
+
+    public ModoRankings getModoRankings() {
+        return modoRankings;
+    }
 
-        if (alvo != null) {
-            colecaoEmMemoria.remove(alvo);
+    public void setModoRankings(ModoRankings modo) {
+        modoRankings = (modo == null) ? ModoRankings.AUTOMATICO : modo;
+        bancoFalhouNosRankings = false;
+    }
+
+    // true se getRanking vai ao banco (convém chamar getRankingNoBanco fora da EDT).
+    // Com alterações ainda na fila de escrita o banco está atrasado: a memória responde.
+    public boolean rankingsNoBanco() {
+        if (bancoFalhouNosRankings || filaEscrita.getPendentes() > 0) return false;
+        return switch (modoRankings) {
+            case MEMORIA -> false;
+            case BANCO -> true;
+            case AUTOMATICO -> !colecaoCompleta || linhasEstimadasNoBanco > LINHAS_PARA_RANKING_NO_BANCO;
+        };
+    }
+
+    // Na thread que altera a coleção (ex.: EDT); se o banco falhar, responde com a memória
+    public List<CorpoCeleste> getRanking(Ranking ranking, int limite) {
+        if (rankingsNoBanco()) {
             try {
-                String tipo = (alvo instanceof Planeta) ? "PLANETA" : "ESTRELA";
-                dao.removerPorTipoENome(tipo, alvo.getNome());
+                return getRankingNoBanco(ranking, limite);
             } catch (SQLException e) {
-                System.err.println("Erro remoção: " + e.getMessage());
+                // getRankingNoBanco já registrou a falha
             }
         }
+        return switch (ranking) {
+            case PESO -> corpos(indicesRanking.porMassa().maiores(limite));
+            case DISTANCIA -> corpos(indicesRanking.porDistancia().maiores(limite));
+            case PLANETA_MAIS_PESADO -> corpos(indicesRanking.porMassaPlanetas().maiores(Math.min(limite, 1)));
+            case ESTRELA_MAIS_PESADA -> corpos(indicesRanking.porMassaEstrelas().maiores(Math.min(limite, 1)));
+        };
+    }
+
+    // Só o banco, sem tocar na coleção: pode rodar em qualquer thread. Uma falha desliga o uso do banco
+    // nos rankings (getRanking passa a responder com a memória).
+    public List<CorpoCeleste> getRankingNoBanco(Ranking ranking, int limite) throws SQLException {
+        try {
+            return switch (ranking) {
+                case PESO -> dao.listarMaisPesados(limite);
+                case DISTANCIA -> dao.listarMaisDistantes(limite);
+                case PLANETA_MAIS_PESADO -> umOuNenhum(limite > 0 ? dao.buscarMaisPesado("PLANETA") : null);
+                case ESTRELA_MAIS_PESADA -> umOuNenhum(limite > 0 ? dao.buscarMaisPesado("ESTRELA") : null);
+            };
+        } catch (SQLException e) {
+            bancoFalhouNosRankings = true;
+            System.err.println("Aviso: rankings no banco indisponíveis, usando a memória (" + e.getMessage() + ")");
+            throw e;
+        }
+    }
+
+    private static List<CorpoCeleste> umOuNenhum(CorpoCeleste corpo) {
+        List<CorpoCeleste> lista = new ArrayList<>(1);
+        if (corpo != null) lista.add(corpo);
+        return lista;
     }
 
-    // Métodos de cálculo mantidos iguais...
     public List<CorpoCeleste> getRankingPeso(int limite) {
-        return colecaoEmMemoria.stream().sorted(Comparator.comparing(CorpoCeleste::getMassaKg).reversed()).limit(limite).collect(Collectors.toList());
+        return getRanking(Ranking.PESO, limite);
     }
     public List<CorpoCeleste> getRankingDistancia(int limite) {
-        return colecaoEmMemoria.stream().sorted(Comparator.comparing(CorpoCeleste::getDistanciaEmAnosLuz).reversed()).limit(limite).collect(Collectors.toList());
+        return getRanking(Ranking.DISTANCIA, limite);
     }
     public Planeta getPlanetaMaisPesado() {
-        return colecaoEmMemoria.stream().filter(c -> c instanceof Planeta).map(c -> (Planeta) c).max(Comparator.comparing(CorpoCeleste::getMassaKg)).orElse(null);
+        List<CorpoCeleste> ranking = getRanking(Ranking.PLANETA_MAIS_PESADO, 1);
+        return ranking.isEmpty() ? null : (Planeta) ranking.get(0);
     }
     public Estrela getEstrelaMaisPesada() {
-        return colecaoEmMemoria.stream().filter(c -> c instanceof Estrela).map(c -> (Estrela) c).max(Comparator.comparing(CorpoCeleste::getMassaKg)).orElse(null);
+        List<CorpoCeleste> ranking = getRanking(Ranking.ESTRELA_MAIS_PESADA, 1);
+        return ranking.isEmpty() ? null : (Estrela) ranking.get(0);
     }
 
+    // Totais da coleção inteira: os agregados atualizados a cada inclusão/remoção ou, na navegação
+    // paginada (nada na memória), uma totalização no banco. Os habitáveis vêm de uma consulta planejada,
+    // preparada sob a mesma trava dos totais. Pode ir ao banco: chame fora da EDT
+    public ResumoColecao getResumo() {
+        Consulta habitaveis = Consulta.todos().comHabitavel(true);
+        if (navegacaoPaginada) {
+            try {
+                CorpoCelesteDAO.Totais totais = dao.totalizar();
+                return new ResumoColecao(totais.total(), totais.estrelas(), totais.planetas(), totais.somaMassa(),
+                        planetas(consultar(habitaveis)));
+            } catch (SQLException e) {
+                throw new IllegalStateException("Falha ao totalizar a coleção no banco: " + e.getMessage(), e);
+            }
+        }
+        ExecucaoConsulta execucao;
+        ResumoColecao totais;
+        travaIndices.readLock().lock();
+        try {
+            execucao = prepararConsulta(habitaveis);
+            totais = agregados.resumo(List.of());
+        } finally {
+            travaIndices.readLock().unlock();
+        }
+        return new ResumoColecao(totais.total(), totais.estrelas(), totais.planetas(), totais.somaMassa(),
+                planetas(execucao.executar(null)));
+    }
+
+    // A consulta de habitáveis só aceita planetas
+    private static List<Planeta> planetas(List<CorpoCeleste> corpos) {
+        List<Planeta> planetas = new ArrayList<>(corpos.size());
+        for (CorpoCeleste corpo : corpos) planetas.add((Planeta) corpo);
+        return planetas;
+    }
+
+    public long getVersao() {
+        return armazenamento.versao();
+    }
+
+    // Exporta a coleção atual (".gz" no nome grava comprimido)
     public void exportarParaCsv(String caminhoArquivo) throws IOException {
         Path path = Paths.get(caminhoArquivo);
-        // Corrige aviso: Uso de 'var'
-        try (var writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            writer.write("TIPO;NOME;MASSA;DISTANCIA;EXTRA");
-            writer.newLine();
-
-            for (CorpoCeleste c : colecaoEmMemoria) {
-                // Corrige aviso: "Dereferencing possible null pointer"
-                if (c == null) continue;
-
-                String tipo = "DESCONHECIDO";
-                String extra = "";
-
-                // Corrige aviso: Pattern Matching (Java 14+)
-                switch (c) {
-                    case Planeta p -> {
-                        tipo = "PLANETA";
-                        extra = String.valueOf(p.isHabitavel());
-                    }
-                    case Estrela e -> {
-                        tipo = "ESTRELA";
-                        extra = e.getTipoEspectral();
-                    }
-                    default -> {
-                    }
-                }
+        exportarParaCsv(listarTodos(), path, ExportadorCsv.usaGzip(path), null, null);
+    }
 
-                String nomeSeguro = (c.getNome() != null) ? c.getNome() : "Sem Nome";
-                writer.write(String.format("%s;%s;%s;%d;%s", tipo, nomeSeguro, c.getMassaKg(), c.getDistanciaEmAnosLuz(), extra));
-                writer.newLine();
-            }
-        }
+    // Formato colunar comprimido (ArquivoColunar), para rotinas de análise
+    public void exportarParaColunar(String caminhoArquivo) throws IOException {
+        ArquivoColunar.gravar(Paths.get(caminhoArquivo), listarTodos());
+    }
+
+    // Lê um arquivo colunar sem alterar a coleção; grupos fora das faixas do filtro são pulados
+    public static List<CorpoCeleste> lerArquivoColunar(String caminhoArquivo, ArquivoColunar.Filtro filtro) throws IOException {
+        List<CorpoCeleste> corpos = new ArrayList<>();
+        ArquivoColunar.ler(Paths.get(caminhoArquivo), filtro, corpos::add);
+        return corpos;
+    }
+
+    // Versão para rodar fora da EDT: recebe a cópia da coleção já tirada por quem chamou
+    public ExportadorCsv.ResultadoExportacao exportarParaCsv(List<CorpoCeleste> corpos, Path destino, boolean gzip,
+                                                             ExportadorCsv.Progresso progresso,
+                                                             BooleanSupplier cancelado) throws IOException {
+        return new ExportadorCsv().exportar(corpos, destino, gzip, progresso, cancelado);
     }
 }
\ No newline at end of file
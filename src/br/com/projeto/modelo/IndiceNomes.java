@@ -0,0 +1,81 @@
+package br.com.projeto.modelo;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Índice hash de nomes, sem diferenciar maiúsculas/minúsculas.
+// O hash do nome normalizado aponta para uma lista encadeada de chaves do ArmazenamentoColunar
+// (próxima chave num int[] indexado pela chave), na ordem de inclusão. O nome não é guardado aqui:
+// cada candidato é conferido na coluna de nomes, e o tipo (Planeta/Estrela) na coluna de tipos.
+// Na prática cada lista tem um ou dois elementos.
+class IndiceNomes {
+
+    private static final int NENHUMA = -1;
+
+    private final ArmazenamentoColunar armazenamento;
+    private final MapaInteiros primeiraPorHash = new MapaInteiros();
+    private int[] proxima = new int[1024];
+
+    IndiceNomes(ArmazenamentoColunar armazenamento) {
+        this.armazenamento = armazenamento;
+    }
+
+    static String normalizar(String nome) {
+        return nome == null ? "" : nome.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Acrescenta no fim da lista do hash, para "primeiro incluído" continuar sendo o primeiro
+    void adicionar(int chave, String nome) {
+        if (chave >= proxima.length) proxima = Arrays.copyOf(proxima, Math.max(chave + 1, proxima.length * 2));
+        proxima[chave] = NENHUMA;
+        int hash = normalizar(nome).hashCode();
+        int atual = primeiraPorHash.obter(hash, NENHUMA);
+        if (atual == NENHUMA) {
+            primeiraPorHash.definir(hash, chave);
+            return;
+        }
+        while (proxima[atual] != NENHUMA) atual = proxima[atual];
+        proxima[atual] = chave;
+    }
+
+    // O nome é o que foi usado na inclusão (quem chama lê da coluna antes de remover a linha)
+    void remover(int chave, String nome) {
+        int hash = normalizar(nome).hashCode();
+        int atual = primeiraPorHash.obter(hash, NENHUMA);
+        if (atual == chave) {
+            if (proxima[chave] == NENHUMA) primeiraPorHash.remover(hash, NENHUMA);
+            else primeiraPorHash.definir(hash, proxima[chave]);
+            return;
+        }
+        while (atual != NENHUMA && proxima[atual] != chave) atual = proxima[atual];
+        if (atual != NENHUMA) proxima[atual] = proxima[chave];
+    }
+
+    // Chave do primeiro corpo incluído com esse nome, de qualquer tipo (ArmazenamentoColunar.AUSENTE se não há)
+    int buscar(String nome) {
+        return buscar(-1, nome);
+    }
+
+    // Chave do primeiro corpo incluído com esse tipo ("Planeta"/"Estrela") e nome
+    int buscar(String tipoCorpo, String nome) {
+        byte tipo;
+        if ("Planeta".equalsIgnoreCase(tipoCorpo)) tipo = ArmazenamentoColunar.TIPO_PLANETA;
+        else if ("Estrela".equalsIgnoreCase(tipoCorpo)) tipo = ArmazenamentoColunar.TIPO_ESTRELA;
+        else return ArmazenamentoColunar.AUSENTE;
+        return buscar(tipo, nome);
+    }
+
+    private int buscar(int tipo, String nome) {
+        String alvo = normalizar(nome);
+        for (int chave = primeiraPorHash.obter(alvo.hashCode(), NENHUMA); chave != NENHUMA; chave = proxima[chave]) {
+            if ((tipo < 0 || armazenamento.tipo(chave) == tipo) && normalizar(armazenamento.nome(chave)).equals(alvo)) {
+                return chave;
+            }
+        }
+        return ArmazenamentoColunar.AUSENTE;
+    }
+
+    void limpar() {
+        primeiraPorHash.limpar();
+    }
+}
@@ -0,0 +1,288 @@
+package br.com.projeto.modelo;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Índice ordenado por um valor numérico (ex.: massa), mantido a cada inclusão/remoção.
+// Implementado como uma treap (árvore binária de busca balanceada por prioridades aleatórias)
+// com o tamanho de cada subárvore, o que permite consultas de maiores/menores, por faixa de
+// valor e contagens em O(log n + k) sem reordenar a coleção.
+//
+// Os elementos são as chaves do ArmazenamentoColunar, e cada chave é o próprio nó: valor, filhos
+// e tamanho ficam em arrays primitivos indexados pela chave (nada de um objeto por nó nem de mapa
+// corpo -> nó). A prioridade é um hash da chave.
+//
+// Empates no valor são desfeitos pelo id do banco, na mesma direção do valor (como o
+// "ORDER BY coluna DESC, id DESC" das consultas no servidor): memória e banco devolvem a mesma
+// ordem. Corpos ainda sem id vêm depois de todos os que têm (o id deles será maior), entre si
+// na ordem de inclusão; quando o id chega, definirId reposiciona o corpo.
+class IndiceOrdenado {
+
+    private static final int NENHUM = -1;
+    // Acima de qualquer id (int)
+    private static final long SEM_ID = 1L << 32;
+
+    private double[] valores = new double[1024];
+    // Id do banco, ou SEM_ID + ordem de inclusão para quem ainda não tem
+    private long[] desempates = new long[1024];
+    private int[] esquerda = new int[1024];
+    private int[] direita = new int[1024];
+    // 0 = a chave não está no índice
+    private int[] tamanhos = new int[1024];
+    private int raiz = NENHUM;
+    private long proximaInclusao;
+    // Alterações estruturais, para os iteradores de faixa detectarem uso após modificação
+    private int modificacoes;
+
+    // Resultado de dividir(): as duas metades
+    private int menores;
+    private int maiores;
+
+    int tamanho() {
+        return tamanho(raiz);
+    }
+
+    boolean contem(int chave) {
+        return chave < tamanhos.length && tamanhos[chave] > 0;
+    }
+
+    // id 0 = ainda não gravado no banco
+    void adicionar(int chave, double valor, int id) {
+        if (contem(chave)) return;
+        garantirCapacidade(chave);
+        valores[chave] = valor;
+        desempates[chave] = (id != 0) ? id : SEM_ID + proximaInclusao++;
+        esquerda[chave] = direita[chave] = NENHUM;
+        tamanhos[chave] = 1;
+        modificacoes++;
+
+        dividir(raiz, chave);
+        int antes = menores, depois = maiores;
+        raiz = unir(unir(antes, chave), depois);
+    }
+
+    void remover(int chave) {
+        if (!contem(chave)) return;
+        modificacoes++;
+        raiz = remover(raiz, chave);
+        tamanhos[chave] = 0;
+    }
+
+    // Id recebido do banco depois da inclusão: muda o desempate, então o nó sai e volta
+    void definirId(int chave, int id) {
+        if (!contem(chave) || desempates[chave] == id) return;
+        double valor = valores[chave];
+        remover(chave);
+        adicionar(chave, valor, id);
+    }
+
+    void limpar() {
+        Arrays.fill(tamanhos, 0);
+        raiz = NENHUM;
+        modificacoes++;
+    }
+
+    // Chave do maior elemento (NENHUM se vazio)
+    int maior() {
+        int no = raiz;
+        if (no == NENHUM) return NENHUM;
+        while (direita[no] != NENHUM) no = direita[no];
+        return no;
+    }
+
+    // Chaves dos k maiores, do maior para o menor: O(log n + k)
+    int[] maiores(int k) {
+        int[] resultado = new int[Math.max(0, Math.min(k, tamanho()))];
+        int[] pilha = new int[32];
+        int topo = 0;
+        int atual = raiz;
+        int quantidade = 0;
+        while (quantidade < resultado.length && (atual != NENHUM || topo > 0)) {
+            while (atual != NENHUM) {
+                if (topo == pilha.length) pilha = Arrays.copyOf(pilha, topo * 2);
+                pilha[topo++] = atual;
+                atual = direita[atual];
+            }
+            int no = pilha[--topo];
+            resultado[quantidade++] = no;
+            atual = esquerda[no];
+        }
+        return resultado;
+    }
+
+    // Quantos elementos têm valor em [minimo, maximo]: duas descidas na árvore, O(log n)
+    int contar(double minimo, double maximo) {
+        if (Double.isNaN(minimo) || Double.isNaN(maximo) || minimo > maximo) return 0;
+        return contarAte(maximo) - contarMenoresQue(minimo);
+    }
+
+    // Chaves com valor em [minimo, maximo], em ordem crescente de valor, percorridas sob demanda:
+    // O(log n) para chegar à primeira e O(1) amortizado por chave seguinte.
+    // Alterar o índice durante a iteração faz o iterador lançar ConcurrentModificationException.
+    PrimitiveIterator.OfInt intervalo(double minimo, double maximo) {
+        return new IteradorIntervalo(minimo, maximo, true);
+    }
+
+    // Mesma faixa, do maior para o menor (empates pelo id decrescente, como em maiores())
+    PrimitiveIterator.OfInt intervaloDecrescente(double minimo, double maximo) {
+        return new IteradorIntervalo(minimo, maximo, false);
+    }
+
+    private int contarMenoresQue(double valor) {
+        int total = 0;
+        for (int no = raiz; no != NENHUM; ) {
+            if (valores[no] < valor) {
+                total += tamanho(esquerda[no]) + 1;
+                no = direita[no];
+            } else {
+                no = esquerda[no];
+            }
+        }
+        return total;
+    }
+
+    private int contarAte(double valor) {
+        int total = 0;
+        for (int no = raiz; no != NENHUM; ) {
+            if (valores[no] <= valor) {
+                total += tamanho(esquerda[no]) + 1;
+                no = direita[no];
+            } else {
+                no = esquerda[no];
+            }
+        }
+        return total;
+    }
+
+    private final class IteradorIntervalo implements PrimitiveIterator.OfInt {
+        private final double minimo;
+        private final double maximo;
+        private final boolean crescente;
+        private final int modificacoesEsperadas = modificacoes;
+        // Caminho dos nós ainda não visitados a partir do início da faixa (o topo é o próximo)
+        private int[] pilha = new int[32];
+        private int topo;
+
+        IteradorIntervalo(double minimo, double maximo, boolean crescente) {
+            this.minimo = minimo;
+            this.maximo = maximo;
+            this.crescente = crescente;
+            if (Double.isNaN(minimo) || Double.isNaN(maximo) || minimo > maximo) return;
+            for (int no = raiz; no != NENHUM; ) {
+                boolean dentro = crescente ? valores[no] >= minimo : valores[no] <= maximo;
+                if (dentro) {
+                    empilhar(no);
+                    no = crescente ? esquerda[no] : direita[no];
+                } else {
+                    no = crescente ? direita[no] : esquerda[no];
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            verificarModificacao();
+            if (topo == 0) return false;
+            double valor = valores[pilha[topo - 1]];
+            return crescente ? valor <= maximo : valor >= minimo;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int no = pilha[--topo];
+            if (crescente) {
+                for (int filho = direita[no]; filho != NENHUM; filho = esquerda[filho]) empilhar(filho);
+            } else {
+                for (int filho = esquerda[no]; filho != NENHUM; filho = direita[filho]) empilhar(filho);
+            }
+            return no;
+        }
+
+        private void empilhar(int no) {
+            if (topo == pilha.length) pilha = Arrays.copyOf(pilha, topo * 2);
+            pilha[topo++] = no;
+        }
+
+        private void verificarModificacao() {
+            if (modificacoes != modificacoesEsperadas) throw new ConcurrentModificationException();
+        }
+    }
+
+    // --- Operações da treap ---
+
+    // Ordem do índice: valor crescente e, para valores iguais, id crescente
+    private boolean antes(int a, int b) {
+        int c = Double.compare(valores[a], valores[b]);
+        return (c != 0) ? c < 0 : desempates[a] < desempates[b];
+    }
+
+    private int tamanho(int no) {
+        return (no == NENHUM) ? 0 : tamanhos[no];
+    }
+
+    private int atualizar(int no) {
+        tamanhos[no] = 1 + tamanho(esquerda[no]) + tamanho(direita[no]);
+        return no;
+    }
+
+    // Prioridade pseudoaleatória derivada da chave (mistura de bits do SplitMix)
+    private static int prioridade(int chave) {
+        long z = (chave + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    // Separa "no" em [antes do pivô] e [depois dele], devolvidas em menores/maiores
+    private void dividir(int no, int pivo) {
+        if (no == NENHUM) {
+            menores = maiores = NENHUM;
+            return;
+        }
+        if (antes(no, pivo)) {
+            dividir(direita[no], pivo);
+            direita[no] = menores;
+            menores = atualizar(no);
+        } else {
+            dividir(esquerda[no], pivo);
+            esquerda[no] = maiores;
+            maiores = atualizar(no);
+        }
+    }
+
+    // Une duas árvores em que todos os elementos de "a" vêm antes dos de "b"
+    private int unir(int a, int b) {
+        if (a == NENHUM) return b;
+        if (b == NENHUM) return a;
+        if (prioridade(a) > prioridade(b)) {
+            direita[a] = unir(direita[a], b);
+            return atualizar(a);
+        }
+        esquerda[b] = unir(a, esquerda[b]);
+        return atualizar(b);
+    }
+
+    private int remover(int no, int alvo) {
+        if (no == NENHUM) return NENHUM;
+        if (no == alvo) return unir(esquerda[no], direita[no]);
+        if (antes(alvo, no)) {
+            esquerda[no] = remover(esquerda[no], alvo);
+        } else {
+            direita[no] = remover(direita[no], alvo);
+        }
+        return atualizar(no);
+    }
+
+    private void garantirCapacidade(int chave) {
+        if (chave < tamanhos.length) return;
+        int capacidade = Math.max(chave + 1, tamanhos.length * 2);
+        valores = Arrays.copyOf(valores, capacidade);
+        desempates = Arrays.copyOf(desempates, capacidade);
+        esquerda = Arrays.copyOf(esquerda, capacidade);
+        direita = Arrays.copyOf(direita, capacidade);
+        tamanhos = Arrays.copyOf(tamanhos, capacidade);
+    }
+}
@@ -0,0 +1,257 @@
+package br.com.projeto.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Índice invertido de trigramas para busca de trechos de nome ("contém"), sem diferenciar
+// maiúsculas/minúsculas nem acentos.
+// Guarda as chaves do ArmazenamentoColunar e os nomes já normalizados, numa arena de bytes própria.
+// Cada corpo recebe um número de posição crescente; cada trigrama do nome normalizado aponta
+// para a lista ordenada das posições que o contêm. Uma busca intersecta as listas dos trigramas
+// do termo (começando pela menor) e confirma os candidatos no nome normalizado, então o custo
+// acompanha o tamanho das listas envolvidas, não o tamanho do catálogo.
+// Termos com menos de 3 caracteres não têm trigrama: caem numa varredura dos nomes já
+// normalizados (para eles quase todo o catálogo costuma ser resultado mesmo).
+// A remoção só marca a posição como vazia (lápide), em O(1): as listas dos trigramas continuam
+// com ela, e a busca a descarta. Quando as lápides passam das posições vivas, o índice é
+// reconstruído de uma vez, então o custo da remoção fica O(1) amortizado por trigrama do nome.
+// Os métodos são sincronizados para a busca poder rodar fora da EDT.
+class IndiceTrigramas {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    // Lápides que ainda ocupam as listas; acima disso (e acima das vivas) o índice é reconstruído
+    private static final int MINIMO_PARA_COMPACTAR = 1024;
+    private static final int SEM_CHAVE = -1;
+
+    private final Map<Long, Postagem> porTrigrama = new HashMap<>();
+    // Chave do ArmazenamentoColunar em cada posição (SEM_CHAVE se removida) e posição de cada chave
+    private int[] chaves = new int[1024];
+    private int[] posicaoPorChave = new int[1024];
+    // Nomes normalizados em UTF-8, numa arena por posição (sem um String por corpo)
+    private byte[] nomes = new byte[16 * 1024];
+    private int usadoNomes;
+    private int[] inicioNome = new int[1024];
+    private int[] tamanhoNome = new int[1024];
+    private int proximaPosicao;
+    private int vivos;
+    private int removidos;
+
+    IndiceTrigramas() {
+        Arrays.fill(posicaoPorChave, SEM_CHAVE);
+    }
+
+    // Minúsculas e sem acentos ("Órion" -> "orion"); sem trim, para manter a semântica de "contém"
+    static String normalizar(String texto) {
+        if (texto == null) return "";
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) ascii = texto.charAt(i) < 0x80;
+        if (ascii) return texto.toLowerCase(Locale.ROOT);
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static boolean contem(String nome, String termo) {
+        return normalizar(nome).contains(normalizar(termo));
+    }
+
+    synchronized void adicionar(int chave, String nome) {
+        if (chave < posicaoPorChave.length && posicaoPorChave[chave] != SEM_CHAVE) return;
+        String normalizado = normalizar(nome);
+        byte[] bytes = normalizado.getBytes(StandardCharsets.UTF_8);
+        int posicao = proximaPosicao++;
+        if (posicao == chaves.length) {
+            chaves = Arrays.copyOf(chaves, posicao * 2);
+            inicioNome = Arrays.copyOf(inicioNome, posicao * 2);
+            tamanhoNome = Arrays.copyOf(tamanhoNome, posicao * 2);
+        }
+        if (chave >= posicaoPorChave.length) {
+            int anterior = posicaoPorChave.length;
+            posicaoPorChave = Arrays.copyOf(posicaoPorChave, Math.max(chave + 1, anterior * 2));
+            Arrays.fill(posicaoPorChave, anterior, posicaoPorChave.length, SEM_CHAVE);
+        }
+        if (usadoNomes + bytes.length > nomes.length) {
+            nomes = Arrays.copyOf(nomes, Math.max(nomes.length * 2, usadoNomes + bytes.length));
+        }
+        System.arraycopy(bytes, 0, nomes, usadoNomes, bytes.length);
+        inicioNome[posicao] = usadoNomes;
+        tamanhoNome[posicao] = bytes.length;
+        usadoNomes += bytes.length;
+        chaves[posicao] = chave;
+        posicaoPorChave[chave] = posicao;
+        vivos++;
+        // Posições crescentes: acrescentar no fim mantém cada lista ordenada
+        for (long trigrama : trigramasDistintos(normalizado)) {
+            porTrigrama.computeIfAbsent(trigrama, t -> new Postagem()).acrescentar(posicao);
+        }
+    }
+
+    synchronized void remover(int chave) {
+        if (chave >= posicaoPorChave.length || posicaoPorChave[chave] == SEM_CHAVE) return;
+        int posicao = posicaoPorChave[chave];
+        posicaoPorChave[chave] = SEM_CHAVE;
+        // Lápide: as listas dos trigramas ficam como estão até a próxima compactação
+        chaves[posicao] = SEM_CHAVE;
+        vivos--;
+        removidos++;
+        if (removidos >= MINIMO_PARA_COMPACTAR && removidos > vivos) compactar();
+    }
+
+    synchronized void limpar() {
+        porTrigrama.clear();
+        chaves = new int[1024];
+        posicaoPorChave = new int[1024];
+        Arrays.fill(posicaoPorChave, SEM_CHAVE);
+        nomes = new byte[16 * 1024];
+        usadoNomes = 0;
+        inicioNome = new int[1024];
+        tamanhoNome = new int[1024];
+        proximaPosicao = 0;
+        vivos = 0;
+        removidos = 0;
+    }
+
+    // Chaves dos corpos cujo nome contém o termo, na ordem de inclusão; termo vazio devolve todas
+    synchronized int[] buscar(String termo) {
+        String alvo = normalizar(termo);
+        byte[] alvoBytes = alvo.getBytes(StandardCharsets.UTF_8);
+        int[] resultado = new int[16];
+        int encontrados = 0;
+
+        if (alvo.length() < 3) {
+            for (int i = 0; i < proximaPosicao; i++) {
+                if (chaves[i] != SEM_CHAVE && contemBytes(i, alvoBytes)) {
+                    if (encontrados == resultado.length) resultado = Arrays.copyOf(resultado, encontrados * 2);
+                    resultado[encontrados++] = chaves[i];
+                }
+            }
+            return Arrays.copyOf(resultado, encontrados);
+        }
+
+        long[] trigramas = trigramasDistintos(alvo);
+        Postagem[] listas = new Postagem[trigramas.length];
+        for (int i = 0; i < trigramas.length; i++) {
+            listas[i] = porTrigrama.get(trigramas[i]);
+            if (listas[i] == null) return new int[0];
+        }
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.tamanho, b.tamanho));
+
+        int[] candidatos = Arrays.copyOf(listas[0].posicoes, listas[0].tamanho);
+        int quantidade = candidatos.length;
+        for (int i = 1; i < listas.length && quantidade > 0; i++) {
+            quantidade = intersectar(candidatos, quantidade, listas[i]);
+        }
+
+        // Descarta as lápides e, como ter todos os trigramas não garante que estejam em sequência,
+        // confirma no nome
+        for (int i = 0; i < quantidade; i++) {
+            int posicao = candidatos[i];
+            if (chaves[posicao] != SEM_CHAVE && contemBytes(posicao, alvoBytes)) candidatos[encontrados++] = chaves[posicao];
+        }
+        return Arrays.copyOf(candidatos, encontrados);
+    }
+
+    // Limite superior barato para o tamanho de buscar(termo): a menor lista entre os trigramas do
+    // termo (0 se algum não existe; as lápides contam, mas nunca passam das vivas); termos curtos,
+    // sem trigrama, estimam o catálogo inteiro
+    synchronized int estimar(String termo) {
+        String alvo = normalizar(termo);
+        if (alvo.length() < 3) return vivos;
+        int menor = vivos;
+        for (long trigrama : trigramasDistintos(alvo)) {
+            Postagem postagem = porTrigrama.get(trigrama);
+            if (postagem == null) return 0;
+            menor = Math.min(menor, postagem.tamanho);
+        }
+        return menor;
+    }
+
+    // Busca do termo (já normalizado, em UTF-8) no nome da posição; trecho de UTF-8 válido = trecho do texto
+    private boolean contemBytes(int posicao, byte[] alvo) {
+        int inicio = inicioNome[posicao];
+        int ultimo = inicio + tamanhoNome[posicao] - alvo.length;
+        for (int i = inicio; i <= ultimo; i++) {
+            int j = 0;
+            while (j < alvo.length && nomes[i + j] == alvo[j]) j++;
+            if (j == alvo.length) return true;
+        }
+        return false;
+    }
+
+    private String nomeNormalizado(int posicao) {
+        return new String(nomes, inicioNome[posicao], tamanhoNome[posicao], StandardCharsets.UTF_8);
+    }
+
+    // Mantém em candidatos[0, quantidade) só o que também está na lista (ambos ordenados), com busca exponencial
+    private static int intersectar(int[] candidatos, int quantidade, Postagem lista) {
+        int mantidos = 0;
+        int inicio = 0;
+        for (int i = 0; i < quantidade && inicio < lista.tamanho; i++) {
+            int indice = lista.buscarAPartirDe(candidatos[i], inicio);
+            if (indice >= 0) {
+                candidatos[mantidos++] = candidatos[i];
+                inicio = indice + 1;
+            } else {
+                inicio = -indice - 1;
+            }
+        }
+        return mantidos;
+    }
+
+    private static long[] trigramasDistintos(String nome) {
+        if (nome.length() < 3) return new long[0];
+        long[] trigramas = new long[nome.length() - 2];
+        for (int i = 0; i < trigramas.length; i++) {
+            trigramas[i] = ((long) nome.charAt(i) << 32) | ((long) nome.charAt(i + 1) << 16) | nome.charAt(i + 2);
+        }
+        Arrays.sort(trigramas);
+        int distintos = 0;
+        for (int i = 0; i < trigramas.length; i++) {
+            if (i == 0 || trigramas[i] != trigramas[i - 1]) trigramas[distintos++] = trigramas[i];
+        }
+        return Arrays.copyOf(trigramas, distintos);
+    }
+
+    // Reconstrói o índice só com as posições vivas, renumeradas: some com as lápides das listas
+    private void compactar() {
+        int[] chavesVivas = new int[vivos];
+        String[] nomesVivos = new String[vivos];
+        int n = 0;
+        for (int i = 0; i < proximaPosicao; i++) {
+            if (chaves[i] == SEM_CHAVE) continue;
+            chavesVivas[n] = chaves[i];
+            nomesVivos[n++] = nomeNormalizado(i);
+        }
+        limpar();
+        // O nome já normalizado normaliza para ele mesmo
+        for (int i = 0; i < n; i++) adicionar(chavesVivas[i], nomesVivos[i]);
+    }
+
+    // Lista ordenada de posições de um trigrama
+    private static final class Postagem {
+        int[] posicoes = new int[4];
+        int tamanho;
+
+        void acrescentar(int posicao) {
+            if (tamanho == posicoes.length) posicoes = Arrays.copyOf(posicoes, tamanho * 2);
+            posicoes[tamanho++] = posicao;
+        }
+
+        // Índice do valor a partir de "inicio"; se ausente, -(ponto de inserção) - 1
+        int buscarAPartirDe(int valor, int inicio) {
+            int passo = 1;
+            int fim = inicio;
+            while (fim < tamanho && posicoes[fim] < valor) {
+                inicio = fim;
+                fim += passo;
+                passo <<= 1;
+            }
+            return Arrays.binarySearch(posicoes, inicio, Math.min(fim + 1, tamanho), valor);
+        }
+    }
+}
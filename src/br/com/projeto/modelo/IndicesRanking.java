@@ -0,0 +1,84 @@
+package br.com.projeto.modelo;
+
+// Índices ordenados por massa e por distância, para a coleção inteira e por tipo de corpo.
+// Atualizados pelo gerenciador a cada inclusão/remoção, atendem aos rankings sem reordenar tudo.
+class IndicesRanking {
+
+    private final IndiceOrdenado massa = new IndiceOrdenado();
+    private final IndiceOrdenado massaPlanetas = new IndiceOrdenado();
+    private final IndiceOrdenado massaEstrelas = new IndiceOrdenado();
+
+    private final IndiceOrdenado distancia = new IndiceOrdenado();
+    private final IndiceOrdenado distanciaPlanetas = new IndiceOrdenado();
+    private final IndiceOrdenado distanciaEstrelas = new IndiceOrdenado();
+
+    // Valores lidos das colunas do ArmazenamentoColunar; a chave é a do armazenamento e o id desempata
+    void adicionar(int chave, byte tipo, double valorMassa, long valorDistancia, int id) {
+        massa.adicionar(chave, valorMassa, id);
+        distancia.adicionar(chave, valorDistancia, id);
+        if (tipo == ArmazenamentoColunar.TIPO_PLANETA) {
+            massaPlanetas.adicionar(chave, valorMassa, id);
+            distanciaPlanetas.adicionar(chave, valorDistancia, id);
+        } else {
+            massaEstrelas.adicionar(chave, valorMassa, id);
+            distanciaEstrelas.adicionar(chave, valorDistancia, id);
+        }
+    }
+
+    void definirId(int chave, byte tipo, int id) {
+        massa.definirId(chave, id);
+        distancia.definirId(chave, id);
+        if (tipo == ArmazenamentoColunar.TIPO_PLANETA) {
+            massaPlanetas.definirId(chave, id);
+            distanciaPlanetas.definirId(chave, id);
+        } else {
+            massaEstrelas.definirId(chave, id);
+            distanciaEstrelas.definirId(chave, id);
+        }
+    }
+
+    void remover(int chave, byte tipo) {
+        massa.remover(chave);
+        distancia.remover(chave);
+        if (tipo == ArmazenamentoColunar.TIPO_PLANETA) {
+            massaPlanetas.remover(chave);
+            distanciaPlanetas.remover(chave);
+        } else {
+            massaEstrelas.remover(chave);
+            distanciaEstrelas.remover(chave);
+        }
+    }
+
+    void limpar() {
+        massa.limpar();
+        massaPlanetas.limpar();
+        massaEstrelas.limpar();
+        distancia.limpar();
+        distanciaPlanetas.limpar();
+        distanciaEstrelas.limpar();
+    }
+
+    IndiceOrdenado porMassa() {
+        return massa;
+    }
+
+    IndiceOrdenado porMassaPlanetas() {
+        return massaPlanetas;
+    }
+
+    IndiceOrdenado porMassaEstrelas() {
+        return massaEstrelas;
+    }
+
+    IndiceOrdenado porDistancia() {
+        return distancia;
+    }
+
+    IndiceOrdenado porDistanciaPlanetas() {
+        return distanciaPlanetas;
+    }
+
+    IndiceOrdenado porDistanciaEstrelas() {
+        return distanciaEstrelas;
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.projeto.modelo;
+
+import java.util.Arrays;
+
+// Mapa int -> int com endereçamento aberto (sondagem linear), sem objetos por entrada.
+// Usado pelos índices da coleção, onde um HashMap<Integer, ...> custaria um nó e dois Integer por corpo.
+final class MapaInteiros {
+
+    private static final float CARGA_MAXIMA = 0.6f;
+
+    private int[] chaves;
+    private int[] valores;
+    private boolean[] ocupados;
+    private int quantidade;
+    private int limite;
+
+    MapaInteiros() {
+        alocar(16);
+    }
+
+    int tamanho() {
+        return quantidade;
+    }
+
+    // Valor da chave, ou "ausente" se ela não está no mapa
+    int obter(int chave, int ausente) {
+        int mascara = chaves.length - 1;
+        for (int i = espalhar(chave) & mascara; ocupados[i]; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) return valores[i];
+        }
+        return ausente;
+    }
+
+    void definir(int chave, int valor) {
+        int mascara = chaves.length - 1;
+        int i = espalhar(chave) & mascara;
+        for (; ocupados[i]; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                valores[i] = valor;
+                return;
+            }
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        ocupados[i] = true;
+        if (++quantidade > limite) redimensionar(chaves.length * 2);
+    }
+
+    // Remove e devolve o valor da chave, ou "ausente" se ela não estava no mapa
+    int remover(int chave, int ausente) {
+        int mascara = chaves.length - 1;
+        int i = espalhar(chave) & mascara;
+        while (ocupados[i] && chaves[i] != chave) i = (i + 1) & mascara;
+        if (!ocupados[i]) return ausente;
+        int removido = valores[i];
+
+        // Desloca para trás as entradas seguintes do mesmo agrupamento, em vez de deixar marcas de remoção
+        int vazio = i;
+        for (int j = (i + 1) & mascara; ocupados[j]; j = (j + 1) & mascara) {
+            int ideal = espalhar(chaves[j]) & mascara;
+            // A entrada em j pode ocupar o buraco se sua posição ideal não está entre o buraco e j
+            boolean podeMover = (vazio <= j) ? (ideal <= vazio || ideal > j) : (ideal <= vazio && ideal > j);
+            if (podeMover) {
+                chaves[vazio] = chaves[j];
+                valores[vazio] = valores[j];
+                vazio = j;
+            }
+        }
+        ocupados[vazio] = false;
+        quantidade--;
+        return removido;
+    }
+
+    void limpar() {
+        Arrays.fill(ocupados, false);
+        quantidade = 0;
+    }
+
+    private void redimensionar(int capacidade) {
+        int[] antigasChaves = chaves;
+        int[] antigosValores = valores;
+        boolean[] antigosOcupados = ocupados;
+        alocar(capacidade);
+        int mascara = capacidade - 1;
+        for (int k = 0; k < antigasChaves.length; k++) {
+            if (!antigosOcupados[k]) continue;
+            int i = espalhar(antigasChaves[k]) & mascara;
+            while (ocupados[i]) i = (i + 1) & mascara;
+            chaves[i] = antigasChaves[k];
+            valores[i] = antigosValores[k];
+            ocupados[i] = true;
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        valores = new int[capacidade];
+        ocupados = new boolean[capacidade];
+        limite = (int) (capacidade * CARGA_MAXIMA);
+    }
+
+    // Ids e hashes de nomes costumam ser sequenciais ou concentrados: mistura os bits antes da máscara
+    private static int espalhar(int chave) {
+        int h = chave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.projeto.modelo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Calcula todas as estatísticas da coleção numa única passada.
+// A lista é dividida em blocos processados em paralelo (fork/join); cada bloco produz um
+// resultado parcial e os parciais são combinados na ordem original, então a lista de
+// habitáveis sai na mesma ordem da entrada.
+// Somas usam o algoritmo de Kahan-Neumaier e a variância o método de Welford/Chan, porque
+// valores na casa de 1e30 perdem precisão rapidamente numa soma ingênua.
+public final class MotorEstatisticas {
+
+    // Abaixo disso não compensa dividir o trabalho entre threads
+    private static final int TAMANHO_MINIMO_BLOCO = 8192;
+
+    private MotorEstatisticas() {
+    }
+
+    // --- Resultado ---
+
+    public record Medidas(double soma, double media, double minimo, double maximo, double variancia) {
+
+        public double getDesvioPadrao() {
+            return Math.sqrt(variancia);
+        }
+    }
+
+    public record Estatisticas(long total, long estrelas, long planetas,
+                               Medidas massa, Medidas distancia, List<String> nomesHabitaveis) {
+
+        public int getQuantidadeHabitaveis() {
+            return nomesHabitaveis.size();
+        }
+    }
+
+    // --- Entrada ---
+
+    // Listas vindas do gerenciador (listarTodos) são lidas direto nas colunas
+    public static Estatisticas calcular(List<? extends CorpoCeleste> corpos) {
+        if (corpos instanceof ArmazenamentoColunar.Fotografia fotografia) return calcular(fotografia, null);
+        List<? extends CorpoCeleste> lista = (corpos instanceof RandomAccess) ? corpos : new ArrayList<>(corpos);
+        Parcial parcial = executar(lista.size(), (inicio, fim) -> {
+            Parcial p = new Parcial();
+            for (int i = inicio; i < fim; i++) {
+                CorpoCeleste c = lista.get(i);
+                if (c == null) continue;
+                boolean planeta = c instanceof Planeta;
+                boolean habitavel = planeta && ((Planeta) c).isHabitavel();
+                p.acumular(planeta, c instanceof Estrela, c.getMassaKg(), c.getDistanciaEmAnosLuz(),
+                        habitavel ? c.getNome() : null);
+            }
+            return p;
+        });
+        return parcial.resultado();
+    }
+
+    // Só as posições informadas da lista (ex.: a seleção de uma tela apoiada em listarTodos())
+    public static Estatisticas calcular(List<? extends CorpoCeleste> corpos, int[] posicoes) {
+        if (corpos instanceof ArmazenamentoColunar.Fotografia fotografia) return calcular(fotografia, posicoes);
+        List<CorpoCeleste> selecionados = new ArrayList<>(posicoes.length);
+        for (int posicao : posicoes) selecionados.add(corpos.get(posicao));
+        return calcular(selecionados);
+    }
+
+    // Nas colunas da fotografia (linhas null = todas): nenhum objeto por corpo, só os nomes dos
+    // habitáveis são decodificados da arena
+    static Estatisticas calcular(ArmazenamentoColunar.Fotografia fotografia, int[] linhas) {
+        int total = (linhas == null) ? fotografia.size() : linhas.length;
+        Parcial parcial = executar(total, (inicio, fim) -> {
+            Parcial p = new Parcial();
+            for (int i = inicio; i < fim; i++) {
+                int linha = (linhas == null) ? i : linhas[i];
+                boolean planeta = fotografia.tipo(linha) == ArmazenamentoColunar.TIPO_PLANETA;
+                boolean habitavel = planeta && fotografia.habitavel(linha);
+                p.acumular(planeta, !planeta, fotografia.massa(linha), fotografia.distancia(linha),
+                        habitavel ? fotografia.nome(linha) : null);
+            }
+            return p;
+        });
+        return parcial.resultado();
+    }
+
+    // --- Execução fork/join ---
+
+    @FunctionalInterface
+    private interface Bloco {
+        Parcial processar(int inicio, int fim);
+    }
+
+    private static Parcial executar(int tamanho, Bloco bloco) {
+        if (tamanho <= TAMANHO_MINIMO_BLOCO) return bloco.processar(0, tamanho);
+        return ForkJoinPool.commonPool().invoke(new Tarefa(bloco, 0, tamanho));
+    }
+
+    private static final class Tarefa extends RecursiveTask<Parcial> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Bloco bloco;
+        private final int inicio;
+        private final int fim;
+
+        Tarefa(Bloco bloco, int inicio, int fim) {
+            this.bloco = bloco;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected Parcial compute() {
+            if (fim - inicio <= TAMANHO_MINIMO_BLOCO) return bloco.processar(inicio, fim);
+
+            int meio = (inicio + fim) >>> 1;
+            Tarefa esquerda = new Tarefa(bloco, inicio, meio);
+            esquerda.fork();
+            Parcial direita = new Tarefa(bloco, meio, fim).compute();
+            return esquerda.join().combinar(direita);
+        }
+    }
+
+    // --- Resultado parcial combinável ---
+
+    private static final class Parcial {
+        long total, estrelas, planetas;
+        final Acumulador massa = new Acumulador();
+        final Acumulador distancia = new Acumulador();
+        final List<String> habitaveis = new ArrayList<>();
+
+        void acumular(boolean planeta, boolean estrela, double valorMassa, long valorDistancia, String nomeHabitavel) {
+            total++;
+            if (planeta) planetas++;
+            if (estrela) estrelas++;
+            massa.acumular(valorMassa);
+            distancia.acumular(valorDistancia);
+            if (nomeHabitavel != null) habitaveis.add(nomeHabitavel);
+        }
+
+        // "outro" vem depois deste na ordem da lista
+        Parcial combinar(Parcial outro) {
+            total += outro.total;
+            estrelas += outro.estrelas;
+            planetas += outro.planetas;
+            massa.combinar(outro.massa);
+            distancia.combinar(outro.distancia);
+            habitaveis.addAll(outro.habitaveis);
+            return this;
+        }
+
+        Estatisticas resultado() {
+            return new Estatisticas(total, estrelas, planetas, massa.medidas(), distancia.medidas(),
+                    List.copyOf(habitaveis));
+        }
+    }
+
+    // Soma compensada + média/variância incrementais (Welford) + mínimo/máximo
+    private static final class Acumulador {
+        long n;
+        double soma, compensacao;
+        double media, m2;
+        double minimo = Double.POSITIVE_INFINITY;
+        double maximo = Double.NEGATIVE_INFINITY;
+
+        void acumular(double valor) {
+            n++;
+            somar(valor);
+            double delta = valor - media;
+            media += delta / n;
+            m2 += delta * (valor - media);
+            if (valor < minimo) minimo = valor;
+            if (valor > maximo) maximo = valor;
+        }
+
+        private void somar(double valor) {
+            double t = soma + valor;
+            if (Math.abs(soma) >= Math.abs(valor)) {
+                compensacao += (soma - t) + valor;
+            } else {
+                compensacao += (valor - t) + soma;
+            }
+            soma = t;
+        }
+
+        void combinar(Acumulador outro) {
+            if (outro.n == 0) return;
+            if (n == 0) {
+                n = outro.n;
+                soma = outro.soma;
+                compensacao = outro.compensacao;
+                media = outro.media;
+                m2 = outro.m2;
+                minimo = outro.minimo;
+                maximo = outro.maximo;
+                return;
+            }
+            long total = n + outro.n;
+            double delta = outro.media - media;
+            media += delta * outro.n / total;
+            m2 += outro.m2 + delta * delta * ((double) n * outro.n / total);
+            somar(outro.soma);
+            compensacao += outro.compensacao;
+            n = total;
+            minimo = Math.min(minimo, outro.minimo);
+            maximo = Math.max(maximo, outro.maximo);
+        }
+
+        Medidas medidas() {
+            if (n == 0) return new Medidas(0.0, 0.0, 0.0, 0.0, 0.0);
+            double total = soma + compensacao;
+            return new Medidas(total, total / n, minimo, maximo, m2 / n);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package br.com.projeto.modelo;
+
+import br.com.projeto.persistencia.CorpoCelesteDAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.IntPredicate;
+
+// Escolhe como executar uma Consulta. Cada fonte possível de candidatos (índices ordenados de massa e
+// distância, conjunto de habitáveis, índice de trigramas, varredura da coleção ou SQL no banco) recebe
+// um custo estimado a partir de contagens exatas dos índices (O(log n)) e, onde não há índice, de
+// seletividades simples; os predicados são tratados como independentes. Vence a fonte mais barata.
+//
+// Unidade de custo: examinar um corpo já em memória. Fontes que entregam na ordem pedida dispensam a
+// ordenação e, com limite, param assim que ele é atingido.
+// O banco é viável sempre que não há alterações esperando na fila de escrita; a memória, sempre que a
+// coleção está completa (incompleta, ex.: carga cancelada, ela só fica como reserva de um banco
+// atrasado). Com as duas viáveis decide o custo: a ida ao servidor tem um custo fixo alto, mais as
+// linhas que ele lê (todas, sem faixa que use índice) e as que devolve.
+class PlanejadorConsultas {
+
+    private static final double CUSTO_NO_INDICE = 2;
+    private static final double CUSTO_VERIFICAR_NOME = 4;
+    private static final double CUSTO_NOME_NORMALIZADO = 1;
+    private static final double CUSTO_IDA_BANCO = 50_000;
+    private static final double CUSTO_LINHA_BANCO = 8;
+    // Linha lida (e descartada) pelo servidor: sem criar objeto nem atravessar a rede
+    private static final double CUSTO_LINHA_LIDA_BANCO = 1;
+    // Sem estatística de tipo espectral: fração assumida das estrelas
+    private static final double SELETIVIDADE_ESPECTRAL = 0.1;
+
+    private final ArmazenamentoColunar armazenamento;
+    private final IndicesRanking indices;
+    private final IndiceTrigramas trigramas;
+    private final AgregadosColecao agregados;
+    private final CorpoCelesteDAO dao;
+
+    PlanejadorConsultas(ArmazenamentoColunar armazenamento, IndicesRanking indices, IndiceTrigramas trigramas,
+                        AgregadosColecao agregados, CorpoCelesteDAO dao) {
+        this.armazenamento = armazenamento;
+        this.indices = indices;
+        this.trigramas = trigramas;
+        this.agregados = agregados;
+        this.dao = dao;
+    }
+
+    // --- Planejamento ---
+
+    PlanoConsulta planejar(Consulta consulta, boolean memoriaCompleta, boolean bancoEmDia) {
+        long n = armazenamento.tamanho();
+        long populacao = switch (consulta.tipo()) {
+            case TODOS -> n;
+            case PLANETA -> agregados.planetas();
+            case ESTRELA -> agregados.estrelas();
+        };
+        IndiceOrdenado indiceMassa = indiceMassa(consulta.tipo());
+        IndiceOrdenado indiceDistancia = indiceDistancia(consulta.tipo());
+
+        long naFaixaMassa = consulta.limitaMassa() ? indiceMassa.contar(consulta.massaMin(), consulta.massaMax()) : populacao;
+        long naFaixaDistancia = consulta.limitaDistancia()
+                ? indiceDistancia.contar(consulta.distanciaMin(), consulta.distanciaMax()) : populacao;
+        long comTrecho = consulta.temTrecho() ? trigramas.estimar(consulta.trecho()) : n;
+
+        // Seletividades relativas à população do tipo pedido
+        double seletividade = fracao(naFaixaMassa, populacao) * fracao(naFaixaDistancia, populacao);
+        if (consulta.habitavel() != null) {
+            long habitaveis = agregados.quantidadeHabitaveis();
+            long alvo = consulta.habitavel() ? habitaveis : agregados.planetas() - habitaveis;
+            seletividade *= (consulta.tipo() == Consulta.Tipo.ESTRELA) ? 0 : fracao(alvo, populacao);
+        }
+        if (consulta.tipoEspectral() != null) {
+            seletividade *= (consulta.tipo() == Consulta.Tipo.PLANETA) ? 0
+                    : SELETIVIDADE_ESPECTRAL * fracao(agregados.estrelas(), populacao);
+        }
+        double semNome = populacao * seletividade;
+        double linhas = semNome * fracao(comTrecho, n);
+
+        // Memória incompleta só responde se o banco também não pode
+        String motivoMemoria = (!memoriaCompleta && bancoEmDia) ? "coleção em memória incompleta" : null;
+        double custoNome = consulta.temTrecho() ? CUSTO_VERIFICAR_NOME : 0;
+        String detalheTipo = switch (consulta.tipo()) {
+            case TODOS -> "";
+            case PLANETA -> "planetas";
+            case ESTRELA -> "estrelas";
+        };
+
+        List<PlanoConsulta.Alternativa> alternativas = new ArrayList<>();
+        if (consulta.limitaMassa() || consulta.ordenacao() == Consulta.Ordenacao.MASSA) {
+            // Massas NaN ficam fora das faixas do índice: sem faixa, o índice só serve se não houver nenhuma
+            boolean semNaN = indiceMassa.contar(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY) == indiceMassa.tamanho();
+            String motivo = (consulta.limitaMassa() || semNaN) ? motivoMemoria : "há massas NaN fora do índice";
+            alternativas.add(avaliar(consulta, PlanoConsulta.Estrategia.INDICE_MASSA, detalheTipo, naFaixaMassa,
+                    CUSTO_NO_INDICE + custoNome, consulta.ordenacao() == Consulta.Ordenacao.MASSA, true, linhas, motivo));
+        }
+        if (consulta.limitaDistancia() || consulta.ordenacao() == Consulta.Ordenacao.DISTANCIA) {
+            alternativas.add(avaliar(consulta, PlanoConsulta.Estrategia.INDICE_DISTANCIA, detalheTipo, naFaixaDistancia,
+                    CUSTO_NO_INDICE + custoNome, consulta.ordenacao() == Consulta.Ordenacao.DISTANCIA, true, linhas,
+                    motivoMemoria));
+        }
+        if (Boolean.TRUE.equals(consulta.habitavel())) {
+            alternativas.add(avaliar(consulta, PlanoConsulta.Estrategia.INDICE_HABITAVEIS, "",
+                    agregados.quantidadeHabitaveis(), 1 + custoNome, false, true, linhas, motivoMemoria));
+        }
+        if (consulta.temTrecho()) {
+            // A busca no índice devolve todos os candidatos de uma vez: o limite não a encurta
+            alternativas.add(avaliar(consulta, PlanoConsulta.Estrategia.INDICE_TRIGRAMAS, "", comTrecho,
+                    1 + CUSTO_NOME_NORMALIZADO, false, false, linhas, motivoMemoria));
+        }
+        alternativas.add(avaliar(consulta, PlanoConsulta.Estrategia.VARREDURA, "", n, 1 + custoNome, false, true,
+                linhas, motivoMemoria));
+        alternativas.add(avaliarBanco(consulta, n, semNome, linhas, bancoEmDia));
+
+        PlanoConsulta.Alternativa escolhida = null;
+        for (PlanoConsulta.Alternativa alternativa : alternativas) {
+            if (alternativa.isViavel() && (escolhida == null || alternativa.custo() < escolhida.custo())) {
+                escolhida = alternativa;
+            }
+        }
+        return new PlanoConsulta(consulta, escolhida, Math.round(linhas), List.copyOf(alternativas));
+    }
+
+    private static PlanoConsulta.Alternativa avaliar(Consulta consulta, PlanoConsulta.Estrategia estrategia, String detalhe,
+                                                     long candidatos, double custoPorCandidato, boolean ordenada,
+                                                     boolean interrompivel, double linhas, String motivoDescarte) {
+        Comparator<CorpoCeleste> comparador = consulta.comparador();
+        double examinados = candidatos;
+        // Com limite e sem ordenação pendente, a leitura para após "limite" aceitos
+        if (interrompivel && consulta.limite() > 0 && (comparador == null || ordenada) && linhas > 0) {
+            double aceitos = Math.min(1.0, linhas / Math.max(1, candidatos));
+            examinados = Math.min(candidatos, Math.ceil(consulta.limite() / aceitos));
+        }
+        double custo = examinados * custoPorCandidato;
+        if (comparador != null && !ordenada) custo += custoOrdenacao(linhas);
+        return new PlanoConsulta.Alternativa(estrategia, detalhe, Math.round(examinados), custo, ordenada, motivoDescarte);
+    }
+
+    private static PlanoConsulta.Alternativa avaliarBanco(Consulta consulta, long n, double semNome, double linhas,
+                                                          boolean bancoEmDia) {
+        // O trecho do nome é conferido em memória: o servidor devolve as linhas antes desse filtro
+        double devolvidas = semNome;
+        boolean limiteNoServidor = consulta.limite() > 0 && !consulta.temTrecho()
+                && consulta.ordenacao() != Consulta.Ordenacao.NOME;
+        if (limiteNoServidor) devolvidas = Math.min(devolvidas, consulta.limite());
+        boolean ordenada = consulta.ordenacao() == Consulta.Ordenacao.MASSA
+                || consulta.ordenacao() == Consulta.Ordenacao.DISTANCIA;
+
+        // Faixa de massa ou distância (ou a ordem delas com limite) vai pelos índices da tabela; fora
+        // disso o servidor lê a tabela inteira
+        boolean usaIndice = consulta.limitaMassa() || consulta.limitaDistancia() || (ordenada && limiteNoServidor);
+        double lidas = usaIndice ? devolvidas : n;
+
+        double custo = CUSTO_IDA_BANCO + lidas * CUSTO_LINHA_LIDA_BANCO + devolvidas * CUSTO_LINHA_BANCO;
+        if (consulta.comparador() != null && !ordenada) custo += custoOrdenacao(linhas);
+        String motivo = bancoEmDia ? null : "alterações ainda não gravadas no banco";
+        return new PlanoConsulta.Alternativa(PlanoConsulta.Estrategia.BANCO, "", Math.round(devolvidas), custo,
+                ordenada, motivo);
+    }
+
+    private static double custoOrdenacao(double linhas) {
+        return linhas * (Math.log(linhas + 1) / Math.log(2));
+    }
+
+    private static double fracao(long parte, long todo) {
+        return (todo <= 0) ? 0 : Math.min(1.0, (double) parte / todo);
+    }
+
+    // --- Preparação ---
+
+    // Chamado pelo gerenciador com a trava de leitura dos índices, que também impede alterações no
+    // armazenamento: a fotografia e as chaves lidas dos índices são do mesmo instante. As chaves viram
+    // linhas da fotografia aqui; a execução depois só lê a fotografia, de qualquer thread.
+    ExecucaoConsulta preparar(PlanoConsulta plano) {
+        Consulta consulta = plano.consulta();
+        PlanoConsulta.Alternativa escolhida = plano.escolhida();
+        ArmazenamentoColunar.Fotografia fotografia = armazenamento.fotografia();
+        return switch (escolhida.estrategia()) {
+            case INDICE_MASSA -> {
+                IndiceOrdenado indice = indiceMassa(consulta.tipo());
+                boolean decrescente = escolhida.ordenada() && !consulta.crescente();
+                yield percorrer(plano, fotografia, decrescente
+                        ? indice.intervaloDecrescente(consulta.massaMin(), consulta.massaMax())
+                        : indice.intervalo(consulta.massaMin(), consulta.massaMax()));
+            }
+            case INDICE_DISTANCIA -> {
+                IndiceOrdenado indice = indiceDistancia(consulta.tipo());
+                boolean decrescente = escolhida.ordenada() && !consulta.crescente();
+                yield percorrer(plano, fotografia, decrescente
+                        ? indice.intervaloDecrescente(consulta.distanciaMin(), consulta.distanciaMax())
+                        : indice.intervalo(consulta.distanciaMin(), consulta.distanciaMax()));
+            }
+            // Bits de habitável da fotografia: O(n / 64 + k)
+            case INDICE_HABITAVEIS -> ExecucaoConsulta.naMemoria(plano, fotografia, fotografia.linhasHabitaveis(),
+                    consulta.aceitaLinha(fotografia), false);
+            case INDICE_TRIGRAMAS -> ExecucaoConsulta.naMemoria(plano, fotografia, linhas(trigramas.buscar(consulta.trecho())),
+                    consulta.comTrecho("").aceitaLinha(fotografia), false);
+            // Fotografia imutável em O(1): a varredura das colunas roda fora da EDT sem copiar a coleção
+            case VARREDURA -> ExecucaoConsulta.naMemoria(plano, fotografia, null, consulta.aceitaLinha(fotografia), false);
+            case BANCO -> ExecucaoConsulta.noBanco(plano, () -> {
+                List<CorpoCeleste> linhas = new ArrayList<>();
+                dao.consultar(consulta, linhas::add);
+                return linhas;
+            }, consulta::aceita, escolhida.ordenada(), fotografia);
+        };
+    }
+
+    // Percorre a faixa do índice; com limite e sem ordenação pendente, já filtra nas colunas e para ao atingi-lo
+    private ExecucaoConsulta percorrer(PlanoConsulta plano, ArmazenamentoColunar.Fotografia fotografia,
+                                       PrimitiveIterator.OfInt faixa) {
+        Consulta consulta = plano.consulta();
+        boolean ordenada = plano.escolhida().ordenada();
+        boolean pararNoLimite = consulta.limite() > 0 && (consulta.comparador() == null || ordenada);
+        IntPredicate aceita = consulta.aceitaLinha(fotografia);
+        int[] candidatas = new int[16];
+        int quantidade = 0;
+        while (faixa.hasNext()) {
+            int linha = armazenamento.linha(faixa.nextInt());
+            if (pararNoLimite && !aceita.test(linha)) continue;
+            if (quantidade == candidatas.length) candidatas = Arrays.copyOf(candidatas, quantidade * 2);
+            candidatas[quantidade++] = linha;
+            if (pararNoLimite && quantidade == consulta.limite()) break;
+        }
+        return ExecucaoConsulta.naMemoria(plano, fotografia, Arrays.copyOf(candidatas, quantidade),
+                pararNoLimite ? null : aceita, ordenada);
+    }
+
+    // Chaves (na ordem em que vieram) -> linhas atuais do armazenamento
+    private int[] linhas(int[] chaves) {
+        int[] linhas = new int[chaves.length];
+        for (int i = 0; i < chaves.length; i++) linhas[i] = armazenamento.linha(chaves[i]);
+        return linhas;
+    }
+
+    private IndiceOrdenado indiceMassa(Consulta.Tipo tipo) {
+        return switch (tipo) {
+            case TODOS -> indices.porMassa();
+            case PLANETA -> indices.porMassaPlanetas();
+            case ESTRELA -> indices.porMassaEstrelas();
+        };
+    }
+
+    private IndiceOrdenado indiceDistancia(Consulta.Tipo tipo) {
+        return switch (tipo) {
+            case TODOS -> indices.porDistancia();
+            case PLANETA -> indices.porDistanciaPlanetas();
+            case ESTRELA -> indices.porDistanciaEstrelas();
+        };
+    }
+}
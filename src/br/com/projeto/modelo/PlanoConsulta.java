@@ -0,0 +1,60 @@
+package br.com.projeto.modelo;
+
+import java.util.List;
+
+// Resultado do planejamento de uma Consulta: a estratégia escolhida e as alternativas avaliadas,
+// com as estimativas usadas na escolha. explicar() devolve o "explain" em texto.
+public record PlanoConsulta(Consulta consulta, Alternativa escolhida, long linhasEstimadas,
+                            List<Alternativa> alternativas) {
+
+    public enum Estrategia {
+        INDICE_MASSA("índice ordenado de massa"),
+        INDICE_DISTANCIA("índice ordenado de distância"),
+        INDICE_HABITAVEIS("bits de habitáveis"),
+        INDICE_TRIGRAMAS("índice de trigramas do nome"),
+        VARREDURA("varredura da coleção"),
+        BANCO("consulta SQL no banco");
+
+        private final String descricao;
+
+        Estrategia(String descricao) {
+            this.descricao = descricao;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+    }
+
+    // Uma forma de executar a consulta. "ordenada" indica que a fonte já entrega na ordem pedida;
+    // motivoDescarte != null quando a alternativa não pode ser usada (ex.: banco fora de sincronia)
+    public record Alternativa(Estrategia estrategia, String detalhe, long candidatos, double custo,
+                              boolean ordenada, String motivoDescarte) {
+
+        public boolean isViavel() {
+            return motivoDescarte == null;
+        }
+    }
+
+    public Estrategia estrategia() {
+        return escolhida.estrategia();
+    }
+
+    public String explicar() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Consulta: ").append(consulta.descrever()).append('\n');
+        sb.append(String.format("Plano: %s (~%,d linhas estimadas)%n", descrever(escolhida), linhasEstimadas));
+        sb.append("Alternativas:");
+        for (Alternativa alternativa : alternativas) {
+            sb.append('\n').append(alternativa == escolhida ? "  * " : "  - ").append(descrever(alternativa));
+            if (!alternativa.isViavel()) sb.append(" [descartada: ").append(alternativa.motivoDescarte()).append(']');
+        }
+        return sb.toString();
+    }
+
+    private static String descrever(Alternativa a) {
+        String nome = a.estrategia().getDescricao() + (a.detalhe().isEmpty() ? "" : " (" + a.detalhe() + ")");
+        return String.format("%s: ~%,d candidatos, custo %,.0f%s", nome, a.candidatos(), a.custo(),
+                a.ordenada() ? ", já ordenada" : "");
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.projeto.modelo;
+
+import java.util.List;
+
+// Resumo geral da coleção, mantido incrementalmente pelo gerenciador.
+// A lista de habitáveis é uma cópia somente leitura, na ordem da coleção.
+public record ResumoColecao(long total, long estrelas, long planetas, double somaMassa,
+                            List<Planeta> habitaveis) {
+
+    public double getMediaMassa() {
+        return total == 0 ? 0.0 : somaMassa / total;
+    }
+
+    public int getQuantidadeHabitaveis() {
+        return habitaveis.size();
+    }
+}
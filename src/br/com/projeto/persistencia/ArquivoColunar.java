@@ -0,0 +1,601 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.CorpoCeleste;
+import br.com.projeto.modelo.Estrela;
+import br.com.projeto.modelo.Planeta;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Formato colunar comprimido para entregar o catálogo a rotinas de análise.
+// Arquivo: "ASTROCOL" | grupos de linhas | rodapé | tamanho do rodapé (int) | "ASTROCOL"
+// Cada grupo guarda as colunas em sequência, cada uma com sua codificação:
+//  - id e distância: delta entre linhas consecutivas, em varint zigzag
+//  - tipo e habitável: 1 bit por linha
+//  - massa: os 8 bytes do double (valor exato)
+//  - nome: tamanho em varint + UTF-8
+//  - tipo espectral: dicionário do grupo + código varint por linha (0 = sem tipo)
+// e é comprimida com Deflate quando isso reduz o tamanho.
+// O rodapé tem, por grupo, posição, quantidade de linhas e mínimo/máximo de massa e distância,
+// para o leitor pular grupos inteiros que não atendem a um filtro por faixa.
+public final class ArquivoColunar {
+
+    public static final String EXTENSAO = ".astrocol";
+
+    private static final byte[] ASSINATURA = "ASTROCOL".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSAO_FORMATO = 1;
+    private static final int LINHAS_POR_GRUPO_PADRAO = 65_536;
+    private static final byte SEM_COMPRESSAO = 0;
+    private static final byte DEFLATE = 1;
+
+    private ArquivoColunar() {
+    }
+
+    public record EstatisticasGrupo(long posicao, int tamanhoBytes, int linhas,
+                                    double massaMinima, double massaMaxima,
+                                    long distanciaMinima, long distanciaMaxima) {
+    }
+
+    // Faixas fechadas; use Filtro.TODOS para ler tudo
+    public record Filtro(double massaMinima, double massaMaxima, long distanciaMinima, long distanciaMaxima) {
+
+        public static final Filtro TODOS = new Filtro(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Long.MIN_VALUE, Long.MAX_VALUE);
+
+        boolean podeConter(EstatisticasGrupo grupo) {
+            return grupo.massaMaxima() >= massaMinima && grupo.massaMinima() <= massaMaxima
+                    && grupo.distanciaMaxima() >= distanciaMinima && grupo.distanciaMinima() <= distanciaMaxima;
+        }
+
+        boolean aceita(double massa, long distancia) {
+            return massa >= massaMinima && massa <= massaMaxima
+                    && distancia >= distanciaMinima && distancia <= distanciaMaxima;
+        }
+    }
+
+    public record ResultadoLeitura(long linhasExaminadas, long linhasAceitas, int gruposLidos, int gruposPulados) {
+    }
+
+    // --- Escrita ---
+
+    public static void gravar(Path arquivo, Iterable<? extends CorpoCeleste> corpos) throws IOException {
+        try (Escritor escritor = new Escritor(arquivo)) {
+            for (CorpoCeleste corpo : corpos) escritor.adicionar(corpo);
+        }
+    }
+
+    // Escrita em fluxo: as linhas são acumuladas até completar um grupo, que então é codificado e gravado.
+    // O arquivo só aparece no destino depois de fechar o escritor sem erro.
+    public static class Escritor implements AutoCloseable {
+
+        private final Path destino;
+        private final Path temporario;
+        private final FileChannel canal;
+        private final int linhasPorGrupo;
+        private final List<EstatisticasGrupo> grupos = new ArrayList<>();
+        private final Deflater compressor = new Deflater(Deflater.BEST_SPEED);
+
+        private int linhas;
+        private final int[] ids;
+        private final boolean[] estrelas;
+        private final String[] nomes;
+        private final double[] massas;
+        private final long[] distancias;
+        private final boolean[] habitaveis;
+        private final String[] espectrais;
+        private boolean fechado;
+
+        public Escritor(Path destino) throws IOException {
+            this(destino, LINHAS_POR_GRUPO_PADRAO);
+        }
+
+        public Escritor(Path destino, int linhasPorGrupo) throws IOException {
+            if (linhasPorGrupo <= 0) throw new IllegalArgumentException("Tamanho de grupo inválido: " + linhasPorGrupo);
+            this.destino = destino;
+            this.temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+            this.linhasPorGrupo = linhasPorGrupo;
+            this.canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            ids = new int[linhasPorGrupo];
+            estrelas = new boolean[linhasPorGrupo];
+            nomes = new String[linhasPorGrupo];
+            massas = new double[linhasPorGrupo];
+            distancias = new long[linhasPorGrupo];
+            habitaveis = new boolean[linhasPorGrupo];
+            espectrais = new String[linhasPorGrupo];
+            escrever(ByteBuffer.wrap(ASSINATURA));
+        }
+
+        public void adicionar(CorpoCeleste corpo) throws IOException {
+            if (corpo == null) return;
+            ids[linhas] = corpo.getId();
+            estrelas[linhas] = corpo instanceof Estrela;
+            nomes[linhas] = corpo.getNome();
+            massas[linhas] = corpo.getMassaKg();
+            distancias[linhas] = corpo.getDistanciaEmAnosLuz();
+            habitaveis[linhas] = corpo instanceof Planeta p && p.isHabitavel();
+            espectrais[linhas] = (corpo instanceof Estrela e) ? e.getTipoEspectral() : null;
+            if (++linhas == linhasPorGrupo) gravarGrupo();
+        }
+
+        private void gravarGrupo() throws IOException {
+            if (linhas == 0) return;
+            long posicao = canal.position();
+            ByteArrayOutputStream grupo = new ByteArrayOutputStream(linhas * 24);
+
+            Saida coluna = new Saida(linhas * 5);
+            long anterior = 0;
+            for (int i = 0; i < linhas; i++) {
+                coluna.varLongZigZag((long) ids[i] - anterior);
+                anterior = ids[i];
+            }
+            gravarColuna(grupo, coluna);
+
+            gravarColuna(grupo, bits(estrelas, linhas));
+
+            coluna = new Saida(linhas * 16);
+            for (int i = 0; i < linhas; i++) {
+                byte[] bytes = (nomes[i] == null) ? new byte[0] : nomes[i].getBytes(StandardCharsets.UTF_8);
+                coluna.varInt(bytes.length);
+                coluna.bytes(bytes);
+            }
+            gravarColuna(grupo, coluna);
+
+            double massaMinima = Double.POSITIVE_INFINITY, massaMaxima = Double.NEGATIVE_INFINITY;
+            coluna = new Saida(linhas * 8);
+            for (int i = 0; i < linhas; i++) {
+                double massa = massas[i];
+                coluna.longFixo(Double.doubleToRawLongBits(massa));
+                if (Double.isNaN(massa)) {
+                    // NaN não cabe numa faixa: o grupo fica marcado como "pode conter qualquer massa"
+                    massaMinima = Double.NEGATIVE_INFINITY;
+                    massaMaxima = Double.POSITIVE_INFINITY;
+                } else {
+                    massaMinima = Math.min(massaMinima, massa);
+                    massaMaxima = Math.max(massaMaxima, massa);
+                }
+            }
+            gravarColuna(grupo, coluna);
+
+            long distanciaMinima = Long.MAX_VALUE, distanciaMaxima = Long.MIN_VALUE;
+            coluna = new Saida(linhas * 3);
+            anterior = 0;
+            for (int i = 0; i < linhas; i++) {
+                coluna.varLongZigZag(distancias[i] - anterior);
+                anterior = distancias[i];
+                distanciaMinima = Math.min(distanciaMinima, distancias[i]);
+                distanciaMaxima = Math.max(distanciaMaxima, distancias[i]);
+            }
+            gravarColuna(grupo, coluna);
+
+            gravarColuna(grupo, bits(habitaveis, linhas));
+
+            Map<String, Integer> codigos = new HashMap<>();
+            List<String> dicionario = new ArrayList<>();
+            Saida codigosLinhas = new Saida(linhas);
+            for (int i = 0; i < linhas; i++) {
+                String espectral = espectrais[i];
+                if (espectral == null) {
+                    codigosLinhas.varInt(0);
+                    continue;
+                }
+                Integer codigo = codigos.get(espectral);
+                if (codigo == null) {
+                    dicionario.add(espectral);
+                    codigo = dicionario.size();
+                    codigos.put(espectral, codigo);
+                }
+                codigosLinhas.varInt(codigo);
+            }
+            coluna = new Saida(dicionario.size() * 8 + codigosLinhas.tamanho);
+            coluna.varInt(dicionario.size());
+            for (String tipo : dicionario) {
+                byte[] bytes = tipo.getBytes(StandardCharsets.UTF_8);
+                coluna.varInt(bytes.length);
+                coluna.bytes(bytes);
+            }
+            coluna.bytes(Arrays.copyOf(codigosLinhas.dados, codigosLinhas.tamanho));
+            gravarColuna(grupo, coluna);
+
+            byte[] bytes = grupo.toByteArray();
+            escrever(ByteBuffer.wrap(bytes));
+            grupos.add(new EstatisticasGrupo(posicao, bytes.length, linhas,
+                    massaMinima, massaMaxima, distanciaMinima, distanciaMaxima));
+
+            Arrays.fill(nomes, 0, linhas, null);
+            Arrays.fill(espectrais, 0, linhas, null);
+            linhas = 0;
+        }
+
+        // Cabeçalho da coluna: compressão (1 byte), tamanho original e tamanho gravado (varint)
+        private void gravarColuna(ByteArrayOutputStream grupo, Saida coluna) {
+            byte[] original = Arrays.copyOf(coluna.dados, coluna.tamanho);
+            byte[] comprimido = comprimir(original);
+            boolean compensa = comprimido.length < original.length;
+            byte[] gravado = compensa ? comprimido : original;
+
+            Saida cabecalho = new Saida(12);
+            cabecalho.bytes(new byte[]{compensa ? DEFLATE : SEM_COMPRESSAO});
+            cabecalho.varInt(original.length);
+            cabecalho.varInt(gravado.length);
+            grupo.write(cabecalho.dados, 0, cabecalho.tamanho);
+            grupo.write(gravado, 0, gravado.length);
+        }
+
+        private byte[] comprimir(byte[] dados) {
+            compressor.reset();
+            compressor.setInput(dados);
+            compressor.finish();
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, dados.length / 2));
+            byte[] buffer = new byte[64 * 1024];
+            while (!compressor.finished()) {
+                int n = compressor.deflate(buffer);
+                saida.write(buffer, 0, n);
+            }
+            return saida.toByteArray();
+        }
+
+        private static Saida bits(boolean[] valores, int quantidade) {
+            Saida saida = new Saida((quantidade + 7) / 8);
+            byte atual = 0;
+            for (int i = 0; i < quantidade; i++) {
+                if (valores[i]) atual |= (byte) (1 << (i & 7));
+                if ((i & 7) == 7) {
+                    saida.bytes(new byte[]{atual});
+                    atual = 0;
+                }
+            }
+            if ((quantidade & 7) != 0) saida.bytes(new byte[]{atual});
+            return saida;
+        }
+
+        private void escrever(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) canal.write(buffer);
+        }
+
+        // Abandona a escrita sem tocar no destino
+        public void descartar() throws IOException {
+            if (fechado) return;
+            fechado = true;
+            compressor.end();
+            canal.close();
+            Files.deleteIfExists(temporario);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fechado) return;
+            fechado = true;
+            boolean concluido = false;
+            try {
+                gravarGrupo();
+
+                ByteBuffer rodape = ByteBuffer.allocate(16 + grupos.size() * 48).order(ByteOrder.LITTLE_ENDIAN);
+                rodape.putInt(VERSAO_FORMATO).putInt(grupos.size());
+                long total = 0;
+                for (EstatisticasGrupo g : grupos) total += g.linhas();
+                rodape.putLong(total);
+                for (EstatisticasGrupo g : grupos) {
+                    rodape.putLong(g.posicao()).putInt(g.tamanhoBytes()).putInt(g.linhas())
+                            .putDouble(g.massaMinima()).putDouble(g.massaMaxima())
+                            .putLong(g.distanciaMinima()).putLong(g.distanciaMaxima());
+                }
+                rodape.flip();
+                int tamanhoRodape = rodape.remaining();
+                escrever(rodape);
+                escrever(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, tamanhoRodape));
+                escrever(ByteBuffer.wrap(ASSINATURA));
+                canal.force(false);
+                concluido = true;
+            } finally {
+                compressor.end();
+                canal.close();
+                if (concluido) {
+                    Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } else {
+                    Files.deleteIfExists(temporario);
+                }
+            }
+        }
+    }
+
+    // --- Leitura ---
+
+    public static List<EstatisticasGrupo> lerEstatisticas(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return lerRodape(canal);
+        }
+    }
+
+    // Entrega, na ordem do arquivo, os corpos que atendem ao filtro; grupos fora da faixa nem são lidos
+    public static ResultadoLeitura ler(Path arquivo, Filtro filtro, Consumer<? super CorpoCeleste> destino) throws IOException {
+        return ler(arquivo, filtro, (id, estrela, nome, massa, distancia, habitavel, espectral) -> {
+            CorpoCeleste corpo = estrela
+                    ? new Estrela(nome, massa, distancia, espectral)
+                    : new Planeta(nome, massa, distancia, habitavel);
+            corpo.setId(id);
+            destino.accept(corpo);
+        });
+    }
+
+    @FunctionalInterface
+    private interface DestinoLinha {
+        void receber(int id, boolean estrela, String nome, double massa, long distancia,
+                     boolean habitavel, String espectral);
+    }
+
+    private static ResultadoLeitura ler(Path arquivo, Filtro filtro, DestinoLinha destino) throws IOException {
+        long examinadas = 0, aceitas = 0;
+        int lidos = 0, pulados = 0;
+        Inflater descompressor = new Inflater();
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            for (EstatisticasGrupo grupo : lerRodape(canal)) {
+                if (!filtro.podeConter(grupo)) {
+                    pulados++;
+                    continue;
+                }
+                lidos++;
+                ByteBuffer dados = lerTrecho(canal, grupo.posicao(), grupo.tamanhoBytes());
+                int n = grupo.linhas();
+
+                Entrada colunaIds = lerColuna(dados, descompressor);
+                byte[] tipos = lerColuna(dados, descompressor).dados;
+                Entrada colunaNomes = lerColuna(dados, descompressor);
+                Entrada colunaMassas = lerColuna(dados, descompressor);
+                Entrada colunaDistancias = lerColuna(dados, descompressor);
+                byte[] habitaveis = lerColuna(dados, descompressor).dados;
+                Entrada colunaEspectrais = lerColuna(dados, descompressor);
+
+                String[] dicionario = new String[colunaEspectrais.varInt() + 1];
+                for (int i = 1; i < dicionario.length; i++) dicionario[i] = colunaEspectrais.texto();
+
+                long id = 0, distancia = 0;
+                for (int i = 0; i < n; i++) {
+                    id += colunaIds.varLongZigZag();
+                    distancia += colunaDistancias.varLongZigZag();
+                    double massa = Double.longBitsToDouble(colunaMassas.longFixo());
+                    int codigoEspectral = colunaEspectrais.varInt();
+                    examinadas++;
+                    if (!filtro.aceita(massa, distancia)) {
+                        colunaNomes.pular(colunaNomes.varInt());
+                        continue;
+                    }
+                    aceitas++;
+                    destino.receber((int) id, bit(tipos, i), colunaNomes.texto(), massa, distancia,
+                            bit(habitaveis, i), dicionario[codigoEspectral]);
+                }
+            }
+        } catch (DataFormatException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Arquivo colunar corrompido: " + e.getMessage(), e);
+        } finally {
+            descompressor.end();
+        }
+        return new ResultadoLeitura(examinadas, aceitas, lidos, pulados);
+    }
+
+    private static List<EstatisticasGrupo> lerRodape(FileChannel canal) throws IOException {
+        long tamanho = canal.size();
+        int cauda = 4 + ASSINATURA.length;
+        if (tamanho < ASSINATURA.length + cauda) throw new IOException("Arquivo colunar truncado");
+
+        ByteBuffer inicio = lerTrecho(canal, 0, ASSINATURA.length);
+        ByteBuffer fim = lerTrecho(canal, tamanho - cauda, cauda);
+        byte[] assinatura = new byte[ASSINATURA.length];
+        inicio.get(assinatura);
+        byte[] assinaturaFinal = new byte[ASSINATURA.length];
+        fim.position(4);
+        fim.get(assinaturaFinal);
+        if (!Arrays.equals(assinatura, ASSINATURA) || !Arrays.equals(assinaturaFinal, ASSINATURA)) {
+            throw new IOException("Arquivo não está no formato colunar do AstroData");
+        }
+
+        int tamanhoRodape = fim.getInt(0);
+        if (tamanhoRodape < 16 || tamanhoRodape > tamanho - cauda - ASSINATURA.length) {
+            throw new IOException("Rodapé do arquivo colunar inválido");
+        }
+        ByteBuffer rodape = lerTrecho(canal, tamanho - cauda - tamanhoRodape, tamanhoRodape);
+        int versao = rodape.getInt();
+        if (versao != VERSAO_FORMATO) throw new IOException("Versão do formato colunar não suportada: " + versao);
+        int quantidade = rodape.getInt();
+        rodape.getLong(); // total de linhas
+        if (quantidade < 0 || rodape.remaining() != quantidade * 48L) throw new IOException("Rodapé do arquivo colunar inválido");
+
+        List<EstatisticasGrupo> grupos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            grupos.add(new EstatisticasGrupo(rodape.getLong(), rodape.getInt(), rodape.getInt(),
+                    rodape.getDouble(), rodape.getDouble(), rodape.getLong(), rodape.getLong()));
+        }
+        return grupos;
+    }
+
+    private static ByteBuffer lerTrecho(FileChannel canal, long posicao, int tamanho) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicao + buffer.position()) < 0) throw new IOException("Arquivo colunar truncado");
+        }
+        return buffer.flip();
+    }
+
+    private static Entrada lerColuna(ByteBuffer grupo, Inflater descompressor) throws DataFormatException {
+        byte compressao = grupo.get();
+        int tamanhoOriginal = lerVarInt(grupo);
+        int tamanhoGravado = lerVarInt(grupo);
+        byte[] gravado = new byte[tamanhoGravado];
+        grupo.get(gravado);
+        if (compressao == SEM_COMPRESSAO) return new Entrada(gravado);
+        if (compressao != DEFLATE) throw new DataFormatException("Compressão desconhecida: " + compressao);
+
+        byte[] original = new byte[tamanhoOriginal];
+        descompressor.reset();
+        descompressor.setInput(gravado);
+        int lidos = 0;
+        while (lidos < tamanhoOriginal) {
+            int n = descompressor.inflate(original, lidos, tamanhoOriginal - lidos);
+            if (n == 0 && (descompressor.finished() || descompressor.needsInput())) break;
+            lidos += n;
+        }
+        if (lidos != tamanhoOriginal) throw new DataFormatException("Coluna com tamanho inesperado");
+        return new Entrada(original);
+    }
+
+    private static int lerVarInt(ByteBuffer buffer) {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            byte b = buffer.get();
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) return valor;
+        }
+        throw new IllegalArgumentException("varint longo demais");
+    }
+
+    private static boolean bit(byte[] bits, int linha) {
+        return (bits[linha >>> 3] & (1 << (linha & 7))) != 0;
+    }
+
+    // --- Codificação de baixo nível ---
+
+    private static final class Saida {
+        byte[] dados;
+        int tamanho;
+
+        Saida(int capacidade) {
+            dados = new byte[Math.max(16, capacidade)];
+        }
+
+        void garantir(int extra) {
+            if (tamanho + extra > dados.length) dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + extra));
+        }
+
+        void varInt(int valor) {
+            varLong(valor & 0xFFFFFFFFL);
+        }
+
+        void varLongZigZag(long valor) {
+            varLong((valor << 1) ^ (valor >> 63));
+        }
+
+        void varLong(long valor) {
+            garantir(10);
+            while ((valor & ~0x7FL) != 0) {
+                dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            dados[tamanho++] = (byte) valor;
+        }
+
+        void longFixo(long valor) {
+            garantir(8);
+            for (int i = 0; i < 8; i++) dados[tamanho++] = (byte) (valor >>> (8 * i));
+        }
+
+        void bytes(byte[] valor) {
+            garantir(valor.length);
+            System.arraycopy(valor, 0, dados, tamanho, valor.length);
+            tamanho += valor.length;
+        }
+    }
+
+    private static final class Entrada {
+        final byte[] dados;
+        int posicao;
+
+        Entrada(byte[] dados) {
+            this.dados = dados;
+        }
+
+        int varInt() {
+            return (int) varLong();
+        }
+
+        long varLongZigZag() {
+            long valor = varLong();
+            return (valor >>> 1) ^ -(valor & 1);
+        }
+
+        long varLong() {
+            long valor = 0;
+            for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+                byte b = dados[posicao++];
+                valor |= (long) (b & 0x7F) << deslocamento;
+                if (b >= 0) return valor;
+            }
+            throw new IllegalArgumentException("varint longo demais");
+        }
+
+        long longFixo() {
+            long valor = 0;
+            for (int i = 0; i < 8; i++) valor |= (dados[posicao++] & 0xFFL) << (8 * i);
+            return valor;
+        }
+
+        String texto() {
+            int tamanho = varInt();
+            String valor = new String(dados, posicao, tamanho, StandardCharsets.UTF_8);
+            posicao += tamanho;
+            return valor;
+        }
+
+        void pular(int bytes) {
+            posicao += bytes;
+        }
+    }
+
+    // --- Linha de comando (rotinas noturnas) ---
+
+    // Uso: ArquivoColunar exportar <arquivo>  (lê do banco)  |  ArquivoColunar resumo <arquivo>
+    public static void main(String[] args) {
+        if (args.length != 2 || !(args[0].equals("exportar") || args[0].equals("resumo"))) {
+            System.err.println("Uso: ArquivoColunar exportar|resumo <arquivo>");
+            return;
+        }
+        Path arquivo = Paths.get(args[1]);
+        try {
+            if (args[0].equals("exportar")) {
+                try (Escritor escritor = new Escritor(arquivo)) {
+                    try {
+                        new CorpoCelesteDAO().percorrerTodos(corpo -> {
+                            try {
+                                escritor.adicionar(corpo);
+                            } catch (IOException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+                    } catch (SQLException | IllegalStateException e) {
+                        escritor.descartar();
+                        throw e;
+                    }
+                }
+                System.out.println("SUCESSO! " + arquivo + " (" + Files.size(arquivo) + " bytes)");
+            } else {
+                List<EstatisticasGrupo> grupos = lerEstatisticas(arquivo);
+                long total = grupos.stream().mapToLong(EstatisticasGrupo::linhas).sum();
+                System.out.println(total + " linhas em " + grupos.size() + " grupos");
+                grupos.forEach(System.out::println);
+            }
+        } catch (IOException | SQLException | IllegalStateException e) {
+            System.err.println("ERRO: " + e.getMessage());
+        } finally {
+            ConexaoBanco.encerrar();
+        }
+    }
+}
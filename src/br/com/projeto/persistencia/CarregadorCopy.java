@@ -0,0 +1,220 @@
+package br.com.projeto.persistencia;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// Carga rápida de catálogos usando COPY FROM STDIN do PostgreSQL.
+// O arquivo é lido linha a linha, convertido para o formato texto do COPY e enviado
+// em blocos de tamanho fixo: o arquivo nunca fica inteiro em memória.
+public class CarregadorCopy {
+
+    private static final String SQL_COPY = "COPY corpos_celestes (tipo, nome, massa_kg, distancia_anos_luz, atributo_especial) FROM STDIN";
+
+    // Quantas rejeições guardamos com a descrição completa (as demais só entram na contagem)
+    private static final int MAX_REJEICOES_DETALHADAS = 100;
+
+    public enum Formato {
+        // dados/dados.txt: TIPO,NOME,MASSA_KG,DISTANCIA_ANOS_LUZ,ATRIBUTO_ESPECIAL
+        TXT(','),
+        // Arquivo gerado por exportarParaCsv: TIPO;NOME;MASSA;DISTANCIA;EXTRA
+        CSV(';');
+
+        private final char separador;
+
+        Formato(char separador) {
+            this.separador = separador;
+        }
+
+        public static Formato detectar(Path arquivo) {
+            String nome = arquivo.getFileName().toString().toLowerCase(Locale.ROOT);
+            return nome.endsWith(".csv") ? CSV : TXT;
+        }
+    }
+
+    private final int tamanhoBuffer;
+    private final int intervaloProgresso;
+
+    public CarregadorCopy() {
+        this(256 * 1024, 100_000);
+    }
+
+    public CarregadorCopy(int tamanhoBuffer, int intervaloProgresso) {
+        if (tamanhoBuffer < 1024) throw new IllegalArgumentException("Buffer muito pequeno: " + tamanhoBuffer);
+        this.tamanhoBuffer = tamanhoBuffer;
+        this.intervaloProgresso = intervaloProgresso;
+    }
+
+    public ResultadoCarga carregar(Path arquivo) throws IOException, SQLException {
+        return carregar(arquivo, Formato.detectar(arquivo), null);
+    }
+
+    // O callback de progresso (opcional) é chamado a cada "intervaloProgresso" linhas lidas
+    public ResultadoCarga carregar(Path arquivo, Formato formato, Consumer<ResultadoCarga> progresso)
+            throws IOException, SQLException {
+        long inicio = System.nanoTime();
+        long linhasLidas = 0;
+        long enviadas = 0;
+        long rejeitadas = 0;
+        List<String> detalhes = new ArrayList<>();
+
+        byte[] buffer = new byte[tamanhoBuffer];
+        int usados = 0;
+        StringBuilder linhaCopy = new StringBuilder(256);
+
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8);
+             Connection conexao = ConexaoBanco.getConnection()) {
+
+            new CorpoCelesteDAO().criarTabelaSeNaoExistir(conexao);
+            CopyIn copia = conexao.unwrap(PGConnection.class).getCopyAPI().copyIn(SQL_COPY);
+
+            try {
+                String linha;
+                while ((linha = leitor.readLine()) != null) {
+                    linhasLidas++;
+
+                    if (linha.isBlank() || linha.startsWith("#") || ehCabecalho(linha, formato)) continue;
+
+                    String erro = converter(linha, formato.separador, linhaCopy);
+                    if (erro != null) {
+                        rejeitadas++;
+                        if (detalhes.size() < MAX_REJEICOES_DETALHADAS) {
+                            detalhes.add("Linha " + linhasLidas + ": " + erro);
+                        }
+                        continue;
+                    }
+
+                    byte[] bytes = linhaCopy.toString().getBytes(StandardCharsets.UTF_8);
+                    if (usados + bytes.length > buffer.length) {
+                        copia.writeToCopy(buffer, 0, usados);
+                        usados = 0;
+                    }
+                    if (bytes.length > buffer.length) {
+                        // Linha maior que o buffer inteiro: envia direto
+                        copia.writeToCopy(bytes, 0, bytes.length);
+                    } else {
+                        System.arraycopy(bytes, 0, buffer, usados, bytes.length);
+                        usados += bytes.length;
+                    }
+                    enviadas++;
+
+                    if (progresso != null && intervaloProgresso > 0 && linhasLidas % intervaloProgresso == 0) {
+                        progresso.accept(new ResultadoCarga(linhasLidas, enviadas, rejeitadas,
+                                System.nanoTime() - inicio, List.of()));
+                    }
+                }
+
+                if (usados > 0) copia.writeToCopy(buffer, 0, usados);
+                long gravadas = copia.endCopy();
+
+                return new ResultadoCarga(linhasLidas, gravadas, rejeitadas, System.nanoTime() - inicio, detalhes);
+            } finally {
+                if (copia.isActive()) copia.cancelCopy();
+            }
+        }
+    }
+
+    private static boolean ehCabecalho(String linha, Formato formato) {
+        return formato == Formato.CSV && linha.regionMatches(true, 0, "TIPO;", 0, 5);
+    }
+
+    // Converte uma linha do arquivo para o formato texto do COPY (campos separados por TAB).
+    // Retorna a descrição do erro, ou null se a linha for válida.
+    private static String converter(String linha, char separador, StringBuilder destino) {
+        String[] campos = new String[5];
+        int inicio = 0;
+        for (int i = 0; i < 5; i++) {
+            int fim = linha.indexOf(separador, inicio);
+            if (fim < 0) {
+                if (i < 4) return "esperados 5 campos, encontrados " + (i + 1);
+                fim = linha.length();
+            }
+            campos[i] = linha.substring(inicio, fim).trim();
+            inicio = fim + 1;
+        }
+
+        String tipo = campos[0].toUpperCase(Locale.ROOT);
+        String extra = campos[4];
+        if ("PLANETA".equals(tipo)) {
+            extra = String.valueOf(Boolean.parseBoolean(extra));
+        } else if (!"ESTRELA".equals(tipo)) {
+            return "tipo desconhecido '" + campos[0] + "'";
+        }
+
+        double massa;
+        long distancia;
+        try {
+            massa = Double.parseDouble(campos[2]);
+            distancia = Long.parseLong(campos[3]);
+        } catch (NumberFormatException e) {
+            return "valor numérico inválido (" + e.getMessage() + ")";
+        }
+
+        destino.setLength(0);
+        destino.append(tipo).append('\t');
+        escapar(campos[1], destino);
+        destino.append('\t').append(massa).append('\t').append(distancia).append('\t');
+        escapar(extra, destino);
+        destino.append('\n');
+        return null;
+    }
+
+    // Escapes exigidos pelo formato texto do COPY
+    private static void escapar(String valor, StringBuilder destino) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '\\' -> destino.append("\\\\");
+                case '\t' -> destino.append("\\t");
+                case '\n' -> destino.append("\\n");
+                case '\r' -> destino.append("\\r");
+                default -> destino.append(c);
+            }
+        }
+    }
+
+    public record ResultadoCarga(long linhasLidas, long linhasGravadas, long linhasRejeitadas,
+                                 long duracaoNanos, List<String> rejeicoes) {
+
+        public double getLinhasPorSegundo() {
+            return duracaoNanos == 0 ? 0.0 : linhasGravadas * 1_000_000_000.0 / duracaoNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d linhas lidas, %d gravadas, %d rejeitadas em %.1f s (%.0f linhas/s)",
+                    linhasLidas, linhasGravadas, linhasRejeitadas, duracaoNanos / 1e9, getLinhasPorSegundo());
+        }
+    }
+
+    // Uso: java br.com.projeto.persistencia.CarregadorCopy <arquivo.txt|arquivo.csv>
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Uso: CarregadorCopy <arquivo>");
+            return;
+        }
+        Path arquivo = Paths.get(args[0]);
+        try {
+            ResultadoCarga resultado = new CarregadorCopy().carregar(arquivo, Formato.detectar(arquivo),
+                    parcial -> System.out.println("... " + parcial));
+            System.out.println("SUCESSO! " + resultado);
+            resultado.rejeicoes().forEach(System.err::println);
+        } catch (IOException | SQLException e) {
+            System.err.println("ERRO: " + e.getMessage());
+        } finally {
+            ConexaoBanco.encerrar();
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package br.com.projeto.persistencia;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.UUID;
 
 public class ConexaoBanco {
 
@@ -10,6 +10,13 @@ public class ConexaoBanco {
     private static final String USUARIO = "poo_user";
     private static final String SENHA = "poo_senha123";
 
+    // Configuração do pool
+    private static final int TAMANHO_POOL = 8;
+    private static final long ESPERA_MAXIMA_MS = 10_000;
+    // Acima disso ociosa, a conexão é testada (isValid) antes de ser emprestada
+    private static final long VALIDAR_APOS_OCIOSO_MS = 500;
+    private static final int STATEMENTS_POR_CONEXAO = 32;
+
     static {
         // Bloco estático para garantir que o driver seja carregado
         try {
@@ -19,7 +26,32 @@ public class ConexaoBanco {
         }
     }
 
+    // Identifica esta instância da aplicação no application_name das conexões. O gatilho de
+    // notificação de corpos_celestes repete esse nome no payload, e cada instância ignora as suas.
+    private static final String ORIGEM = "AstroData-" + UUID.randomUUID().toString().substring(0, 8);
+
+    // Conexões físicas são reaproveitadas; fechar a conexão obtida apenas a devolve ao pool
+    private static final PoolConexoes POOL = new PoolConexoes(URL, USUARIO, SENHA, ORIGEM,
+            TAMANHO_POOL, ESPERA_MAXIMA_MS, VALIDAR_APOS_OCIOSO_MS, STATEMENTS_POR_CONEXAO);
+
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USUARIO, SENHA);
+        return POOL.obter();
+    }
+
+    // Conexão exclusiva, fora do pool (ex.: para LISTEN); fechá-la encerra a conexão física
+    public static Connection abrirConexaoDedicada() throws SQLException {
+        return POOL.abrirDedicada();
+    }
+
+    public static String getOrigem() {
+        return ORIGEM;
+    }
+
+    public static PoolConexoes.MetricasPool getMetricasPool() {
+        return POOL.getMetricas();
+    }
+
+    public static void encerrar() {
+        POOL.fechar();
     }
-}
\ No newline at end of file
+}
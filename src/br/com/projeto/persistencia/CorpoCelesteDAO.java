@@ -1,5 +1,6 @@
 package br.com.projeto.persistencia;
 
+import br.com.projeto.modelo.Consulta;
 import br.com.projeto.modelo.CorpoCeleste;
 import br.com.projeto.modelo.Planeta;
 import br.com.projeto.modelo.Estrela;
@@ -8,13 +9,142 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class CorpoCelesteDAO {
 
-    // Método auxiliar para garantir que o ambiente esteja pronto
-    private void criarTabelaSeNaoExistir(Connection conexao) throws SQLException {
+    private static final String SQL_INSERIR = "INSERT INTO corpos_celestes (tipo, nome, massa_kg, distancia_anos_luz, atributo_especial) VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_LISTAR = "SELECT id, tipo, nome, massa_kg, distancia_anos_luz, atributo_especial FROM corpos_celestes";
+    // Ordem da listagem completa (carga da memória e exportação): a mesma em toda instância
+    private static final String SQL_LISTAR_POR_ID = SQL_LISTAR + " ORDER BY id";
+    private static final String SQL_REMOVER_POR_NOME = "DELETE FROM corpos_celestes WHERE tipo = ? AND nome = ?";
+    private static final String SQL_REMOVER_POR_IDS = "DELETE FROM corpos_celestes WHERE id = ANY(?)";
+    private static final String[] COLUNAS_GERADAS = {"id"};
+
+    // Rankings e extremos resolvidos no servidor pelos índices btree (varredura reversa + LIMIT)
+    // Coluna e id na mesma direção: a varredura reversa de (coluna, id) já entrega a ordem, sem sort.
+    // Os empates saem pelo id decrescente, igual aos índices em memória (IndiceOrdenado)
+    private static final String SQL_MAIS_PESADOS = SQL_LISTAR + " ORDER BY massa_kg DESC, id DESC LIMIT ?";
+    private static final String SQL_MAIS_DISTANTES = SQL_LISTAR + " ORDER BY distancia_anos_luz DESC, id DESC LIMIT ?";
+    private static final String SQL_MAIS_PESADO_DO_TIPO = SQL_LISTAR
+            + " WHERE tipo = ? AND massa_kg = (SELECT max(massa_kg) FROM corpos_celestes WHERE tipo = ?) ORDER BY id DESC LIMIT 1";
+    // Estimativa mantida pelo ANALYZE/autovacuum: não percorre a tabela como count(*)
+    private static final String SQL_ESTIMAR_LINHAS = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('corpos_celestes')";
+    private static final String SQL_BUSCAR_POR_IDS = SQL_LISTAR + " WHERE id = ANY(?)";
+    private static final String SQL_RESUMIR_IDS = "SELECT count(*), coalesce(max(id), 0), coalesce(sum(id), 0) FROM corpos_celestes";
+    private static final String SQL_TOTALIZAR = "SELECT count(*), count(*) FILTER (WHERE tipo = 'ESTRELA'),"
+            + " count(*) FILTER (WHERE tipo = 'PLANETA'), coalesce(sum(massa_kg), 0) FROM corpos_celestes";
+
+    // Valor exibido na coluna "Atributo Especial" (Sim/Não nos planetas, o tipo espectral nas estrelas),
+    // em minúsculas e comparado byte a byte: a mesma ordem da tabela em memória (ModeloTabelaCorpos)
+    private static final String EXPRESSAO_ATRIBUTO_EXIBIDO = "(lower(CASE WHEN tipo = 'PLANETA'"
+            + " THEN CASE WHEN lower(atributo_especial) = 'true' THEN 'Sim' ELSE 'Não' END"
+            + " ELSE coalesce(atributo_especial, '') END) COLLATE \"C\")";
+
+    // Índices e gatilhos, os mesmos do script_banco.sql: criados (se faltarem) uma vez na inicialização
+    private static final Map<String, String> INDICES_ESPERADOS = indicesEsperados();
+    // Um gatilho por comando (não por linha): cada INSERT/UPDATE/DELETE gera uma notificação com os ids
+    // afetados em faixas contíguas, lidos da tabela de transição. Uma carga de um milhão de linhas vira
+    // uma (ou poucas) notificação, em vez de um milhão
+    private static final String SQL_FUNCAO_NOTIFICACOES = """
+            CREATE OR REPLACE FUNCTION notificar_corpos_celestes() RETURNS trigger AS $fn$
+            DECLARE
+                prefixo text := left(TG_OP, 1) || ';' || current_setting('application_name') || ';';
+                ids integer[];
+                faixas text := '';
+                faixa record;
+            BEGIN
+                IF TG_OP = 'DELETE' THEN
+                    SELECT array_agg(id) INTO ids FROM antigos;
+                ELSE
+                    SELECT array_agg(id) INTO ids FROM novos;
+                END IF;
+                IF ids IS NULL THEN
+                    RETURN NULL;
+                END IF;
+                FOR faixa IN
+                    SELECT min(id) AS inicio, max(id) AS fim
+                    FROM (SELECT id, id - row_number() OVER (ORDER BY id) AS grupo FROM unnest(ids) AS id) t
+                    GROUP BY grupo ORDER BY 1
+                LOOP
+                    -- O payload do pg_notify tem limite de 8000 bytes
+                    IF length(faixas) > 7000 THEN
+                        PERFORM pg_notify('corpos_celestes_alteracoes', prefixo || faixas);
+                        faixas := '';
+                    END IF;
+                    faixas := faixas || CASE WHEN faixas = '' THEN '' ELSE ',' END || faixa.inicio || '-' || faixa.fim;
+                END LOOP;
+                PERFORM pg_notify('corpos_celestes_alteracoes', prefixo || faixas);
+                RETURN NULL;
+            END
+            $fn$ LANGUAGE plpgsql
+            """;
+    // Tabelas de transição só podem ser declaradas num gatilho de um único evento: um por operação
+    private static final Map<String, String> GATILHOS_NOTIFICACOES = Map.of(
+            "trg_corpos_notificar_insercao", "AFTER INSERT ON corpos_celestes REFERENCING NEW TABLE AS novos",
+            "trg_corpos_notificar_alteracao", "AFTER UPDATE ON corpos_celestes REFERENCING NEW TABLE AS novos",
+            "trg_corpos_notificar_remocao", "AFTER DELETE ON corpos_celestes REFERENCING OLD TABLE AS antigos");
+    // Gatilho por linha das versões anteriores do script
+    private static final String SQL_REMOVER_GATILHO_POR_LINHA = "DROP TRIGGER IF EXISTS trg_corpos_notificar ON corpos_celestes";
+    private static final String SQL_LISTAR_INDICES =
+            "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = 'corpos_celestes'";
+    private static final String SQL_LISTAR_GATILHOS = "SELECT tgname FROM pg_trigger WHERE tgrelid = to_regclass('corpos_celestes')";
+    // Índice (coalesce(atributo_especial, ''), id) das versões anteriores: ordenava por true/false
+    private static final String SQL_REMOVER_INDICE_ATRIBUTO_ANTIGO = "DROP INDEX IF EXISTS idx_corpos_atributo_id";
+
+    // Busca de trecho do nome na navegação paginada: a mesma dobra (minúsculas, sem acentos) no nome e
+    // no termo, e um índice GIN de trigramas sobre ela para o ILIKE '%termo%' não varrer a tabela.
+    // unaccent() não é IMMUTABLE (depende do dicionário), então o índice usa esta função que fixa o dicionário
+    public static final String FUNCAO_NOME_SEM_ACENTOS = "nome_sem_acentos";
+    private static final String SQL_FUNCAO_NOME_SEM_ACENTOS = """
+            CREATE OR REPLACE FUNCTION nome_sem_acentos(texto text) RETURNS text AS $fn$
+                SELECT public.unaccent('public.unaccent'::regdictionary, lower(texto))
+            $fn$ LANGUAGE sql IMMUTABLE PARALLEL SAFE
+            """;
+    private static final String SQL_EXISTE_FUNCAO_NOME_SEM_ACENTOS = "SELECT to_regprocedure('nome_sem_acentos(text)') IS NOT NULL";
+    private static final String INDICE_NOME_TRIGRAMAS = "idx_corpos_nome_trigramas";
+    private static final String DEFINICAO_INDICE_NOME_TRIGRAMAS = "USING gin (nome_sem_acentos(nome) gin_trgm_ops)";
+
+    // Canal do pg_notify disparado pelo gatilho a cada comando que insere, altera ou remove linhas.
+    // Payload "operação;origem;faixas": operação I/U/D, o application_name de quem alterou e os ids
+    // afetados em faixas "inicio-fim" separadas por vírgula (comandos grandes geram mais de uma notificação).
+    public static final String CANAL_NOTIFICACOES = "corpos_celestes_alteracoes";
+
+    // false se a função nome_sem_acentos faltar no banco (sem permissão para criá-la): a busca de
+    // trecho na paginação cai para lower(nome), sem ignorar acentos
+    private volatile boolean buscaSemAcentos = true;
+
+    // Quantidade de linhas enviadas por executeBatch() em inserirLote
+    private int tamanhoLote = 1000;
+    // Linhas trazidas por ida ao servidor nas leituras com cursor
+    private int tamanhoFetch = 5000;
+
+    private static Map<String, String> indicesEsperados() {
+        Map<String, String> indices = new LinkedHashMap<>();
+        indices.put("idx_corpos_tipo_nome", "(tipo, nome)");
+        indices.put("idx_corpos_tipo_massa", "(tipo, massa_kg)");
+        indices.put("idx_corpos_massa_id", "(massa_kg, id)");
+        indices.put("idx_corpos_distancia_id", "(distancia_anos_luz, id)");
+        indices.put("idx_corpos_tipo_id", "(tipo, id)");
+        indices.put("idx_corpos_nome_id", "(nome, id)");
+        indices.put("idx_corpos_atributo_exibido_id", "(" + EXPRESSAO_ATRIBUTO_EXIBIDO + ", id)");
+        return indices;
+    }
+
+    // Método auxiliar para garantir que o ambiente esteja pronto.
+    // Só a tabela: índices e gatilho são criados uma vez por criarObjetosFaltantes
+    void criarTabelaSeNaoExistir(Connection conexao) throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS corpos_celestes (
                 id SERIAL PRIMARY KEY,
@@ -24,50 +154,185 @@ public class CorpoCelesteDAO {
                 distancia_anos_luz BIGINT NOT NULL,
                 atributo_especial TEXT
             )
-        """;
+            """;
         try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
             stmt.execute();
         }
     }
 
-    public void inserir(CorpoCeleste corpo) throws SQLException {
-        String sql = "INSERT INTO corpos_celestes (tipo, nome, massa_kg, distancia_anos_luz, atributo_especial) VALUES (?, ?, ?, ?, ?)";
+    // Cria a tabela, os índices que faltam e (re)cria a função e o gatilho de notificação. Idempotente:
+    // um índice existente não é refeito. Devolve o que continua faltando (vazio se tudo foi criado):
+    // sem permissão para DDL, só confere o que existe. Sem eles tudo funciona, mas rankings, paginação
+    // e buscas por nome viram varreduras e as outras instâncias não são avisadas.
+    // As extensões pg_trgm e unaccent vêm por último: sem elas, o resto já foi criado.
+    public List<String> criarObjetosFaltantes() throws SQLException {
+        try (Connection conexao = ConexaoBanco.getConnection()) {
+            List<String> faltantes;
+            try (Statement stmt = conexao.createStatement()) {
+                criarTabelaSeNaoExistir(conexao);
+                stmt.execute(SQL_REMOVER_INDICE_ATRIBUTO_ANTIGO);
+                for (Map.Entry<String, String> indice : INDICES_ESPERADOS.entrySet()) {
+                    stmt.execute("CREATE INDEX IF NOT EXISTS " + indice.getKey() + " ON corpos_celestes " + indice.getValue());
+                }
+                stmt.execute(SQL_FUNCAO_NOTIFICACOES);
+                stmt.execute(SQL_REMOVER_GATILHO_POR_LINHA);
+                for (Map.Entry<String, String> gatilho : GATILHOS_NOTIFICACOES.entrySet()) {
+                    stmt.execute("CREATE OR REPLACE TRIGGER " + gatilho.getKey() + " " + gatilho.getValue()
+                            + " FOR EACH STATEMENT EXECUTE FUNCTION notificar_corpos_celestes()");
+                }
+                stmt.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+                stmt.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+                stmt.execute(SQL_FUNCAO_NOME_SEM_ACENTOS);
+                stmt.execute("CREATE INDEX IF NOT EXISTS " + INDICE_NOME_TRIGRAMAS + " ON corpos_celestes "
+                        + DEFINICAO_INDICE_NOME_TRIGRAMAS);
+                faltantes = List.of();
+            } catch (SQLException e) {
+                // Ex.: o usuário não é dono da tabela, ou não pode criar extensões
+                faltantes = listarObjetosFaltantes(conexao);
+            }
+            buscaSemAcentos = !faltantes.contains(FUNCAO_NOME_SEM_ACENTOS);
+            return faltantes;
+        }
+    }
+
+    private List<String> listarObjetosFaltantes(Connection conexao) throws SQLException {
+        List<String> faltantes = new ArrayList<>(INDICES_ESPERADOS.keySet());
+        faltantes.add(INDICE_NOME_TRIGRAMAS);
+        try (PreparedStatement stmt = conexao.prepareStatement(SQL_LISTAR_INDICES);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) faltantes.remove(rs.getString(1));
+        }
+        List<String> gatilhos = new ArrayList<>(GATILHOS_NOTIFICACOES.keySet());
+        try (PreparedStatement stmt = conexao.prepareStatement(SQL_LISTAR_GATILHOS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) gatilhos.remove(rs.getString(1));
+        }
+        faltantes.addAll(gatilhos);
+        try (PreparedStatement stmt = conexao.prepareStatement(SQL_EXISTE_FUNCAO_NOME_SEM_ACENTOS);
+             ResultSet rs = stmt.executeQuery()) {
+            if (!rs.next() || !rs.getBoolean(1)) faltantes.add(FUNCAO_NOME_SEM_ACENTOS);
+        }
+        return faltantes;
+    }
 
+    public void inserir(CorpoCeleste corpo) throws SQLException {
         try (Connection conexao = ConexaoBanco.getConnection();
-             PreparedStatement stmt = conexao.prepareStatement(sql)) {
+             PreparedStatement stmt = conexao.prepareStatement(SQL_INSERIR, COLUNAS_GERADAS)) {
 
-            String tipo = "DESCONHECIDO";
-            String atributoEspecial = "";
+            preencherParametros(stmt, corpo);
+            stmt.executeUpdate();
 
-            // Pattern Matching moderno (Java 14+)
-            switch (corpo) {
-                case Planeta p -> {
-                    tipo = "PLANETA";
-                    atributoEspecial = String.valueOf(p.isHabitavel());
-                }
-                case Estrela e -> {
-                    tipo = "ESTRELA";
-                    atributoEspecial = e.getTipoEspectral();
+            try (ResultSet chaves = stmt.getGeneratedKeys()) {
+                if (chaves.next()) {
+                    corpo.setId(chaves.getInt(1));
                 }
-                default -> {
+            }
+        }
+    }
+
+    // Insere vários corpos em uma única transação usando batching do JDBC.
+    // Com reWriteBatchedInserts o driver transforma cada lote em INSERTs de múltiplas linhas.
+    // Retorna os ids gerados na mesma ordem da coleção (ignorando elementos nulos).
+    public List<Integer> inserirLote(Collection<? extends CorpoCeleste> corpos) throws SQLException {
+        List<CorpoCeleste> inseridos = new ArrayList<>(corpos.size());
+        for (CorpoCeleste corpo : corpos) {
+            if (corpo != null) inseridos.add(corpo);
+        }
+        if (inseridos.isEmpty()) return new ArrayList<>();
+
+        List<Integer> ids;
+        try (Connection conexao = ConexaoBanco.getConnection()) {
+            boolean autoCommitOriginal = conexao.getAutoCommit();
+            conexao.setAutoCommit(false);
+            try {
+                ids = inserirLote(conexao, inseridos);
+                conexao.commit();
+            } catch (SQLException e) {
+                conexao.rollback();
+                throw e;
+            } finally {
+                conexao.setAutoCommit(autoCommitOriginal);
+            }
+        }
+
+        // Os ids só são atribuídos aos objetos depois do commit
+        atribuirIds(inseridos, ids);
+        return ids;
+    }
+
+    // Versão que participa de uma transação aberta pelo chamador (não faz commit nem atribui ids)
+    List<Integer> inserirLote(Connection conexao, List<? extends CorpoCeleste> corpos) throws SQLException {
+        List<Integer> ids = new ArrayList<>(corpos.size());
+        try (PreparedStatement stmt = conexao.prepareStatement(SQL_INSERIR, COLUNAS_GERADAS)) {
+            int pendentes = 0;
+            for (CorpoCeleste corpo : corpos) {
+                preencherParametros(stmt, corpo);
+                stmt.addBatch();
+
+                if (++pendentes == tamanhoLote) {
+                    executarLote(stmt, ids);
+                    pendentes = 0;
                 }
             }
+            if (pendentes > 0) {
+                executarLote(stmt, ids);
+            }
+        }
+        return ids;
+    }
 
-            stmt.setString(1, tipo);
-            stmt.setString(2, corpo.getNome());
-            stmt.setDouble(3, corpo.getMassaKg());
-            stmt.setLong(4, corpo.getDistanciaEmAnosLuz());
-            stmt.setString(5, atributoEspecial);
+    static void atribuirIds(List<? extends CorpoCeleste> corpos, List<Integer> ids) {
+        for (int i = 0; i < corpos.size() && i < ids.size(); i++) {
+            corpos.get(i).setId(ids.get(i));
+        }
+    }
 
-            stmt.executeUpdate();
+    private void executarLote(PreparedStatement stmt, List<Integer> ids) throws SQLException {
+        stmt.executeBatch();
+        try (ResultSet chaves = stmt.getGeneratedKeys()) {
+            while (chaves.next()) {
+                ids.add(chaves.getInt(1));
+            }
         }
     }
 
-    public void removerPorTipoENome(String tipo, String nome) throws SQLException {
-        String sql = "DELETE FROM corpos_celestes WHERE tipo = ? AND nome = ?";
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+
+    public void setTamanhoLote(int tamanhoLote) {
+        if (tamanhoLote <= 0) throw new IllegalArgumentException("Tamanho do lote deve ser positivo");
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    private void preencherParametros(PreparedStatement stmt, CorpoCeleste corpo) throws SQLException {
+        String tipo = "DESCONHECIDO";
+        String atributoEspecial = "";
+
+        // Pattern Matching moderno (Java 14+)
+        switch (corpo) {
+            case Planeta p -> {
+                tipo = "PLANETA";
+                atributoEspecial = String.valueOf(p.isHabitavel());
+            }
+            case Estrela e -> {
+                tipo = "ESTRELA";
+                atributoEspecial = e.getTipoEspectral();
+            }
+            default -> {
+            }
+        }
 
+        stmt.setString(1, tipo);
+        stmt.setString(2, corpo.getNome());
+        stmt.setDouble(3, corpo.getMassaKg());
+        stmt.setLong(4, corpo.getDistanciaEmAnosLuz());
+        stmt.setString(5, atributoEspecial);
+    }
+
+    public void removerPorTipoENome(String tipo, String nome) throws SQLException {
         try (Connection conexao = ConexaoBanco.getConnection();
-             PreparedStatement stmt = conexao.prepareStatement(sql)) {
+             PreparedStatement stmt = conexao.prepareStatement(SQL_REMOVER_POR_NOME)) {
             
             stmt.setString(1, tipo);
             stmt.setString(2, nome);
@@ -75,40 +340,429 @@ public class CorpoCelesteDAO {
         }
     }
 
+    // Remove exatamente as linhas com esses ids, num único DELETE (uma ida ao servidor, uma transação).
+    // Devolve quantas linhas foram apagadas.
+    public int removerPorIds(Collection<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) return 0;
+        try (Connection conexao = ConexaoBanco.getConnection()) {
+            return removerPorIds(conexao, ids);
+        }
+    }
+
+    // Mesma remoção dentro de uma transação aberta pelo chamador
+    int removerPorIds(Connection conexao, Collection<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) return 0;
+        try (PreparedStatement stmt = conexao.prepareStatement(SQL_REMOVER_POR_IDS)) {
+            stmt.setArray(1, conexao.createArrayOf("integer", ids.toArray()));
+            return stmt.executeUpdate();
+        }
+    }
+
     public List<CorpoCeleste> listarTodos() throws SQLException {
         List<CorpoCeleste> lista = new ArrayList<>();
-        String sql = "SELECT tipo, nome, massa_kg, distancia_anos_luz, atributo_especial FROM corpos_celestes";
+        percorrerTodos(lista::add);
+        return lista;
+    }
 
+    // Leitura em streaming, em ordem de id: as linhas chegam ao consumidor à medida que o servidor as envia.
+    // Fora do autocommit o driver usa um cursor no servidor e busca "tamanhoFetch" linhas por vez,
+    // então a memória usada não depende do tamanho da tabela.
+    public void percorrerTodos(Consumer<? super CorpoCeleste> consumidor) throws SQLException {
         try (Connection conexao = ConexaoBanco.getConnection()) {
-            
+
             // Verifica a tabela apenas na carga inicial para garantir robustez
             criarTabelaSeNaoExistir(conexao);
 
-            try (PreparedStatement stmt = conexao.prepareStatement(sql);
-                 ResultSet rs = stmt.executeQuery()) {
+            boolean autoCommitOriginal = conexao.getAutoCommit();
+            conexao.setAutoCommit(false);
+            try (PreparedStatement stmt = conexao.prepareStatement(SQL_LISTAR_POR_ID)) {
+                stmt.setFetchSize(tamanhoFetch);
 
-                while (rs.next()) {
-                    String tipo = rs.getString("tipo");
-                    String nome = rs.getString("nome");
-                    double massa = rs.getDouble("massa_kg");
-                    long distancia = rs.getLong("distancia_anos_luz");
-                    String atributoEspecial = rs.getString("atributo_especial");
-
-                    CorpoCeleste corpo = null;
-
-                    if ("PLANETA".equalsIgnoreCase(tipo)) {
-                        boolean habitavel = Boolean.parseBoolean(atributoEspecial);
-                        corpo = new Planeta(nome, massa, distancia, habitavel);
-                    } else if ("ESTRELA".equalsIgnoreCase(tipo)) {
-                        corpo = new Estrela(nome, massa, distancia, atributoEspecial);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        CorpoCeleste corpo = mapearLinha(rs);
+                        if (corpo != null) {
+                            consumidor.accept(corpo);
+                        }
                     }
+                }
+                conexao.commit();
+            } catch (SQLException | RuntimeException e) {
+                conexao.rollback();
+                throw e;
+            } finally {
+                conexao.setAutoCommit(autoCommitOriginal);
+            }
+        }
+    }
 
-                    if (corpo != null) {
-                        lista.add(corpo);
+    // Consulta filtrada no servidor, com os predicados da Consulta como parâmetros do PreparedStatement.
+    // O trecho do nome não é enviado (a comparação sem acentos é feita em memória por quem chamou), e por
+    // isso, com trecho, o LIMIT também fica de fora. Ordenação por massa ou distância vai no ORDER BY;
+    // por nome fica com quem chamou (collation do banco != ordem usada na tela).
+    public void consultar(Consulta consulta, Consumer<? super CorpoCeleste> consumidor) throws SQLException {
+        List<Object> parametros = new ArrayList<>();
+        String sql = montarConsulta(consulta, parametros);
+        try (Connection conexao = ConexaoBanco.getConnection()) {
+            boolean autoCommitOriginal = conexao.getAutoCommit();
+            conexao.setAutoCommit(false);
+            try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+                stmt.setFetchSize(tamanhoFetch);
+                for (int i = 0; i < parametros.size(); i++) {
+                    stmt.setObject(i + 1, parametros.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        CorpoCeleste corpo = mapearLinha(rs);
+                        if (corpo != null) {
+                            consumidor.accept(corpo);
+                        }
                     }
                 }
+                conexao.commit();
+            } catch (SQLException | RuntimeException e) {
+                conexao.rollback();
+                throw e;
+            } finally {
+                conexao.setAutoCommit(autoCommitOriginal);
+            }
+        }
+    }
+
+    static String montarConsulta(Consulta consulta, List<Object> parametros) {
+        List<String> condicoes = montarCondicoes(consulta, parametros);
+
+        StringBuilder sql = new StringBuilder(SQL_LISTAR);
+        if (!condicoes.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        String direcao = consulta.crescente() ? " ASC" : " DESC";
+        switch (consulta.ordenacao()) {
+            // id na mesma direção da coluna: o índice (coluna, id) atende nos dois sentidos
+            case MASSA -> sql.append(" ORDER BY massa_kg").append(direcao).append(", id").append(direcao);
+            case DISTANCIA -> sql.append(" ORDER BY distancia_anos_luz").append(direcao).append(", id").append(direcao);
+            case NOME, NENHUMA -> {
+            }
+        }
+        if (consulta.limite() > 0 && !consulta.temTrecho() && consulta.ordenacao() != Consulta.Ordenacao.NOME) {
+            sql.append(" LIMIT ?");
+            parametros.add(consulta.limite());
+        }
+        return sql.toString();
+    }
+
+    // Predicados da Consulta que o servidor sabe avaliar (tudo menos o trecho do nome)
+    private static List<String> montarCondicoes(Consulta consulta, List<Object> parametros) {
+        List<String> condicoes = new ArrayList<>();
+        switch (consulta.tipo()) {
+            case PLANETA -> condicoes.add("tipo = 'PLANETA'");
+            case ESTRELA -> condicoes.add("tipo = 'ESTRELA'");
+            case TODOS -> {
+            }
+        }
+        if (consulta.massaMin() != Double.NEGATIVE_INFINITY) {
+            condicoes.add("massa_kg >= ?");
+            parametros.add(consulta.massaMin());
+        }
+        if (consulta.massaMax() != Double.POSITIVE_INFINITY) {
+            condicoes.add("massa_kg <= ?");
+            parametros.add(consulta.massaMax());
+        }
+        if (consulta.distanciaMin() != Long.MIN_VALUE) {
+            condicoes.add("distancia_anos_luz >= ?");
+            parametros.add(consulta.distanciaMin());
+        }
+        if (consulta.distanciaMax() != Long.MAX_VALUE) {
+            condicoes.add("distancia_anos_luz <= ?");
+            parametros.add(consulta.distanciaMax());
+        }
+        if (consulta.habitavel() != null) {
+            condicoes.add("tipo = 'PLANETA' AND lower(atributo_especial) = ?");
+            parametros.add(String.valueOf(consulta.habitavel()));
+        }
+        if (consulta.tipoEspectral() != null) {
+            condicoes.add("tipo = 'ESTRELA' AND upper(atributo_especial) = upper(?)");
+            parametros.add(consulta.tipoEspectral());
+        }
+        return condicoes;
+    }
+
+    // --- Paginação por chave (keyset) ---
+
+    // Colunas pelas quais a navegação paginada pode ordenar; cada uma tem um índice (expressão, id)
+    public enum ColunaPaginacao {
+        ID("id"),
+        TIPO("tipo"),
+        NOME("nome"),
+        MASSA("massa_kg"),
+        DISTANCIA("distancia_anos_luz"),
+        ATRIBUTO(EXPRESSAO_ATRIBUTO_EXIBIDO);
+
+        private final String expressao;
+
+        ColunaPaginacao(String expressao) {
+            this.expressao = expressao;
+        }
+    }
+
+    // Posição de uma linha na ordem da paginação: valor da coluna ordenada + id (desempate)
+    public record ChavePagina(Object valor, int id) {
+    }
+
+    // Linhas na ordem pedida, com as chaves da primeira e da última para buscar as páginas vizinhas.
+    // haMais indica se existe outra página na direção em que esta foi buscada.
+    public record Pagina(List<CorpoCeleste> linhas, ChavePagina primeira, ChavePagina ultima, boolean haMais) {
+    }
+
+    // Página de até "tamanho" linhas logo depois (ou, com paraTras, logo antes) da chave, na ordem
+    // (coluna, id) crescente ou decrescente; chave null = começo (ou fim) da ordem.
+    // A busca desce no índice (coluna, id) até a chave em vez de pular linhas com OFFSET, então o
+    // custo de cada página não depende de quão fundo ela está. O trecho de nome do filtro ignora
+    // maiúsculas e acentos (nome_sem_acentos) e usa o índice de trigramas.
+    public Pagina buscarPagina(Consulta filtro, ColunaPaginacao coluna, boolean crescente, ChavePagina chave,
+                               int tamanho, boolean paraTras) throws SQLException {
+        if (tamanho <= 0) throw new IllegalArgumentException("Tamanho de página inválido: " + tamanho);
+        List<Object> parametros = new ArrayList<>();
+        String sql = montarPagina(filtro, coluna, crescente, chave, tamanho, paraTras, buscaSemAcentos, parametros);
+
+        List<CorpoCeleste> linhas = new ArrayList<>(tamanho);
+        List<ChavePagina> chaves = new ArrayList<>(tamanho);
+        boolean haMais = false;
+        try (Connection conexao = ConexaoBanco.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    // A linha a mais (LIMIT tamanho + 1) só informa que há outra página
+                    if (linhas.size() == tamanho) {
+                        haMais = true;
+                        break;
+                    }
+                    CorpoCeleste corpo = mapearLinha(rs);
+                    if (corpo == null) continue;
+                    linhas.add(corpo);
+                    chaves.add(new ChavePagina(rs.getObject("chave_ordem"), rs.getInt("id")));
+                }
+            }
+        }
+        // Para trás a consulta vem na ordem inversa
+        if (paraTras) {
+            Collections.reverse(linhas);
+            Collections.reverse(chaves);
+        }
+        if (linhas.isEmpty()) return new Pagina(linhas, null, null, false);
+        return new Pagina(linhas, chaves.get(0), chaves.get(chaves.size() - 1), haMais);
+    }
+
+    static String montarPagina(Consulta filtro, ColunaPaginacao coluna, boolean crescente, ChavePagina chave,
+                               int tamanho, boolean paraTras, boolean semAcentos, List<Object> parametros) {
+        List<String> condicoes = montarCondicoes(filtro, parametros);
+        if (filtro.temTrecho()) {
+            condicoes.add(semAcentos
+                    ? "nome_sem_acentos(nome) ILIKE '%' || nome_sem_acentos(?) || '%'"
+                    : "lower(nome) LIKE '%' || lower(?) || '%'");
+            parametros.add(escaparLike(filtro.trecho()));
+        }
+        // Andar para trás na ordem crescente é andar para frente na decrescente
+        boolean ascendente = crescente != paraTras;
+        if (chave != null) {
+            String comparacao = ascendente ? " > " : " < ";
+            if (coluna == ColunaPaginacao.ID) {
+                condicoes.add("id" + comparacao + "?");
+            } else {
+                condicoes.add("(" + coluna.expressao + ", id)" + comparacao + "(?, ?)");
+                parametros.add(chave.valor());
+            }
+            parametros.add(chave.id());
+        }
+
+        String direcao = ascendente ? " ASC" : " DESC";
+        StringBuilder sql = new StringBuilder("SELECT id, tipo, nome, massa_kg, distancia_anos_luz, atributo_especial, ")
+                .append(coluna.expressao).append(" AS chave_ordem FROM corpos_celestes");
+        if (!condicoes.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        sql.append(" ORDER BY ").append(coluna.expressao).append(direcao);
+        if (coluna != ColunaPaginacao.ID) sql.append(", id").append(direcao);
+        sql.append(" LIMIT ?");
+        parametros.add(tamanho + 1);
+        return sql.toString();
+    }
+
+    // Curingas do LIKE (e a barra, o escape padrão) valem literalmente
+    static String escaparLike(String trecho) {
+        return trecho.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // --- Rankings no servidor ---
+
+    // Os "limite" mais pesados, do maior para o menor (empates pelo id decrescente: o mais recente primeiro)
+    public List<CorpoCeleste> listarMaisPesados(int limite) throws SQLException {
+        return listarComLimite(SQL_MAIS_PESADOS, limite);
+    }
+
+    public List<CorpoCeleste> listarMaisDistantes(int limite) throws SQLException {
+        return listarComLimite(SQL_MAIS_DISTANTES, limite);
+    }
+
+    // Corpo de maior massa do tipo ("PLANETA"/"ESTRELA"), ou null se não houver nenhum
+    public CorpoCeleste buscarMaisPesado(String tipo) throws SQLException {
+        try (Connection conexao = ConexaoBanco.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(SQL_MAIS_PESADO_DO_TIPO)) {
+            stmt.setString(1, tipo);
+            stmt.setString(2, tipo);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapearLinha(rs) : null;
+            }
+        }
+    }
+
+    // Estado atual das linhas com esses ids (as que não existem mais simplesmente não voltam)
+    public List<CorpoCeleste> buscarPorIds(Collection<Integer> ids) throws SQLException {
+        List<CorpoCeleste> lista = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) return lista;
+        try (Connection conexao = ConexaoBanco.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(SQL_BUSCAR_POR_IDS)) {
+            stmt.setArray(1, conexao.createArrayOf("integer", ids.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    CorpoCeleste corpo = mapearLinha(rs);
+                    if (corpo != null) lista.add(corpo);
+                }
             }
         }
         return lista;
     }
-}
\ No newline at end of file
+
+    // Quantidade aproximada de linhas (pg_class.reltuples); -1 se a tabela nunca foi analisada ou não existe
+    public long estimarTotalLinhas() throws SQLException {
+        try (Connection conexao = ConexaoBanco.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(SQL_ESTIMAR_LINHAS);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    // Contagens e soma das massas, para o resumo quando a tabela não está na memória
+    public record Totais(long total, long estrelas, long planetas, double somaMassa) {
+    }
+
+    // Uma varredura da tabela (count e sum): para o resumo na navegação paginada, não a cada alteração
+    public Totais totalizar() throws SQLException {
+        try (Connection conexao = ConexaoBanco.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(SQL_TOTALIZAR);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return new Totais(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getDouble(4));
+        }
+    }
+
+    // Quantidade, maior id e soma dos ids: com ids seriais, qualquer inclusão ou remoção muda o resumo
+    public record ResumoIds(long quantidade, long maiorId, long somaIds) {
+    }
+
+    // Percorre o índice da chave primária (count/max/sum): use só em tabelas que cabem na memória
+    public ResumoIds resumirIds() throws SQLException {
+        try (Connection conexao = ConexaoBanco.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(SQL_RESUMIR_IDS);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return new ResumoIds(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+        }
+    }
+
+    private List<CorpoCeleste> listarComLimite(String sql, int limite) throws SQLException {
+        List<CorpoCeleste> lista = new ArrayList<>(Math.max(0, limite));
+        if (limite <= 0) return lista;
+        try (Connection conexao = ConexaoBanco.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            stmt.setInt(1, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    CorpoCeleste corpo = mapearLinha(rs);
+                    if (corpo != null) lista.add(corpo);
+                }
+            }
+        }
+        return lista;
+    }
+
+    // Mesma leitura em streaming, exposta como Stream. A conexão só é devolvida ao pool
+    // quando o Stream é fechado, portanto use sempre try-with-resources.
+    public Stream<CorpoCeleste> streamTodos() throws SQLException {
+        Connection conexao = ConexaoBanco.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            criarTabelaSeNaoExistir(conexao);
+            conexao.setAutoCommit(false);
+            stmt = conexao.prepareStatement(SQL_LISTAR_POR_ID);
+            stmt.setFetchSize(tamanhoFetch);
+            rs = stmt.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            fecharTudo(rs, stmt, conexao);
+            throw e;
+        }
+
+        ResultSet cursor = rs;
+        PreparedStatement consulta = stmt;
+        Spliterator<CorpoCeleste> linhas = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super CorpoCeleste> acao) {
+                try {
+                    while (cursor.next()) {
+                        CorpoCeleste corpo = mapearLinha(cursor);
+                        if (corpo != null) {
+                            acao.accept(corpo);
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Erro lendo corpos_celestes: " + e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(linhas, false).onClose(() -> fecharTudo(cursor, consulta, conexao));
+    }
+
+    private static void fecharTudo(AutoCloseable... recursos) {
+        for (AutoCloseable recurso : recursos) {
+            if (recurso == null) continue;
+            try {
+                recurso.close();
+            } catch (Exception e) {
+                System.err.println("Aviso: falha ao liberar recurso (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    public int getTamanhoFetch() {
+        return tamanhoFetch;
+    }
+
+    public void setTamanhoFetch(int tamanhoFetch) {
+        if (tamanhoFetch <= 0) throw new IllegalArgumentException("Tamanho do fetch deve ser positivo");
+        this.tamanhoFetch = tamanhoFetch;
+    }
+
+    private CorpoCeleste mapearLinha(ResultSet rs) throws SQLException {
+        String tipo = rs.getString("tipo");
+        String nome = rs.getString("nome");
+        double massa = rs.getDouble("massa_kg");
+        long distancia = rs.getLong("distancia_anos_luz");
+        String atributoEspecial = rs.getString("atributo_especial");
+
+        CorpoCeleste corpo = null;
+
+        if ("PLANETA".equalsIgnoreCase(tipo)) {
+            boolean habitavel = Boolean.parseBoolean(atributoEspecial);
+            corpo = new Planeta(nome, massa, distancia, habitavel);
+        } else if ("ESTRELA".equalsIgnoreCase(tipo)) {
+            corpo = new Estrela(nome, massa, distancia, atributoEspecial);
+        }
+
+        if (corpo != null) {
+            corpo.setId(rs.getInt("id"));
+        }
+        return corpo;
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.CorpoCeleste;
+import br.com.projeto.modelo.Estrela;
+import br.com.projeto.modelo.Planeta;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Exportação da coleção no formato TIPO;NOME;MASSA;DISTANCIA;EXTRA.
+// As linhas são formatadas em blocos, em paralelo, com StringBuilder.append(double/long)
+// (sem String.format e independente do Locale) e os blocos prontos são gravados em ordem
+// num canal com buffer grande, opcionalmente comprimido com gzip.
+// O arquivo é escrito num temporário e só substitui o destino quando a exportação termina.
+public class ExportadorCsv {
+
+    private static final String QUEBRA_LINHA = System.lineSeparator();
+    private static final String CABECALHO = "TIPO;NOME;MASSA;DISTANCIA;EXTRA" + QUEBRA_LINHA;
+    private static final int LINHAS_POR_BLOCO_PADRAO = 16_384;
+    private static final int TAMANHO_BUFFER = 1 << 20;
+
+    // Chamado na thread da exportação após cada bloco gravado
+    @FunctionalInterface
+    public interface Progresso {
+        void atualizar(long linhasGravadas, long total);
+    }
+
+    public record ResultadoExportacao(long linhas, long bytes, long duracaoNanos) {
+    }
+
+    private final int linhasPorBloco;
+    private final int threads;
+
+    public ExportadorCsv() {
+        this(LINHAS_POR_BLOCO_PADRAO, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ExportadorCsv(int linhasPorBloco, int threads) {
+        if (linhasPorBloco <= 0) throw new IllegalArgumentException("Tamanho de bloco inválido: " + linhasPorBloco);
+        this.linhasPorBloco = linhasPorBloco;
+        this.threads = Math.max(1, threads);
+    }
+
+    public static boolean usaGzip(Path destino) {
+        return destino.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    // A lista não deve ser alterada durante a exportação (use uma cópia).
+    // Se cancelado.getAsBoolean() ficar true, lança CancellationException e o destino não é tocado.
+    public ResultadoExportacao exportar(List<? extends CorpoCeleste> corpos, Path destino, boolean gzip,
+                                        Progresso progresso, BooleanSupplier cancelado) throws IOException {
+        List<? extends CorpoCeleste> lista = (corpos instanceof RandomAccess) ? corpos : new ArrayList<>(corpos);
+        long inicio = System.nanoTime();
+        int total = lista.size();
+        int blocos = (total + linhasPorBloco - 1) / linhasPorBloco;
+
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "astrodata-exportacao");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long linhas = 0;
+        long bytes = 0;
+        boolean concluido = false;
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream saida = abrirSaida(canal, gzip)) {
+
+            byte[] cabecalho = CABECALHO.getBytes(StandardCharsets.UTF_8);
+            saida.write(cabecalho);
+            bytes += cabecalho.length;
+
+            // No máximo 2 blocos por thread formatados à espera de gravação
+            Deque<Future<byte[]>> emAndamento = new ArrayDeque<>();
+            int proximo = 0;
+            while (proximo < blocos || !emAndamento.isEmpty()) {
+                while (proximo < blocos && emAndamento.size() < threads * 2) {
+                    int de = proximo * linhasPorBloco;
+                    int ate = Math.min(total, de + linhasPorBloco);
+                    emAndamento.add(executor.submit(() -> formatar(lista, de, ate)));
+                    proximo++;
+                }
+                if (cancelado != null && cancelado.getAsBoolean()) throw new CancellationException("Exportação cancelada");
+
+                byte[] bloco = aguardar(emAndamento.poll());
+                saida.write(bloco);
+                bytes += bloco.length;
+                linhas = Math.min(total, (long) (proximo - emAndamento.size()) * linhasPorBloco);
+                if (progresso != null) progresso.atualizar(linhas, total);
+            }
+            concluido = true;
+        } finally {
+            executor.shutdownNow();
+            if (!concluido) Files.deleteIfExists(temporario);
+        }
+
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new ResultadoExportacao(linhas, bytes, System.nanoTime() - inicio);
+    }
+
+    private static OutputStream abrirSaida(FileChannel canal, boolean gzip) throws IOException {
+        OutputStream saida = new BufferedOutputStream(Channels.newOutputStream(canal), TAMANHO_BUFFER);
+        if (!gzip) return saida;
+        // Compressão rápida: a etapa de gzip é sequencial e limita a vazão da exportação
+        return new GZIPOutputStream(saida, 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    private static byte[] aguardar(Future<byte[]> futuro) throws IOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Exportação interrompida");
+        } catch (ExecutionException e) {
+            throw new IOException("Falha formatando a exportação: " + e.getCause(), e.getCause());
+        }
+    }
+
+    // Mesmo conteúdo que a versão com String.format: double/long no formato de Double.toString/Long.toString
+    private static byte[] formatar(List<? extends CorpoCeleste> lista, int de, int ate) {
+        StringBuilder sb = new StringBuilder((ate - de) * 64);
+        for (int i = de; i < ate; i++) {
+            CorpoCeleste c = lista.get(i);
+            if (c == null) continue;
+
+            sb.append(c instanceof Planeta ? "PLANETA" : c instanceof Estrela ? "ESTRELA" : "DESCONHECIDO").append(';')
+                    .append(c.getNome() != null ? c.getNome() : "Sem Nome").append(';')
+                    .append(c.getMassaKg()).append(';')
+                    .append(c.getDistanciaEmAnosLuz()).append(';');
+            if (c instanceof Planeta p) sb.append(p.isHabitavel());
+            else if (c instanceof Estrela e) sb.append(e.getTipoEspectral());
+            sb.append(QUEBRA_LINHA);
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,305 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.CorpoCeleste;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Persistência "write-behind": as alterações entram numa fila limitada e uma thread
+// de fundo as grava no banco, agrupando várias mutações na mesma transação.
+// Quando a fila enche, enfileirar() espera até o tempo pedido e então recusa a mutação (back-pressure).
+// Falhas transitórias (banco fora do ar, conexão caída, pool esgotado) mantêm o lote e o regravam
+// com espera crescente; nas demais, as mutações do lote são regravadas uma a uma e só as que
+// continuam falhando são descartadas. Com o pool encerrado o lote inteiro é descartado de uma vez.
+public class FilaEscritaAssincrona {
+
+    // --- Mutações aceitas pela fila ---
+
+    public sealed interface Mutacao permits Insercao, RemocaoPorIds {
+    }
+
+    public record Insercao(CorpoCeleste corpo) implements Mutacao {
+    }
+
+    // Remove só as linhas desses corpos. O id é lido na hora da gravação: corpos incluídos há pouco
+    // recebem o id depois do commit da sua inserção, que vem antes na fila.
+    public record RemocaoPorIds(List<CorpoCeleste> corpos) implements Mutacao {
+    }
+
+    // Notificado na thread de escrita. Com seraRepetido = true o lote continua na fila e será regravado;
+    // com false as mutações foram descartadas (valem só na memória desta instância).
+    @FunctionalInterface
+    public interface OuvinteFalha {
+        void falhou(List<Mutacao> lote, SQLException erro, boolean seraRepetido);
+
+        // O banco voltou a aceitar as gravações depois de uma falha transitória
+        default void recuperou() {
+        }
+    }
+
+    // Grava um lote inteiro numa transação (o padrão é gravar(), no banco; os testes trocam)
+    @FunctionalInterface
+    interface GravadorLote {
+        void gravar(List<Mutacao> lote) throws SQLException;
+    }
+
+    private static final long ESPERA_POLL_MS = 200;
+    private static final long ESPERA_INICIAL_REPETICAO_MS = 500;
+    private static final long ESPERA_MAXIMA_REPETICAO_MS = 30_000;
+
+    private final CorpoCelesteDAO dao;
+    private final GravadorLote gravador;
+    private final BlockingQueue<Mutacao> fila;
+    private final int maximoPorTransacao;
+    private final List<OuvinteFalha> ouvintes = new CopyOnWriteArrayList<>();
+    private final Thread escritor;
+    // Corpos que receberam id na thread de escrita. A fila concorrente publica o id para quem os
+    // retira (ex.: EDT): o setId acontece antes da inclusão aqui.
+    private final ConcurrentLinkedQueue<CorpoCeleste> comIdAtribuido = new ConcurrentLinkedQueue<>();
+    // Só lido e escrito na thread de escrita
+    private boolean emFalhaTransitoria;
+
+    // Contadores usados pelo aguardarEscrita(): protegidos por "this"
+    private long enfileiradas;
+    private long concluidas;
+    private volatile boolean encerrando;
+
+    public FilaEscritaAssincrona(CorpoCelesteDAO dao, int capacidade, int maximoPorTransacao) {
+        this(dao, capacidade, maximoPorTransacao, null);
+    }
+
+    // gravador null = gravar() no banco com o dao
+    FilaEscritaAssincrona(CorpoCelesteDAO dao, int capacidade, int maximoPorTransacao, GravadorLote gravador) {
+        this.dao = dao;
+        this.gravador = (gravador != null) ? gravador : this::gravar;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.maximoPorTransacao = maximoPorTransacao;
+        this.escritor = new Thread(this::executar, "astrodata-escrita");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    public void adicionarOuvinteFalha(OuvinteFalha ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    // Espera no máximo "tempo" por espaço na fila; devolve false se ela continuou cheia
+    // (ex.: banco fora do ar há tempo suficiente para acumular CAPACIDADE alterações)
+    public boolean enfileirar(Mutacao mutacao, long tempo, TimeUnit unidade) {
+        if (encerrando) throw new IllegalStateException("Fila de escrita encerrada");
+        // Contada antes de entrar: a thread de escrita pode concluí-la logo depois do offer, e
+        // concluidas nunca pode passar de enfileiradas
+        synchronized (this) {
+            enfileiradas++;
+        }
+        boolean aceita = false;
+        try {
+            aceita = fila.offer(mutacao, tempo, unidade);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!aceita) {
+                // Recusada: conta como concluída, para quem está em aguardarEscrita não esperar por ela
+                synchronized (this) {
+                    concluidas++;
+                    notifyAll();
+                }
+            }
+        }
+        return aceita;
+    }
+
+    // Enfileiradas e ainda não gravadas (inclui o lote que está sendo gravado ou aguardando nova tentativa)
+    public synchronized int getPendentes() {
+        return (int) (enfileiradas - concluidas);
+    }
+
+    // Entrega (e esquece) os corpos que receberam id do banco desde a última chamada
+    public void retirarIdsAtribuidos(Consumer<? super CorpoCeleste> destino) {
+        CorpoCeleste corpo;
+        while ((corpo = comIdAtribuido.poll()) != null) destino.accept(corpo);
+    }
+
+    // Espera até que tudo o que foi enfileirado antes desta chamada tenha sido gravado (ou falhado)
+    public synchronized boolean aguardarEscrita(long tempo, TimeUnit unidade) throws InterruptedException {
+        long alvo = enfileiradas;
+        long limite = System.nanoTime() + unidade.toNanos(tempo);
+        while (concluidas < alvo) {
+            long restante = limite - System.nanoTime();
+            if (restante <= 0) return false;
+            TimeUnit.NANOSECONDS.timedWait(this, restante);
+        }
+        return true;
+    }
+
+    // Recusa novas mutações, grava o que estiver pendente e para a thread de escrita
+    public boolean encerrar(long tempo, TimeUnit unidade) throws InterruptedException {
+        encerrando = true;
+        escritor.join(Math.max(1, unidade.toMillis(tempo)));
+        return !escritor.isAlive();
+    }
+
+    private void executar() {
+        List<Mutacao> lote = new ArrayList<>(maximoPorTransacao);
+        while (!encerrando || !fila.isEmpty()) {
+            try {
+                Mutacao primeira = fila.poll(ESPERA_POLL_MS, TimeUnit.MILLISECONDS);
+                if (primeira == null) continue;
+
+                lote.add(primeira);
+                fila.drainTo(lote, maximoPorTransacao - 1);
+                gravarComRepeticao(lote);
+            } catch (InterruptedException e) {
+                // A thread só termina quando a fila estiver vazia
+            } finally {
+                if (!lote.isEmpty()) {
+                    synchronized (this) {
+                        concluidas += lote.size();
+                        notifyAll();
+                    }
+                    lote.clear();
+                }
+            }
+        }
+    }
+
+    // Só retorna quando o lote foi gravado ou descartado
+    private void gravarComRepeticao(List<Mutacao> lote) {
+        long espera = ESPERA_INICIAL_REPETICAO_MS;
+        while (true) {
+            try {
+                gravador.gravar(lote);
+                if (emFalhaTransitoria) {
+                    emFalhaTransitoria = false;
+                    ouvintes.forEach(OuvinteFalha::recuperou);
+                }
+                return;
+            } catch (SQLNonTransientConnectionException e) {
+                // Pool encerrado (aplicação fechando): nenhuma mutação do lote vai passar
+                notificarFalha(lote, e, false);
+                return;
+            } catch (SQLException e) {
+                if (!falhaTransitoria(e)) {
+                    // Isola a mutação com problema para não perder as demais do lote
+                    if (lote.size() == 1) {
+                        notificarFalha(lote, e, false);
+                    } else {
+                        for (Mutacao mutacao : lote) gravarComRepeticao(List.of(mutacao));
+                    }
+                    return;
+                }
+                emFalhaTransitoria = true;
+                notificarFalha(lote, e, true);
+                aguardar(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_REPETICAO_MS);
+            }
+        }
+    }
+
+    // Banco inacessível ou sobrecarregado: a mesma transação deve passar mais tarde.
+    // Erros sem SQLState vêm do pool (tempo de espera esgotado); o pool encerrado é permanente
+    // (SQLNonTransientConnectionException, tratada antes).
+    private static boolean falhaTransitoria(SQLException e) {
+        if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) return true;
+        String estado = e.getSQLState();
+        return estado == null || estado.startsWith("08") || estado.startsWith("40")
+                || estado.startsWith("53") || estado.startsWith("57");
+    }
+
+    private void notificarFalha(List<Mutacao> lote, SQLException erro, boolean seraRepetido) {
+        List<Mutacao> copia = List.copyOf(lote);
+        ouvintes.forEach(o -> o.falhou(copia, erro, seraRepetido));
+    }
+
+    // Ninguém interrompe a thread de escrita; uma interrupção só encurta a espera
+    private static void aguardar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // Segue para a próxima tentativa
+        }
+    }
+
+    private void gravar(List<Mutacao> lote) throws SQLException {
+        List<Mutacao> efetivas = coalescer(lote);
+        List<CorpoCeleste> inseridos = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+
+        try (Connection conexao = ConexaoBanco.getConnection()) {
+            conexao.setAutoCommit(false);
+            try {
+                // Percorre em ordem, agrupando mutações consecutivas do mesmo tipo num único batch
+                int i = 0;
+                while (i < efetivas.size()) {
+                    if (efetivas.get(i) instanceof Insercao) {
+                        List<CorpoCeleste> grupo = new ArrayList<>();
+                        while (i < efetivas.size() && efetivas.get(i) instanceof Insercao insercao) {
+                            grupo.add(insercao.corpo());
+                            i++;
+                        }
+                        ids.addAll(dao.inserirLote(conexao, grupo));
+                        inseridos.addAll(grupo);
+                    } else {
+                        // Um único DELETE ... WHERE id = ANY(?) para todas as remoções por id seguidas;
+                        // corpos sem id nunca chegaram ao banco
+                        Set<Integer> grupo = new HashSet<>();
+                        while (i < efetivas.size() && efetivas.get(i) instanceof RemocaoPorIds remocao) {
+                            for (CorpoCeleste corpo : remocao.corpos()) {
+                                if (corpo.getId() != 0) grupo.add(corpo.getId());
+                            }
+                            i++;
+                        }
+                        dao.removerPorIds(conexao, grupo);
+                    }
+                }
+                conexao.commit();
+            } catch (SQLException e) {
+                conexao.rollback();
+                throw e;
+            }
+        }
+
+        CorpoCelesteDAO.atribuirIds(inseridos, ids);
+        comIdAtribuido.addAll(inseridos);
+    }
+
+    // Uma inserção seguida, no mesmo lote, da remoção por id do mesmo corpo não precisa ir ao banco.
+    static List<Mutacao> coalescer(List<Mutacao> lote) {
+        Set<CorpoCeleste> removidosPorIdAdiante = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Mutacao> invertida = new ArrayList<>(lote.size());
+
+        for (int i = lote.size() - 1; i >= 0; i--) {
+            Mutacao mutacao = lote.get(i);
+            switch (mutacao) {
+                case RemocaoPorIds remocao -> {
+                    removidosPorIdAdiante.addAll(remocao.corpos());
+                    invertida.add(remocao);
+                }
+                case Insercao insercao -> {
+                    if (!removidosPorIdAdiante.contains(insercao.corpo())) invertida.add(insercao);
+                }
+            }
+        }
+
+        List<Mutacao> efetivas = new ArrayList<>(invertida.size());
+        for (int i = invertida.size() - 1; i >= 0; i--) {
+            efetivas.add(invertida.get(i));
+        }
+        return efetivas;
+    }
+}
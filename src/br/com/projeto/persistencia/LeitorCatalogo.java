@@ -0,0 +1,406 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.CorpoCeleste;
+import br.com.projeto.modelo.Estrela;
+import br.com.projeto.modelo.Planeta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Leitor rápido de catálogos no formato de dados/dados.txt
+// (TIPO,NOME,MASSA_KG,DISTANCIA_ANOS_LUZ,ATRIBUTO_ESPECIAL).
+// O arquivo é mapeado em memória e dividido em blocos que terminam em fim de linha; os blocos
+// são interpretados em paralelo direto dos bytes (números sem criar Strings intermediárias)
+// e entregues ao destino na ordem do arquivo. Linhas malformadas são relatadas com o número.
+public class LeitorCatalogo {
+
+    private static final int TAMANHO_BLOCO_PADRAO = 32 * 1024 * 1024;
+    private static final int MAX_ERROS_DETALHADOS = 1000;
+
+    // 10^0 .. 10^22 são representados exatamente em double
+    private static final double[] POTENCIAS_10 = new double[23];
+
+    static {
+        double p = 1.0;
+        for (int i = 0; i < POTENCIAS_10.length; i++) {
+            POTENCIAS_10[i] = p;
+            p *= 10.0;
+        }
+    }
+
+    public record ErroLinha(long linha, String mensagem) {
+        @Override
+        public String toString() {
+            return "Linha " + linha + ": " + mensagem;
+        }
+    }
+
+    public record ResultadoLeitura(long linhasLidas, long registros, long linhasComErro,
+                                   List<ErroLinha> erros, long duracaoNanos) {
+    }
+
+    private final int tamanhoBloco;
+    private final int threads;
+
+    public LeitorCatalogo() {
+        this(TAMANHO_BLOCO_PADRAO, Runtime.getRuntime().availableProcessors());
+    }
+
+    public LeitorCatalogo(int tamanhoBloco, int threads) {
+        if (tamanhoBloco < 1024) throw new IllegalArgumentException("Bloco muito pequeno: " + tamanhoBloco);
+        this.tamanhoBloco = tamanhoBloco;
+        this.threads = Math.max(1, threads);
+    }
+
+    // Entrega cada corpo (na ordem do arquivo) ao consumidor, na thread que chamou
+    public ResultadoLeitura ler(Path arquivo, Consumer<? super CorpoCeleste> destino) throws IOException {
+        return processar(arquivo, bloco -> bloco.forEach(destino));
+    }
+
+    // --- Divisão e processamento em paralelo ---
+
+    private record Intervalo(long inicio, long fim) {
+    }
+
+    private record BlocoLido(List<CorpoCeleste> registros, long linhas, List<ErroLinha> erros, long linhasComErro) {
+    }
+
+    private ResultadoLeitura processar(Path arquivo, Consumer<List<CorpoCeleste>> entrega) throws IOException {
+        long inicio = System.nanoTime();
+        long linhasAntes = 0;
+        long registros = 0;
+        long linhasComErro = 0;
+        List<ErroLinha> erros = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "astrodata-leitor");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            List<Intervalo> intervalos = dividir(canal);
+
+            // No máximo 2 blocos por thread em memória ao mesmo tempo
+            Deque<Future<BlocoLido>> emAndamento = new ArrayDeque<>();
+            int proximo = 0;
+
+            while (proximo < intervalos.size() || !emAndamento.isEmpty()) {
+                while (proximo < intervalos.size() && emAndamento.size() < threads * 2) {
+                    Intervalo intervalo = intervalos.get(proximo++);
+                    emAndamento.add(executor.submit(() -> lerBloco(canal, intervalo)));
+                }
+
+                BlocoLido bloco = aguardar(emAndamento.poll());
+
+                // Números de linha locais viram globais somando as linhas dos blocos anteriores
+                for (ErroLinha erro : bloco.erros()) {
+                    if (erros.size() < MAX_ERROS_DETALHADOS) {
+                        erros.add(new ErroLinha(erro.linha() + linhasAntes, erro.mensagem()));
+                    }
+                }
+                linhasAntes += bloco.linhas();
+                linhasComErro += bloco.linhasComErro();
+                registros += bloco.registros().size();
+                entrega.accept(bloco.registros());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new ResultadoLeitura(linhasAntes, registros, linhasComErro,
+                Collections.unmodifiableList(erros), System.nanoTime() - inicio);
+    }
+
+    private static BlocoLido aguardar(Future<BlocoLido> futuro) throws IOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Leitura interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new IOException("Falha lendo o catálogo: " + e.getCause(), e.getCause());
+        }
+    }
+
+    // Cortes a cada "tamanhoBloco" bytes, avançados até o próximo '\n'
+    private List<Intervalo> dividir(FileChannel canal) throws IOException {
+        long tamanho = canal.size();
+        List<Intervalo> intervalos = new ArrayList<>();
+        ByteBuffer janela = ByteBuffer.allocate(4096);
+
+        long inicio = 0;
+        while (inicio < tamanho) {
+            long fim = Math.min(inicio + tamanhoBloco, tamanho);
+            while (fim < tamanho) {
+                janela.clear();
+                int lidos = canal.read(janela, fim);
+                if (lidos <= 0) {
+                    fim = tamanho;
+                    break;
+                }
+                int quebra = -1;
+                for (int i = 0; i < lidos; i++) {
+                    if (janela.get(i) == '\n') {
+                        quebra = i;
+                        break;
+                    }
+                }
+                if (quebra >= 0) {
+                    fim += quebra + 1;
+                    break;
+                }
+                fim += lidos;
+            }
+            intervalos.add(new Intervalo(inicio, fim));
+            inicio = fim;
+        }
+        return intervalos;
+    }
+
+    private BlocoLido lerBloco(FileChannel canal, Intervalo intervalo) throws IOException {
+        int tamanho = (int) (intervalo.fim() - intervalo.inicio());
+        MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, intervalo.inicio(), tamanho);
+        // Os objetos são criados aqui, nas threads de leitura; a thread que chamou só os repassa
+        List<CorpoCeleste> registros = new ArrayList<>(Math.max(16, tamanho / 48));
+        List<ErroLinha> erros = new ArrayList<>();
+        long linhasComErro = 0;
+
+        long linha = 0;
+        int pos = 0;
+        while (pos < tamanho) {
+            int fimLinha = pos;
+            while (fimLinha < tamanho && dados.get(fimLinha) != '\n') fimLinha++;
+            linha++;
+
+            String erro = interpretarLinha(dados, pos, fimLinha, registros);
+            if (erro != null) {
+                linhasComErro++;
+                if (erros.size() < MAX_ERROS_DETALHADOS) erros.add(new ErroLinha(linha, erro));
+            }
+            pos = fimLinha + 1;
+        }
+        return new BlocoLido(registros, linha, erros, linhasComErro);
+    }
+
+    // --- Interpretação de uma linha direto dos bytes ---
+
+    // Retorna a descrição do erro, ou null se a linha foi aceita (ou ignorada por ser comentário/vazia)
+    private static String interpretarLinha(ByteBuffer dados, int inicio, int fim, List<CorpoCeleste> destino) {
+        if (fim > inicio && dados.get(fim - 1) == '\r') fim--;
+        if (inicio < fim && dados.get(inicio) == '#') return null;
+        if (inicioSemEspaco(dados, inicio, fim) == fim) return null;
+
+        // Posições das 4 primeiras vírgulas; o 5º campo vai até a próxima vírgula ou o fim da linha
+        int[] cortes = new int[6];
+        cortes[0] = inicio - 1;
+        int campos = 1;
+        for (int i = inicio; i < fim && campos < 6; i++) {
+            if (dados.get(i) == ',') cortes[campos++] = i;
+        }
+        if (campos < 5) return "esperados 5 campos separados por vírgula, encontrados " + campos;
+        if (campos == 5) cortes[5] = fim;
+
+        int iniTipo = inicioSemEspaco(dados, cortes[0] + 1, cortes[1]);
+        int fimTipo = fimSemEspaco(dados, iniTipo, cortes[1]);
+        boolean planeta;
+        if (igualIgnorandoCaixa(dados, iniTipo, fimTipo, "PLANETA")) {
+            planeta = true;
+        } else if (igualIgnorandoCaixa(dados, iniTipo, fimTipo, "ESTRELA")) {
+            planeta = false;
+        } else {
+            return "tipo desconhecido '" + texto(dados, iniTipo, fimTipo) + "'";
+        }
+
+        double massa = lerDouble(dados, inicioSemEspaco(dados, cortes[2] + 1, cortes[3]),
+                fimSemEspaco(dados, cortes[2] + 1, cortes[3]));
+        if (Double.isNaN(massa)) return "massa inválida";
+
+        long distancia;
+        try {
+            distancia = lerLong(dados, inicioSemEspaco(dados, cortes[3] + 1, cortes[4]),
+                    fimSemEspaco(dados, cortes[3] + 1, cortes[4]));
+        } catch (NumberFormatException e) {
+            return "distância inválida";
+        }
+
+        int iniNome = inicioSemEspaco(dados, cortes[1] + 1, cortes[2]);
+        String nome = texto(dados, iniNome, fimSemEspaco(dados, iniNome, cortes[2]));
+
+        int iniExtra = inicioSemEspaco(dados, cortes[4] + 1, cortes[5]);
+        int fimExtra = fimSemEspaco(dados, iniExtra, cortes[5]);
+
+        if (planeta) {
+            // Mesmo critério de Boolean.parseBoolean
+            boolean habitavel = igualIgnorandoCaixa(dados, iniExtra, fimExtra, "true");
+            destino.add(new Planeta(nome, massa, distancia, habitavel));
+        } else {
+            destino.add(new Estrela(nome, massa, distancia, texto(dados, iniExtra, fimExtra)));
+        }
+        return null;
+    }
+
+    // Conversão de ponto flutuante sem String: caminho rápido exato (mantissa de até 15 dígitos
+    // e potência de 10 representável) e, nos demais casos, Double.parseDouble. Retorna NaN se inválido.
+    static double lerDouble(ByteBuffer dados, int inicio, int fim) {
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fim && (dados.get(i) == '-' || dados.get(i) == '+')) {
+            negativo = dados.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digitos = 0;
+        int expoente = 0;
+        boolean algumDigito = false;
+
+        while (i < fim && eDigito(dados.get(i))) {
+            algumDigito = true;
+            if (mantissa != 0 || dados.get(i) != '0') {
+                if (digitos < 18) mantissa = mantissa * 10 + (dados.get(i) - '0');
+                else expoente++;
+                digitos++;
+            }
+            i++;
+        }
+        if (i < fim && dados.get(i) == '.') {
+            i++;
+            while (i < fim && eDigito(dados.get(i))) {
+                algumDigito = true;
+                if (mantissa != 0 || dados.get(i) != '0') {
+                    if (digitos < 18) {
+                        mantissa = mantissa * 10 + (dados.get(i) - '0');
+                        expoente--;
+                    }
+                    digitos++;
+                } else {
+                    expoente--;
+                }
+                i++;
+            }
+        }
+        if (algumDigito && i < fim && (dados.get(i) == 'e' || dados.get(i) == 'E')) {
+            i++;
+            boolean expNegativo = false;
+            if (i < fim && (dados.get(i) == '-' || dados.get(i) == '+')) {
+                expNegativo = dados.get(i) == '-';
+                i++;
+            }
+            int exp = 0;
+            boolean algumExp = false;
+            while (i < fim && eDigito(dados.get(i))) {
+                algumExp = true;
+                if (exp < 100_000) exp = exp * 10 + (dados.get(i) - '0');
+                i++;
+            }
+            if (!algumExp) return lerDoubleLento(dados, inicio, fim);
+            expoente += expNegativo ? -exp : exp;
+        }
+
+        // Formatos fora do padrão simples (NaN, Infinity, hexadecimal, sufixos...) ficam com o JDK
+        if (!algumDigito || i != fim) return lerDoubleLento(dados, inicio, fim);
+
+        double valor;
+        if (mantissa == 0) {
+            valor = 0.0;
+        } else if (digitos > 15) {
+            return lerDoubleLento(dados, inicio, fim);
+        } else if (expoente >= 0 && expoente <= 22) {
+            valor = mantissa * POTENCIAS_10[expoente];
+        } else if (expoente < 0 && expoente >= -22) {
+            valor = mantissa / POTENCIAS_10[-expoente];
+        } else if (expoente > 22 && expoente <= 22 + (15 - digitos)) {
+            // Parte do expoente cabe na mantissa sem perda; o restante é uma única multiplicação
+            valor = (mantissa * POTENCIAS_10[expoente - 22]) * POTENCIAS_10[22];
+        } else {
+            return lerDoubleLento(dados, inicio, fim);
+        }
+        return negativo ? -valor : valor;
+    }
+
+    private static double lerDoubleLento(ByteBuffer dados, int inicio, int fim) {
+        try {
+            return Double.parseDouble(texto(dados, inicio, fim));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    static long lerLong(ByteBuffer dados, int inicio, int fim) {
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fim && (dados.get(i) == '-' || dados.get(i) == '+')) {
+            negativo = dados.get(i) == '-';
+            i++;
+        }
+        if (i == fim) throw new NumberFormatException();
+
+        long valor = 0;
+        for (; i < fim; i++) {
+            byte b = dados.get(i);
+            if (!eDigito(b)) throw new NumberFormatException();
+            // Acumula em negativo para aceitar Long.MIN_VALUE
+            long proximo = valor * 10 - (b - '0');
+            if (valor < Long.MIN_VALUE / 10 || proximo > valor) throw new NumberFormatException();
+            valor = proximo;
+        }
+        if (!negativo) {
+            if (valor == Long.MIN_VALUE) throw new NumberFormatException();
+            valor = -valor;
+        }
+        return valor;
+    }
+
+    // --- Auxiliares de bytes ---
+
+    private static boolean eDigito(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean eEspaco(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static int inicioSemEspaco(ByteBuffer dados, int inicio, int fim) {
+        while (inicio < fim && eEspaco(dados.get(inicio))) inicio++;
+        return inicio;
+    }
+
+    private static int fimSemEspaco(ByteBuffer dados, int inicio, int fim) {
+        while (fim > inicio && eEspaco(dados.get(fim - 1))) fim--;
+        return fim;
+    }
+
+    private static boolean igualIgnorandoCaixa(ByteBuffer dados, int inicio, int fim, String esperado) {
+        if (fim - inicio != esperado.length()) return false;
+        for (int i = 0; i < esperado.length(); i++) {
+            int b = dados.get(inicio + i);
+            if (b >= 'a' && b <= 'z') b -= 'a' - 'A';
+            if (b != Character.toUpperCase(esperado.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static String texto(ByteBuffer dados, int inicio, int fim) {
+        byte[] bytes = new byte[fim - inicio];
+        dados.get(inicio, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.CorpoCeleste;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Mantém esta instância em dia com as alterações que outras instâncias fazem no mesmo banco.
+// Uma conexão dedicada (fora do pool) faz LISTEN no canal do gatilho de corpos_celestes e uma
+// thread lê as notificações com PGConnection.getNotifications. As alterações feitas pela própria
+// instância (mesma origem no payload) são ignoradas. O gatilho notifica uma vez por comando, com
+// os ids afetados em faixas; os ids recebidos de uma vez são agrupados, as linhas atuais são lidas
+// com "id = ANY(?)" e o destino recebe só o delta.
+public class OuvinteNotificacoes {
+
+    // gravados: linhas inseridas ou alteradas, no estado atual; removidos: ids que não existem mais
+    public record Alteracoes(List<CorpoCeleste> gravados, Set<Integer> removidos) {
+    }
+
+    private static final int ESPERA_NOTIFICACAO_MS = 500;
+    // Esperas sem notificação até testar se a conexão ainda está viva (~30 s)
+    private static final int ESPERAS_ATE_VALIDAR = 60;
+    private static final long ESPERA_RECONEXAO_MS = 5_000;
+    // Ids por consulta "id = ANY(?)" (ex.: depois de uma carga grande feita por outra instância)
+    private static final int MAXIMO_IDS_POR_LEITURA = 1_000;
+
+    private final CorpoCelesteDAO dao;
+    private final Consumer<Alteracoes> destino;
+    private final String origem;
+    private final Thread leitor;
+    private volatile boolean encerrando;
+
+    // destino é chamado na thread do ouvinte; quem altera a coleção deve repassar para a sua thread
+    public OuvinteNotificacoes(CorpoCelesteDAO dao, Consumer<Alteracoes> destino) {
+        this.dao = dao;
+        this.destino = destino;
+        this.origem = ConexaoBanco.getOrigem();
+        this.leitor = new Thread(this::executar, "astrodata-notificacoes");
+        this.leitor.setDaemon(true);
+    }
+
+    public void iniciar() {
+        leitor.start();
+    }
+
+    // Para a thread e fecha a conexão dedicada (espera no máximo uma rodada de getNotifications)
+    public void encerrar() {
+        encerrando = true;
+        // Acorda a espera entre tentativas de reconexão
+        leitor.interrupt();
+        try {
+            leitor.join(ESPERA_NOTIFICACAO_MS * 4L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Reconecta enquanto não for encerrado; o aviso sai só na primeira falha de cada queda
+    private void executar() {
+        boolean conectado = false;
+        boolean avisado = false;
+        while (!encerrando) {
+            try (Connection conexao = ConexaoBanco.abrirConexaoDedicada()) {
+                try (Statement stmt = conexao.createStatement()) {
+                    stmt.execute("LISTEN " + CorpoCelesteDAO.CANAL_NOTIFICACOES);
+                }
+                if (avisado && conectado) {
+                    System.err.println("Aviso: notificações do banco restabelecidas; alterações feitas por outras "
+                            + "instâncias durante a queda só aparecem ao recarregar o catálogo");
+                }
+                conectado = true;
+                avisado = false;
+                escutar(conexao);
+            } catch (SQLException e) {
+                if (encerrando) break;
+                if (!avisado) {
+                    System.err.println("Aviso: notificações do banco indisponíveis (" + e.getMessage() + ")");
+                    avisado = true;
+                }
+                dormir(ESPERA_RECONEXAO_MS);
+            } catch (RuntimeException e) {
+                // Falha no destino: descarta o lote e volta a ouvir
+                System.err.println("Erro aplicando alterações de outras instâncias: " + e.getMessage());
+            }
+        }
+    }
+
+    private void escutar(Connection conexao) throws SQLException {
+        PGConnection pg = conexao.unwrap(PGConnection.class);
+        int esperasVazias = 0;
+        while (!encerrando) {
+            PGNotification[] notificacoes = pg.getNotifications(ESPERA_NOTIFICACAO_MS);
+            if (notificacoes == null || notificacoes.length == 0) {
+                // Uma conexão derrubada sem aviso (rede) só é percebida ao usá-la
+                if (++esperasVazias >= ESPERAS_ATE_VALIDAR) {
+                    esperasVazias = 0;
+                    if (!conexao.isValid(2)) throw new SQLException("Conexão de notificações perdida");
+                }
+                continue;
+            }
+            esperasVazias = 0;
+
+            // Vale a última operação de cada id (ids SERIAL não voltam depois de removidos)
+            Set<Integer> gravados = new LinkedHashSet<>();
+            Set<Integer> removidos = new LinkedHashSet<>();
+            for (PGNotification notificacao : notificacoes) {
+                // "operação;origem;faixas"
+                String[] partes = notificacao.getParameter().split(";", 3);
+                if (partes.length < 3 || origem.equals(partes[1])) continue;
+                boolean remocao = partes[0].equals("D");
+                for (String faixa : partes[2].split(",")) {
+                    int separador = faixa.indexOf('-');
+                    int inicio;
+                    int fim;
+                    try {
+                        inicio = Integer.parseInt(faixa.substring(0, Math.max(separador, 0)));
+                        fim = Integer.parseInt(faixa.substring(separador + 1));
+                    } catch (NumberFormatException e) {
+                        continue;
+                    }
+                    for (long i = inicio; i <= fim; i++) {
+                        int id = (int) i;
+                        if (remocao) {
+                            gravados.remove(id);
+                            removidos.add(id);
+                        } else {
+                            removidos.remove(id);
+                            gravados.add(id);
+                        }
+                    }
+                }
+            }
+            if (!gravados.isEmpty() || !removidos.isEmpty()) entregar(gravados, removidos);
+        }
+    }
+
+    // Lê o estado atual dos ids gravados; os que sumiram nesse meio-tempo contam como removidos
+    private void entregar(Set<Integer> ids, Set<Integer> removidos) throws SQLException {
+        List<Integer> pendentes = new ArrayList<>(ids);
+        for (int inicio = 0; inicio < pendentes.size(); inicio += MAXIMO_IDS_POR_LEITURA) {
+            List<Integer> parte = pendentes.subList(inicio, Math.min(inicio + MAXIMO_IDS_POR_LEITURA, pendentes.size()));
+            List<CorpoCeleste> gravados = dao.buscarPorIds(parte);
+            Set<Integer> ausentes = new LinkedHashSet<>(parte);
+            for (CorpoCeleste corpo : gravados) ausentes.remove(corpo.getId());
+            // As remoções vão junto com a primeira parte
+            if (inicio == 0) ausentes.addAll(removidos);
+            destino.accept(new Alteracoes(gravados, ausentes));
+        }
+        if (pendentes.isEmpty()) destino.accept(new Alteracoes(List.of(), removidos));
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
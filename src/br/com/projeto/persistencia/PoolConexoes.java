@@ -0,0 +1,468 @@
+package br.com.projeto.persistencia;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Pool de conexões JDBC com tamanho limitado.
+// Cada conexão física é reaproveitada entre as chamadas do DAO e mantém um cache
+// próprio de PreparedStatements. O "close()" da conexão entregue ao chamador apenas
+// devolve a conexão física ao pool.
+public class PoolConexoes {
+
+    private final String url;
+    private final Properties propriedades;
+    private final int tamanhoMaximo;
+    private final long esperaMaximaNanos;
+    private final long validarAposOciosoNanos;
+    private final int statementsPorConexao;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition liberada = lock.newCondition();
+
+    // Pilha (LIFO): a conexão usada mais recentemente tem mais chance de continuar válida
+    private final Deque<ConexaoFisica> ociosas = new ArrayDeque<>();
+    private int totalAbertas;
+    private int ativas;
+    private boolean fechado;
+
+    // --- Métricas ---
+    private long emprestimos;
+    private long esperas;
+    private long nanosEsperaTotal;
+    private long nanosEsperaMaxima;
+
+    public PoolConexoes(String url, String usuario, String senha, String nomeAplicacao, int tamanhoMaximo,
+                        long esperaMaximaMs, long validarAposOciosoMs, int statementsPorConexao) {
+        if (tamanhoMaximo <= 0) throw new IllegalArgumentException("Tamanho do pool deve ser positivo");
+        this.url = url;
+        this.propriedades = new Properties();
+        this.propriedades.setProperty("user", usuario);
+        this.propriedades.setProperty("password", senha);
+        // Evita que a aplicação trave por muito tempo quando o servidor está fora do ar
+        this.propriedades.setProperty("connectTimeout", "5");
+        this.propriedades.setProperty("ApplicationName", nomeAplicacao);
+        // Lotes de INSERT viram INSERTs de múltiplas linhas (menos round trips)
+        this.propriedades.setProperty("reWriteBatchedInserts", "true");
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+        this.validarAposOciosoNanos = TimeUnit.MILLISECONDS.toNanos(validarAposOciosoMs);
+        this.statementsPorConexao = statementsPorConexao;
+    }
+
+    // Empresta uma conexão. Bloqueia (até o tempo limite) quando todas estão em uso.
+    public Connection obter() throws SQLException {
+        long inicio = System.nanoTime();
+        long restante = esperaMaximaNanos;
+        boolean esperou = false;
+
+        while (true) {
+            ConexaoFisica candidata = null;
+            boolean criarNova = false;
+
+            lock.lock();
+            try {
+                while (!fechado && ociosas.isEmpty() && totalAbertas >= tamanhoMaximo) {
+                    if (restante <= 0) {
+                        throw new SQLException("Tempo de espera por conexão esgotado (pool com "
+                                + tamanhoMaximo + " conexões em uso)");
+                    }
+                    esperou = true;
+                    try {
+                        restante = liberada.awaitNanos(restante);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Espera por conexão interrompida", e);
+                    }
+                }
+                if (fechado) throw new SQLNonTransientConnectionException("Pool de conexões encerrado");
+
+                if (!ociosas.isEmpty()) {
+                    candidata = ociosas.pop();
+                } else {
+                    totalAbertas++;
+                    criarNova = true;
+                }
+                ativas++;
+            } finally {
+                lock.unlock();
+            }
+
+            if (criarNova) {
+                try {
+                    candidata = new ConexaoFisica(DriverManager.getConnection(url, propriedades));
+                } catch (SQLException e) {
+                    descartar(null);
+                    throw e;
+                }
+            } else if (!validar(candidata)) {
+                descartar(candidata);
+                continue;
+            }
+
+            registrarEmprestimo(esperou ? System.nanoTime() - inicio : -1);
+            return candidata.emprestar();
+        }
+    }
+
+    // Conexão física fora do pool, para quem a mantém aberta o tempo todo (ex.: LISTEN).
+    // Não conta no limite do pool; quem abriu deve fechá-la.
+    public Connection abrirDedicada() throws SQLException {
+        lock.lock();
+        try {
+            if (fechado) throw new SQLNonTransientConnectionException("Pool de conexões encerrado");
+        } finally {
+            lock.unlock();
+        }
+        return DriverManager.getConnection(url, propriedades);
+    }
+
+    // Conexões paradas podem ter sido derrubadas pelo servidor ou pela rede. Dentro da janela curta
+    // depois de um uso bem-sucedido o teste (uma ida ao servidor) é dispensado; uma conexão que deu
+    // erro de conexão (SQLState 08xxx) nem volta para as ociosas
+    private boolean validar(ConexaoFisica conexao) {
+        if (System.nanoTime() - conexao.ociosaDesde < validarAposOciosoNanos) return true;
+        try {
+            return conexao.real.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void registrarEmprestimo(long nanosEspera) {
+        lock.lock();
+        try {
+            emprestimos++;
+            if (nanosEspera >= 0) {
+                esperas++;
+                nanosEsperaTotal += nanosEspera;
+                nanosEsperaMaxima = Math.max(nanosEsperaMaxima, nanosEspera);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void devolver(ConexaoFisica conexao) {
+        boolean reaproveitar = conexao.restaurarEstado();
+        lock.lock();
+        try {
+            ativas--;
+            if (reaproveitar && !fechado) {
+                conexao.ociosaDesde = System.nanoTime();
+                ociosas.push(conexao);
+                liberada.signal();
+                return;
+            }
+            totalAbertas--;
+            liberada.signal();
+        } finally {
+            lock.unlock();
+        }
+        conexao.fecharFisica();
+    }
+
+    private void descartar(ConexaoFisica conexao) {
+        lock.lock();
+        try {
+            ativas--;
+            totalAbertas--;
+            liberada.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (conexao != null) conexao.fecharFisica();
+    }
+
+    public MetricasPool getMetricas() {
+        lock.lock();
+        try {
+            return new MetricasPool(ativas, ociosas.size(), totalAbertas, tamanhoMaximo,
+                    emprestimos, esperas,
+                    TimeUnit.NANOSECONDS.toMillis(nanosEsperaTotal),
+                    TimeUnit.NANOSECONDS.toMillis(nanosEsperaMaxima));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Fecha as conexões ociosas; as que estiverem emprestadas são fechadas na devolução
+    public void fechar() {
+        Deque<ConexaoFisica> paraFechar;
+        lock.lock();
+        try {
+            fechado = true;
+            paraFechar = new ArrayDeque<>(ociosas);
+            totalAbertas -= ociosas.size();
+            ociosas.clear();
+            liberada.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        paraFechar.forEach(ConexaoFisica::fecharFisica);
+    }
+
+    // Snapshot imutável das métricas do pool
+    public record MetricasPool(int ativas, int ociosas, int abertas, int tamanhoMaximo,
+                               long emprestimos, long esperas,
+                               long tempoEsperaTotalMs, long tempoEsperaMaximoMs) {
+
+        public double getTempoMedioEsperaMs() {
+            return esperas == 0 ? 0.0 : (double) tempoEsperaTotalMs / esperas;
+        }
+    }
+
+    // --- Conexão física e seus proxies ---
+
+    private final class ConexaoFisica {
+
+        private final Connection real;
+        private final Map<String, PreparedStatement> cacheStatements;
+        // Statements do cache que estão emprestados no momento (evita uso duplo do mesmo objeto)
+        private final Map<PreparedStatement, StatementEmprestado> statementsEmUso = new IdentityHashMap<>();
+        private long ociosaDesde = System.nanoTime();
+
+        ConexaoFisica(Connection real) throws SQLException {
+            this.real = real;
+            try {
+                this.isolamentoPadrao = real.getTransactionIsolation();
+                this.somenteLeituraPadrao = real.isReadOnly();
+            } catch (SQLException e) {
+                fecharSilenciosamente(real);
+                throw e;
+            }
+            // LRU: ao passar do limite, o statement usado há mais tempo é fechado
+            this.cacheStatements = new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> maisAntigo) {
+                    if (size() <= statementsPorConexao || statementsEmUso.containsKey(maisAntigo.getValue())) {
+                        return false;
+                    }
+                    fecharSilenciosamente(maisAntigo.getValue());
+                    return true;
+                }
+            };
+        }
+
+        // Isolamento e somente-leitura com que a conexão foi aberta (o estado a restaurar na devolução)
+        private final int isolamentoPadrao;
+        private final boolean somenteLeituraPadrao;
+        // Alterados pelo chamador atual; só então a devolução gasta idas ao servidor para restaurá-los
+        private boolean isolamentoAlterado;
+        private boolean somenteLeituraAlterado;
+        // Houve erro de conexão: a conexão é descartada na devolução
+        private boolean quebrada;
+
+        Connection emprestar() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConexaoEmprestada(this));
+        }
+
+        PreparedStatement prepararComCache(Method metodo, Object[] args) throws Throwable {
+            String chave = metodo.getName() + Arrays.deepToString(args);
+            PreparedStatement stmt = cacheStatements.get(chave);
+
+            if (stmt == null || stmt.isClosed()) {
+                stmt = (PreparedStatement) invocar(metodo, real, args);
+                if (statementsPorConexao <= 0) return stmt;
+                cacheStatements.put(chave, stmt);
+            } else if (statementsEmUso.containsKey(stmt)) {
+                // Mesmo SQL aberto duas vezes na mesma conexão: o segundo não entra no cache
+                return (PreparedStatement) invocar(metodo, real, args);
+            }
+
+            StatementEmprestado emprestimo = new StatementEmprestado(this, stmt);
+            statementsEmUso.put(stmt, emprestimo);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, emprestimo);
+        }
+
+        // Chamada ao objeto real; um erro de conexão marca a conexão para descarte
+        Object invocarNaConexao(Method metodo, Object alvo, Object[] args) throws Throwable {
+            try {
+                return invocar(metodo, alvo, args);
+            } catch (SQLException e) {
+                if (e.getSQLState() != null && e.getSQLState().startsWith("08")) quebrada = true;
+                throw e;
+            }
+        }
+
+        private void limparParaReuso(PreparedStatement stmt) {
+            try {
+                stmt.clearParameters();
+                stmt.clearBatch();
+                stmt.setFetchSize(0);
+                stmt.setMaxRows(0);
+            } catch (SQLException e) {
+                cacheStatements.values().remove(stmt);
+                fecharSilenciosamente(stmt);
+            }
+        }
+
+        // Desfaz alterações de estado deixadas pelo chamador (transação aberta, autocommit, isolamento,
+        // somente-leitura, statements não fechados). Retorna false se a conexão deve ser descartada.
+        boolean restaurarEstado() {
+            // Statements que o chamador não fechou deixam de valer, mesmo que a conexão seja descartada
+            List<StatementEmprestado> abertos = new ArrayList<>(statementsEmUso.values());
+            statementsEmUso.clear();
+            abertos.forEach(emprestimo -> emprestimo.devolvido = true);
+            try {
+                if (quebrada || real.isClosed()) return false;
+                if (!real.getAutoCommit()) {
+                    real.rollback();
+                    real.setAutoCommit(true);
+                }
+                // Fora de transação: o isolamento pode ser trocado
+                if (isolamentoAlterado) {
+                    real.setTransactionIsolation(isolamentoPadrao);
+                    isolamentoAlterado = false;
+                }
+                if (somenteLeituraAlterado) {
+                    real.setReadOnly(somenteLeituraPadrao);
+                    somenteLeituraAlterado = false;
+                }
+                for (StatementEmprestado emprestimo : abertos) limparParaReuso(emprestimo.real);
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void fecharFisica() {
+            cacheStatements.values().forEach(PoolConexoes::fecharSilenciosamente);
+            cacheStatements.clear();
+            try {
+                real.close();
+            } catch (SQLException ignored) {
+                // A conexão já estava inutilizada
+            }
+        }
+    }
+
+    private final class ConexaoEmprestada implements InvocationHandler {
+
+        private ConexaoFisica fisica;
+
+        ConexaoEmprestada(ConexaoFisica fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            switch (nome) {
+                case "close" -> {
+                    if (fisica != null) {
+                        ConexaoFisica devolvida = fisica;
+                        fisica = null;
+                        devolver(devolvida);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return fisica == null || fisica.real.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "ConexaoPool[" + (fisica == null ? "devolvida" : fisica.real) + "]";
+                }
+                default -> {
+                }
+            }
+
+            if (fisica == null) throw new SQLException("Conexão já devolvida ao pool");
+
+            if ("prepareStatement".equals(nome)) {
+                return fisica.prepararComCache(metodo, args);
+            }
+            if ("setTransactionIsolation".equals(nome)) fisica.isolamentoAlterado = true;
+            if ("setReadOnly".equals(nome)) fisica.somenteLeituraAlterado = true;
+            return fisica.invocarNaConexao(metodo, fisica.real, args);
+        }
+    }
+
+    // PreparedStatement do cache entregue ao chamador. Depois do close() (ou da devolução da conexão)
+    // o objeto real pode já estar com outro chamador: este proxy passa a recusar as chamadas.
+    private static final class StatementEmprestado implements InvocationHandler {
+
+        private final ConexaoFisica fisica;
+        private final PreparedStatement real;
+        private boolean devolvido;
+
+        StatementEmprestado(ConexaoFisica fisica, PreparedStatement real) {
+            this.fisica = fisica;
+            this.real = real;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close" -> {
+                    if (!devolvido) {
+                        devolvido = true;
+                        fisica.statementsEmUso.remove(real);
+                        fisica.limparParaReuso(real);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return devolvido || real.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "StatementPool[" + (devolvido ? "fechado" : real) + "]";
+                }
+                default -> {
+                }
+            }
+            if (devolvido) throw new SQLException("PreparedStatement já fechado");
+            return fisica.invocarNaConexao(metodo, real, args);
+        }
+    }
+
+    private static Object invocar(Method metodo, Object alvo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void fecharSilenciosamente(AutoCloseable recurso) {
+        try {
+            recurso.close();
+        } catch (Exception ignored) {
+            // Fechamento de melhor esforço
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.CorpoCeleste;
+import br.com.projeto.modelo.Estrela;
+import br.com.projeto.modelo.Planeta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// Snapshot binário da coleção, para a inicialização não precisar do banco nem do dados.txt.
+// Layout (little-endian):
+//  - cabeçalho de 64 bytes: "ASTRSNAP", versão do formato, quantidade, data de criação,
+//    tamanho do conteúdo, CRC32C do conteúdo e quantidade de tipos espectrais
+//  - conteúdo em colunas, cada seção alinhada em 8 bytes:
+//    ids int[n] | tipos byte[n] | habitáveis (bits) long[] | massas double[n] | distâncias long[n]
+//    | códigos espectrais int[n] | fim de cada nome int[n] | nomes UTF-8 | dicionário espectral
+// Na leitura o arquivo é mapeado em memória e as colunas são lidas direto do mapeamento.
+public final class SnapshotBinario {
+
+    private static final byte[] ASSINATURA = "ASTRSNAP".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSAO_FORMATO = 1;
+    private static final int TAMANHO_CABECALHO = 64;
+    private static final int TAMANHO_BUFFER_ESCRITA = 1 << 20;
+
+    // Valores das colunas de tipo e de código espectral (planetas não têm tipo espectral)
+    private static final byte TIPO_PLANETA = 0;
+    private static final byte TIPO_ESTRELA = 1;
+    private static final int SEM_ESPECTRAL = -1;
+
+    private SnapshotBinario() {
+    }
+
+    public record Cabecalho(int versaoFormato, int quantidade, long criadoEmMillis, long tamanhoConteudo,
+                            int crc32c, int quantidadeEspectrais) {
+    }
+
+    // --- Escrita ---
+
+    // Grava num arquivo temporário e troca pelo definitivo no final, para nunca deixar um snapshot pela metade
+    public static void gravar(Path arquivo, Collection<? extends CorpoCeleste> corpos) throws IOException {
+        List<CorpoCeleste> lista = new ArrayList<>(corpos);
+        int n = lista.size();
+
+        List<String> dicionario = new ArrayList<>();
+        Map<String, Integer> codigos = new HashMap<>();
+        byte[][] nomes = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            CorpoCeleste c = lista.get(i);
+            nomes[i] = c.getNome() == null ? new byte[0] : c.getNome().getBytes(StandardCharsets.UTF_8);
+            if (c instanceof Estrela e && e.getTipoEspectral() != null) {
+                codigos.computeIfAbsent(e.getTipoEspectral(), t -> {
+                    dicionario.add(t);
+                    return dicionario.size() - 1;
+                });
+            }
+        }
+
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        if (pasta != null) Files.createDirectories(pasta);
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Escritor out = new Escritor(canal);
+
+            for (CorpoCeleste c : lista) out.putInt(c.getId());
+            out.alinhar();
+            for (CorpoCeleste c : lista) out.put(c instanceof Planeta ? TIPO_PLANETA : TIPO_ESTRELA);
+            out.alinhar();
+            long palavra = 0;
+            for (int i = 0; i < n; i++) {
+                if (lista.get(i) instanceof Planeta p && p.isHabitavel()) palavra |= 1L << (i & 63);
+                if ((i & 63) == 63) {
+                    out.putLong(palavra);
+                    palavra = 0;
+                }
+            }
+            if ((n & 63) != 0) out.putLong(palavra);
+            for (CorpoCeleste c : lista) out.putDouble(c.getMassaKg());
+            for (CorpoCeleste c : lista) out.putLong(c.getDistanciaEmAnosLuz());
+            for (CorpoCeleste c : lista) {
+                out.putInt(c instanceof Estrela e && e.getTipoEspectral() != null
+                        ? codigos.get(e.getTipoEspectral()) : SEM_ESPECTRAL);
+            }
+            long fimNome = 0;
+            for (byte[] nome : nomes) {
+                fimNome += nome.length;
+                if (fimNome > Integer.MAX_VALUE) throw new IOException("Nomes ultrapassam o limite do formato");
+                out.putInt((int) fimNome);
+            }
+            out.alinhar();
+            for (byte[] nome : nomes) out.put(nome);
+            out.alinhar();
+            for (String tipo : dicionario) {
+                byte[] bytes = tipo.getBytes(StandardCharsets.UTF_8);
+                out.putInt(bytes.length);
+                out.put(bytes);
+            }
+            out.alinhar();
+            long tamanhoConteudo = out.finalizar();
+
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+            cabecalho.put(ASSINATURA)
+                    .putInt(VERSAO_FORMATO)
+                    .putInt(n)
+                    .putLong(System.currentTimeMillis())
+                    .putLong(tamanhoConteudo)
+                    .putInt((int) out.crc.getValue())
+                    .putInt(dicionario.size());
+            cabecalho.clear();
+            while (cabecalho.hasRemaining()) canal.write(cabecalho, cabecalho.position());
+            canal.force(false);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Escrita bufferizada que calcula o CRC do conteúdo enquanto grava
+    private static final class Escritor {
+        private final FileChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER_ESCRITA).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long escritos;
+
+        Escritor(FileChannel canal) throws IOException {
+            this.canal = canal;
+            canal.position(TAMANHO_CABECALHO);
+        }
+
+        void put(byte valor) throws IOException {
+            garantir(1);
+            buffer.put(valor);
+        }
+
+        void putInt(int valor) throws IOException {
+            garantir(4);
+            buffer.putInt(valor);
+        }
+
+        void putLong(long valor) throws IOException {
+            garantir(8);
+            buffer.putLong(valor);
+        }
+
+        void putDouble(double valor) throws IOException {
+            garantir(8);
+            buffer.putDouble(valor);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                garantir(1);
+                int parte = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, parte);
+                offset += parte;
+            }
+        }
+
+        void alinhar() throws IOException {
+            while (((escritos + buffer.position()) & 7) != 0) put((byte) 0);
+        }
+
+        long finalizar() throws IOException {
+            descarregar();
+            return escritos;
+        }
+
+        private void garantir(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) descarregar();
+        }
+
+        private void descarregar() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            escritos += buffer.remaining();
+            while (buffer.hasRemaining()) canal.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    // --- Leitura ---
+
+    public static Cabecalho lerCabecalho(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                if (canal.read(buffer, buffer.position()) < 0) throw new IOException("Snapshot truncado");
+            }
+            buffer.flip();
+            Cabecalho cabecalho = interpretarCabecalho(buffer);
+            if (canal.size() != TAMANHO_CABECALHO + cabecalho.tamanhoConteudo()) {
+                throw new IOException("Tamanho do snapshot não confere com o cabeçalho");
+            }
+            return cabecalho;
+        }
+    }
+
+    // Fresco = válido, mais novo que o arquivo de origem (se houver) e dentro da idade máxima
+    public static boolean estaAtualizado(Path arquivo, Path origem, Duration idadeMaxima) {
+        if (!Files.isRegularFile(arquivo)) return false;
+        try {
+            Cabecalho cabecalho = lerCabecalho(arquivo);
+            long idade = System.currentTimeMillis() - cabecalho.criadoEmMillis();
+            if (idade < 0 || idade > idadeMaxima.toMillis()) return false;
+            return origem == null || !Files.exists(origem)
+                    || Files.getLastModifiedTime(origem).toMillis() <= cabecalho.criadoEmMillis();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Entrega os corpos na ordem em que foram gravados
+    public static Cabecalho ler(Path arquivo, Consumer<? super CorpoCeleste> destino) throws IOException {
+        return ler(arquivo, (colunas, i) -> {
+            String nome = colunas.nome(i);
+            CorpoCeleste corpo = (colunas.tipos.get(i) == TIPO_PLANETA)
+                    ? new Planeta(nome, colunas.massas.get(i), colunas.distancias.get(i), colunas.habitavel(i))
+                    : new Estrela(nome, colunas.massas.get(i), colunas.distancias.get(i), colunas.espectral(i));
+            corpo.setId(colunas.ids.get(i));
+            destino.accept(corpo);
+        });
+    }
+
+    @FunctionalInterface
+    private interface LeitorLinha {
+        void ler(Colunas colunas, int linha);
+    }
+
+    private static Cabecalho ler(Path arquivo, LeitorLinha leitor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho > Integer.MAX_VALUE) throw new IOException("Snapshot grande demais para mapear: " + tamanho);
+            if (tamanho < TAMANHO_CABECALHO) throw new IOException("Snapshot truncado");
+
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            mapa.order(ByteOrder.LITTLE_ENDIAN);
+            Cabecalho cabecalho = interpretarCabecalho(mapa.slice(0, TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN));
+            if (tamanho != TAMANHO_CABECALHO + cabecalho.tamanhoConteudo()) {
+                throw new IOException("Tamanho do snapshot não confere com o cabeçalho");
+            }
+
+            ByteBuffer conteudo = mapa.slice(TAMANHO_CABECALHO, (int) cabecalho.tamanhoConteudo()).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            crc.update(conteudo.duplicate());
+            if ((int) crc.getValue() != cabecalho.crc32c()) throw new IOException("Checksum do snapshot inválido");
+            // Cada linha ocupa ao menos 29 bytes nas colunas de tamanho fixo
+            if ((long) cabecalho.quantidade() * 29 > cabecalho.tamanhoConteudo()) {
+                throw new IOException("Quantidade de linhas incompatível com o tamanho do snapshot");
+            }
+
+            Colunas colunas = new Colunas(conteudo, cabecalho.quantidade(), cabecalho.quantidadeEspectrais());
+            for (int i = 0; i < cabecalho.quantidade(); i++) leitor.ler(colunas, i);
+            return cabecalho;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Snapshot corrompido: " + e.getMessage(), e);
+        }
+    }
+
+    private static Cabecalho interpretarCabecalho(ByteBuffer buffer) throws IOException {
+        byte[] assinatura = new byte[ASSINATURA.length];
+        buffer.get(assinatura);
+        if (!Arrays.equals(assinatura, ASSINATURA)) throw new IOException("Arquivo não é um snapshot do AstroData");
+        int versao = buffer.getInt();
+        if (versao != VERSAO_FORMATO) throw new IOException("Versão de snapshot não suportada: " + versao);
+        Cabecalho cabecalho = new Cabecalho(versao, buffer.getInt(), buffer.getLong(), buffer.getLong(),
+                buffer.getInt(), buffer.getInt());
+        if (cabecalho.quantidade() < 0 || cabecalho.tamanhoConteudo() < 0 || cabecalho.quantidadeEspectrais() < 0) {
+            throw new IOException("Cabeçalho de snapshot inválido");
+        }
+        return cabecalho;
+    }
+
+    // Visões tipadas sobre as seções do arquivo mapeado
+    private static final class Colunas {
+        final IntBuffer ids;
+        final ByteBuffer tipos;
+        final LongBuffer habitaveis;
+        final DoubleBuffer massas;
+        final LongBuffer distancias;
+        final IntBuffer espectrais;
+        final IntBuffer fimNomes;
+        final ByteBuffer nomes;
+        final String[] dicionario;
+
+        Colunas(ByteBuffer conteudo, int n, int quantidadeEspectrais) {
+            int pos = 0;
+            ids = secao(conteudo, pos, n * 4).asIntBuffer();
+            pos = alinhado(pos + n * 4);
+            tipos = secao(conteudo, pos, n);
+            pos = alinhado(pos + n);
+            int palavras = (n + 63) >>> 6;
+            habitaveis = secao(conteudo, pos, palavras * 8).asLongBuffer();
+            pos += palavras * 8;
+            massas = secao(conteudo, pos, n * 8).asDoubleBuffer();
+            pos += n * 8;
+            distancias = secao(conteudo, pos, n * 8).asLongBuffer();
+            pos += n * 8;
+            espectrais = secao(conteudo, pos, n * 4).asIntBuffer();
+            pos += n * 4;
+            fimNomes = secao(conteudo, pos, n * 4).asIntBuffer();
+            pos = alinhado(pos + n * 4);
+            int bytesNomes = n == 0 ? 0 : fimNomes.get(n - 1);
+            nomes = secao(conteudo, pos, bytesNomes);
+            pos = alinhado(pos + bytesNomes);
+
+            // Cada tipo espectral vira uma única String compartilhada por todas as estrelas que o usam
+            dicionario = new String[quantidadeEspectrais];
+            for (int i = 0; i < quantidadeEspectrais; i++) {
+                int tamanho = conteudo.getInt(pos);
+                dicionario[i] = texto(conteudo, pos + 4, tamanho);
+                pos += 4 + tamanho;
+            }
+        }
+
+        String nome(int linha) {
+            int inicio = linha == 0 ? 0 : fimNomes.get(linha - 1);
+            return texto(nomes, inicio, fimNomes.get(linha) - inicio);
+        }
+
+        boolean habitavel(int linha) {
+            return (habitaveis.get(linha >>> 6) & (1L << (linha & 63))) != 0;
+        }
+
+        String espectral(int linha) {
+            int codigo = espectrais.get(linha);
+            return codigo == SEM_ESPECTRAL ? null : dicionario[codigo];
+        }
+
+        private static ByteBuffer secao(ByteBuffer conteudo, int inicio, int tamanho) {
+            return conteudo.slice(inicio, tamanho).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private static int alinhado(int pos) {
+            return (pos + 7) & ~7;
+        }
+
+        private static String texto(ByteBuffer buffer, int inicio, int tamanho) {
+            byte[] bytes = new byte[tamanho];
+            buffer.get(inicio, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -17,14 +17,15 @@ public class MainApp {
             System.err.println("Aviso: Não foi possível carregar o visual nativo (" + e.getMessage() + ")");
         }
 
-        // 2. Inicializa o Backend
-        GerenciadorCorposCelestes gerenciador = new GerenciadorCorposCelestes();
+        // 2. Inicializa o Backend (vazio: o catálogo é carregado depois, sem travar a abertura)
+        GerenciadorCorposCelestes gerenciador = new GerenciadorCorposCelestes(false);
 
-        // 3. Inicia a Interface
+        // 3. Inicia a Interface e dispara a carga em segundo plano
         SwingUtilities.invokeLater(() -> {
             // Corrige o aviso "New instance ignored" atribuindo a uma variável
             MainFrame frame = new MainFrame(gerenciador);
             frame.setVisible(true);
+            frame.carregarCatalogo();
         });
     }
 }
\ No newline at end of file
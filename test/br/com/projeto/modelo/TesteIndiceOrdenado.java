@@ -0,0 +1,125 @@
+package br.com.projeto.modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+// Confere a treap do IndiceOrdenado contra uma lista ordenada na força bruta: k maiores, contagens,
+// faixas nas duas direções e o desempate pelo id (sem id = depois de todos, na ordem de inclusão).
+// Executar com: java -cp <classes>:<classes de teste> br.com.projeto.modelo.TesteIndiceOrdenado
+public class TesteIndiceOrdenado {
+
+    private record Elemento(int chave, double valor, long desempate) {
+    }
+
+    private static final Comparator<Elemento> ORDEM =
+            Comparator.comparingDouble(Elemento::valor).thenComparingLong(Elemento::desempate);
+
+    public static void main(String[] args) {
+        empatesPeloId();
+        semIdDepoisDosComId();
+        definirIdReposiciona();
+        comparacaoAleatoria(new Random(42));
+        System.out.println("SUCESSO! IndiceOrdenado");
+    }
+
+    private static void empatesPeloId() {
+        IndiceOrdenado indice = new IndiceOrdenado();
+        // Chaves fora da ordem dos ids, todas com o mesmo valor
+        indice.adicionar(0, 5.0, 30);
+        indice.adicionar(1, 5.0, 10);
+        indice.adicionar(2, 5.0, 20);
+        indice.adicionar(3, 9.0, 1);
+        verificar(Arrays.equals(indice.maiores(4), new int[]{3, 0, 2, 1}), "maiores: empate pelo id decrescente");
+        verificar(Arrays.equals(chaves(indice.intervalo(5.0, 5.0)), new int[]{1, 2, 0}), "faixa crescente: id crescente");
+        verificar(Arrays.equals(chaves(indice.intervaloDecrescente(5.0, 5.0)), new int[]{0, 2, 1}),
+                "faixa decrescente: id decrescente");
+        verificar(indice.contar(5.0, 5.0) == 3, "contar faixa de um valor só");
+    }
+
+    private static void semIdDepoisDosComId() {
+        IndiceOrdenado indice = new IndiceOrdenado();
+        indice.adicionar(0, 1.0, 0);
+        indice.adicionar(1, 1.0, 7);
+        indice.adicionar(2, 1.0, 0);
+        indice.adicionar(3, 1.0, Integer.MAX_VALUE);
+        verificar(Arrays.equals(chaves(indice.intervalo(1.0, 1.0)), new int[]{1, 3, 0, 2}),
+                "sem id: depois do maior id, na ordem de inclusão");
+    }
+
+    private static void definirIdReposiciona() {
+        IndiceOrdenado indice = new IndiceOrdenado();
+        indice.adicionar(0, 2.0, 0);
+        indice.adicionar(1, 2.0, 50);
+        indice.definirId(0, 40);
+        verificar(Arrays.equals(indice.maiores(2), new int[]{1, 0}), "id recebido depois reposiciona o nó");
+        verificar(indice.tamanho() == 2, "definirId não duplica");
+    }
+
+    private static void comparacaoAleatoria(Random aleatorio) {
+        IndiceOrdenado indice = new IndiceOrdenado();
+        List<Elemento> esperado = new ArrayList<>();
+        long inclusoes = 0;
+        for (int passo = 0; passo < 20_000; passo++) {
+            if (!esperado.isEmpty() && aleatorio.nextInt(4) == 0) {
+                Elemento removido = esperado.remove(aleatorio.nextInt(esperado.size()));
+                indice.remover(removido.chave());
+            } else {
+                int chave = passo;
+                // Poucos valores distintos: muitos empates
+                double valor = aleatorio.nextInt(50);
+                int id = aleatorio.nextInt(3) == 0 ? 0 : 1 + aleatorio.nextInt(1_000_000);
+                indice.adicionar(chave, valor, id);
+                long desempate = (id != 0) ? id : (1L << 32) + inclusoes;
+                if (id == 0) inclusoes++;
+                esperado.add(new Elemento(chave, valor, desempate));
+            }
+        }
+        esperado.sort(ORDEM);
+        verificar(indice.tamanho() == esperado.size(), "tamanho");
+
+        int[] todosCrescente = new int[esperado.size()];
+        for (int i = 0; i < todosCrescente.length; i++) todosCrescente[i] = esperado.get(i).chave();
+        verificar(Arrays.equals(chaves(indice.intervalo(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY)),
+                todosCrescente), "faixa completa crescente");
+
+        int k = 137;
+        int[] maiores = new int[k];
+        for (int i = 0; i < k; i++) maiores[i] = esperado.get(esperado.size() - 1 - i).chave();
+        verificar(Arrays.equals(indice.maiores(k), maiores), "k maiores");
+        verificar(indice.maiores(esperado.size() + 10).length == esperado.size(), "k maior que o índice");
+        verificar(indice.maiores(0).length == 0, "k = 0");
+
+        for (int teste = 0; teste < 200; teste++) {
+            double a = aleatorio.nextInt(52) - 1, b = aleatorio.nextInt(52) - 1;
+            double minimo = Math.min(a, b), maximo = Math.max(a, b);
+            List<Integer> naFaixa = new ArrayList<>();
+            for (Elemento e : esperado) if (e.valor() >= minimo && e.valor() <= maximo) naFaixa.add(e.chave());
+            verificar(indice.contar(minimo, maximo) == naFaixa.size(), "contar [" + minimo + ", " + maximo + "]");
+            int[] crescente = naFaixa.stream().mapToInt(Integer::intValue).toArray();
+            verificar(Arrays.equals(chaves(indice.intervalo(minimo, maximo)), crescente), "faixa crescente");
+            int[] decrescente = new int[crescente.length];
+            for (int i = 0; i < crescente.length; i++) decrescente[i] = crescente[crescente.length - 1 - i];
+            verificar(Arrays.equals(chaves(indice.intervaloDecrescente(minimo, maximo)), decrescente), "faixa decrescente");
+        }
+        verificar(indice.contar(10, 5) == 0, "faixa invertida");
+        verificar(indice.contar(Double.NaN, 5) == 0, "faixa com NaN");
+    }
+
+    private static int[] chaves(PrimitiveIterator.OfInt iterador) {
+        int[] resultado = new int[16];
+        int n = 0;
+        while (iterador.hasNext()) {
+            if (n == resultado.length) resultado = Arrays.copyOf(resultado, n * 2);
+            resultado[n++] = iterador.nextInt();
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) throw new AssertionError("FALHOU: " + mensagem);
+    }
+}
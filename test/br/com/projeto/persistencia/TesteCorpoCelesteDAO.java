@@ -0,0 +1,105 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.Consulta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Confere o SQL da paginação por chave (keyset) montado pelo CorpoCelesteDAO, sem banco: a condição
+// de fronteira (coluna, id) depois/antes da chave em cada direção, a ordem com o id como desempate,
+// a linha a mais do LIMIT (que indica outra página) e a ordem dos parâmetros.
+// Executar com: java -cp <classes>:<classes de teste> br.com.projeto.persistencia.TesteCorpoCelesteDAO
+public class TesteCorpoCelesteDAO {
+
+    private static final String SELECT = "SELECT id, tipo, nome, massa_kg, distancia_anos_luz, atributo_especial, ";
+
+    public static void main(String[] args) {
+        primeiraPagina();
+        paraFrenteEParaTras();
+        colunaId();
+        filtroComTrecho();
+        verificar(CorpoCelesteDAO.escaparLike("50%_a\\b").equals("50\\%\\_a\\\\b"), "curingas do LIKE escapados");
+        System.out.println("SUCESSO! CorpoCelesteDAO (paginação)");
+    }
+
+    // Sem chave: começo da ordem, sem condição de fronteira, LIMIT tamanho + 1
+    private static void primeiraPagina() {
+        List<Object> parametros = new ArrayList<>();
+        String sql = CorpoCelesteDAO.montarPagina(Consulta.todos(), CorpoCelesteDAO.ColunaPaginacao.MASSA, true,
+                null, 500, false, true, parametros);
+        verificar(sql.equals(SELECT + "massa_kg AS chave_ordem FROM corpos_celestes"
+                + " ORDER BY massa_kg ASC, id ASC LIMIT ?"), "primeira página: " + sql);
+        verificar(parametros.equals(List.of(501)), "LIMIT com a linha a mais");
+
+        // Decrescente sem chave: o fim da ordem crescente
+        parametros.clear();
+        sql = CorpoCelesteDAO.montarPagina(Consulta.todos(), CorpoCelesteDAO.ColunaPaginacao.MASSA, false,
+                null, 500, false, true, parametros);
+        verificar(sql.endsWith(" ORDER BY massa_kg DESC, id DESC LIMIT ?"), "primeira página decrescente: " + sql);
+    }
+
+    // A chave é (valor, id) da última linha (para frente) ou da primeira (para trás). Empates no
+    // valor continuam pelo id: a comparação de linha (coluna, id) > (?, ?) não pula nem repete linhas
+    private static void paraFrenteEParaTras() {
+        CorpoCelesteDAO.ChavePagina chave = new CorpoCelesteDAO.ChavePagina(5.0e24, 42);
+        String[][] casos = {
+                // crescente, paraTras, comparação, direção
+                {"true", "false", ">", "ASC"},
+                {"true", "true", "<", "DESC"},
+                {"false", "false", "<", "DESC"},
+                {"false", "true", ">", "ASC"},
+        };
+        for (String[] caso : casos) {
+            List<Object> parametros = new ArrayList<>();
+            String sql = CorpoCelesteDAO.montarPagina(Consulta.todos(), CorpoCelesteDAO.ColunaPaginacao.MASSA,
+                    Boolean.parseBoolean(caso[0]), chave, 100, Boolean.parseBoolean(caso[1]), true, parametros);
+            String esperado = SELECT + "massa_kg AS chave_ordem FROM corpos_celestes"
+                    + " WHERE (massa_kg, id) " + caso[2] + " (?, ?)"
+                    + " ORDER BY massa_kg " + caso[3] + ", id " + caso[3] + " LIMIT ?";
+            verificar(sql.equals(esperado), "crescente=" + caso[0] + " paraTras=" + caso[1] + ": " + sql);
+            verificar(parametros.equals(List.of(5.0e24, 42, 101)), "parâmetros valor, id, limite: " + parametros);
+        }
+    }
+
+    // Ordenando pelo próprio id a chave é só o id
+    private static void colunaId() {
+        List<Object> parametros = new ArrayList<>();
+        String sql = CorpoCelesteDAO.montarPagina(Consulta.todos(), CorpoCelesteDAO.ColunaPaginacao.ID, true,
+                new CorpoCelesteDAO.ChavePagina(7, 7), 10, false, true, parametros);
+        verificar(sql.equals(SELECT + "id AS chave_ordem FROM corpos_celestes WHERE id > ? ORDER BY id ASC LIMIT ?"),
+                "coluna id: " + sql);
+        verificar(parametros.equals(List.of(7, 11)), "coluna id: parâmetros " + parametros);
+    }
+
+    // Os filtros vêm antes da fronteira, e os parâmetros na mesma ordem dos "?"
+    private static void filtroComTrecho() {
+        Consulta filtro = Consulta.todos().comTipo(Consulta.Tipo.PLANETA).comTrecho("Órion_1");
+        List<Object> parametros = new ArrayList<>();
+        String sql = CorpoCelesteDAO.montarPagina(filtro, CorpoCelesteDAO.ColunaPaginacao.NOME, true,
+                new CorpoCelesteDAO.ChavePagina("Kepler", 3), 50, false, true, parametros);
+        verificar(sql.contains("nome_sem_acentos(nome) ILIKE '%' || nome_sem_acentos(?) || '%'"), "trecho sem acentos: " + sql);
+        verificar(sql.indexOf("ILIKE") < sql.indexOf("(nome, id) > (?, ?)"), "fronteira depois dos filtros: " + sql);
+        verificar(sql.endsWith(" ORDER BY nome ASC, id ASC LIMIT ?"), "ordem por nome: " + sql);
+        int ultimo = parametros.size() - 1;
+        verificar(parametros.subList(ultimo - 3, ultimo + 1).equals(List.of("Órion\\_1", "Kepler", 3, 51)),
+                "trecho escapado, chave e limite no fim: " + parametros);
+        verificar(contar(sql, '?') == parametros.size(), "um parâmetro por '?'");
+
+        // Sem a função no banco: lower(nome), o mesmo parâmetro
+        parametros.clear();
+        sql = CorpoCelesteDAO.montarPagina(filtro, CorpoCelesteDAO.ColunaPaginacao.NOME, true, null, 50, false,
+                false, parametros);
+        verificar(sql.contains("lower(nome) LIKE '%' || lower(?) || '%'") && !sql.contains("nome_sem_acentos"),
+                "sem nome_sem_acentos: " + sql);
+    }
+
+    private static int contar(String texto, char alvo) {
+        int n = 0;
+        for (int i = 0; i < texto.length(); i++) if (texto.charAt(i) == alvo) n++;
+        return n;
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) throw new AssertionError("FALHOU: " + mensagem);
+    }
+}
@@ -0,0 +1,182 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.CorpoCeleste;
+import br.com.projeto.modelo.Estrela;
+import br.com.projeto.modelo.Planeta;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Confere a FilaEscritaAssincrona sem banco (o gravador do lote é trocado): coalescência de
+// inserção + remoção no mesmo lote, repetição com o lote inteiro nas falhas transitórias,
+// isolamento da mutação com erro permanente, descarte com o pool encerrado e a contagem de pendentes.
+// Executar com: java -cp <classes>:<classes de teste> br.com.projeto.persistencia.TesteFilaEscritaAssincrona
+public class TesteFilaEscritaAssincrona {
+
+    public static void main(String[] args) throws Exception {
+        coalescencia();
+        repeticaoEmFalhaTransitoria();
+        isolamentoEmFalhaPermanente();
+        descarteComPoolEncerrado();
+        System.out.println("SUCESSO! FilaEscritaAssincrona");
+    }
+
+    private static void coalescencia() {
+        CorpoCeleste a = corpo("A"), b = corpo("B"), c = corpo("C");
+        FilaEscritaAssincrona.Mutacao insereA = new FilaEscritaAssincrona.Insercao(a);
+        FilaEscritaAssincrona.Mutacao insereB = new FilaEscritaAssincrona.Insercao(b);
+        FilaEscritaAssincrona.Mutacao removeA = new FilaEscritaAssincrona.RemocaoPorIds(List.of(a));
+        FilaEscritaAssincrona.Mutacao insereC = new FilaEscritaAssincrona.Insercao(c);
+
+        // A inserção de "a" some (a remoção vem depois, no mesmo lote); a remoção fica, na ordem
+        List<FilaEscritaAssincrona.Mutacao> efetivas =
+                FilaEscritaAssincrona.coalescer(List.of(insereA, insereB, removeA, insereC));
+        verificar(efetivas.equals(List.of(insereB, removeA, insereC)), "inserção seguida de remoção coalescida");
+
+        // Remoção antes da inserção não anula a inserção
+        efetivas = FilaEscritaAssincrona.coalescer(List.of(removeA, insereA));
+        verificar(efetivas.equals(List.of(removeA, insereA)), "remoção antes da inserção mantida");
+
+        // Identidade, não igualdade: outro objeto com os mesmos dados não é coalescido
+        CorpoCeleste copiaDeA = corpo("A");
+        efetivas = FilaEscritaAssincrona.coalescer(List.of(insereA, new FilaEscritaAssincrona.RemocaoPorIds(List.of(copiaDeA))));
+        verificar(efetivas.size() == 2, "coalescência por identidade");
+    }
+
+    // Duas falhas de conexão (SQLState 08) e depois sucesso: o mesmo lote é regravado, o ouvinte vê
+    // as duas falhas com seraRepetido e depois a recuperação
+    private static void repeticaoEmFalhaTransitoria() throws Exception {
+        List<List<FilaEscritaAssincrona.Mutacao>> tentativas = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger falhasRestantes = new AtomicInteger(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilaEscritaAssincrona fila = new FilaEscritaAssincrona(null, 16, 16, lote -> {
+            esperar(liberar);
+            tentativas.add(List.copyOf(lote));
+            if (falhasRestantes.getAndDecrement() > 0) throw new SQLException("Conexão recusada", "08001");
+        });
+        List<Boolean> repeticoes = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger recuperacoes = new AtomicInteger();
+        fila.adicionarOuvinteFalha(new FilaEscritaAssincrona.OuvinteFalha() {
+            @Override
+            public void falhou(List<FilaEscritaAssincrona.Mutacao> lote, SQLException erro, boolean seraRepetido) {
+                repeticoes.add(seraRepetido);
+            }
+
+            @Override
+            public void recuperou() {
+                recuperacoes.incrementAndGet();
+            }
+        });
+
+        List<FilaEscritaAssincrona.Mutacao> mutacoes = List.of(
+                new FilaEscritaAssincrona.Insercao(corpo("X")), new FilaEscritaAssincrona.Insercao(corpo("Y")));
+        for (FilaEscritaAssincrona.Mutacao mutacao : mutacoes) {
+            verificar(fila.enfileirar(mutacao, 1, TimeUnit.SECONDS), "enfileirar");
+        }
+        verificar(fila.getPendentes() == 2, "pendentes antes da gravação");
+        // O escritor já retirou a primeira e está parado no gravador; a segunda espera na fila
+        liberar.countDown();
+
+        verificar(fila.aguardarEscrita(10, TimeUnit.SECONDS), "aguardarEscrita depois das repetições");
+        verificar(fila.getPendentes() == 0, "nada pendente depois do sucesso");
+        verificar(repeticoes.equals(List.of(true, true)), "duas falhas transitórias, ambas repetidas");
+        verificar(recuperacoes.get() == 1, "recuperou uma vez");
+        verificar(tentativas.size() >= 3, "lote regravado");
+        verificar(tentativas.get(1).equals(tentativas.get(0)) && tentativas.get(2).equals(tentativas.get(0)),
+                "a repetição usa o mesmo lote");
+        List<FilaEscritaAssincrona.Mutacao> gravadas = new ArrayList<>();
+        for (int i = 2; i < tentativas.size(); i++) gravadas.addAll(tentativas.get(i));
+        verificar(gravadas.equals(mutacoes), "todas gravadas, em ordem");
+        verificar(fila.encerrar(5, TimeUnit.SECONDS), "encerrar");
+    }
+
+    // Erro permanente (SQLState 23) num lote de três: cada mutação é regravada sozinha e só a
+    // problemática é descartada
+    private static void isolamentoEmFalhaPermanente() throws Exception {
+        CorpoCeleste problematico = corpo("Duplicado");
+        List<List<FilaEscritaAssincrona.Mutacao>> tentativas = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch primeiraRetirada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilaEscritaAssincrona fila = new FilaEscritaAssincrona(null, 16, 16, lote -> {
+            primeiraRetirada.countDown();
+            esperar(liberar);
+            tentativas.add(List.copyOf(lote));
+            for (FilaEscritaAssincrona.Mutacao mutacao : lote) {
+                if (mutacao instanceof FilaEscritaAssincrona.Insercao i && i.corpo() == problematico) {
+                    throw new SQLException("Chave duplicada", "23505");
+                }
+            }
+        });
+        List<List<FilaEscritaAssincrona.Mutacao>> descartadas = Collections.synchronizedList(new ArrayList<>());
+        fila.adicionarOuvinteFalha((lote, erro, seraRepetido) -> {
+            verificar(!seraRepetido, "erro permanente não é repetido");
+            descartadas.add(lote);
+        });
+
+        // Um lote só com a primeira; as três seguintes entram juntas no próximo
+        fila.enfileirar(new FilaEscritaAssincrona.Insercao(corpo("Primeira")), 1, TimeUnit.SECONDS);
+        verificar(primeiraRetirada.await(5, TimeUnit.SECONDS), "escritor retirou a primeira");
+        FilaEscritaAssincrona.Mutacao boa1 = new FilaEscritaAssincrona.Insercao(corpo("Boa 1"));
+        FilaEscritaAssincrona.Mutacao ruim = new FilaEscritaAssincrona.Insercao(problematico);
+        FilaEscritaAssincrona.Mutacao boa2 = new FilaEscritaAssincrona.Insercao(corpo("Boa 2"));
+        for (FilaEscritaAssincrona.Mutacao mutacao : List.of(boa1, ruim, boa2)) {
+            fila.enfileirar(mutacao, 1, TimeUnit.SECONDS);
+        }
+        liberar.countDown();
+
+        verificar(fila.aguardarEscrita(5, TimeUnit.SECONDS), "aguardarEscrita");
+        verificar(fila.getPendentes() == 0, "nada pendente");
+        verificar(tentativas.size() == 5, "primeira, o lote de três e as três isoladas");
+        verificar(tentativas.get(1).equals(List.of(boa1, ruim, boa2)), "lote de três");
+        verificar(tentativas.get(2).equals(List.of(boa1)) && tentativas.get(3).equals(List.of(ruim))
+                && tentativas.get(4).equals(List.of(boa2)), "regravadas uma a uma, em ordem");
+        verificar(descartadas.equals(List.of(List.of(ruim))), "só a problemática descartada");
+        verificar(fila.encerrar(5, TimeUnit.SECONDS), "encerrar");
+    }
+
+    // Pool encerrado: o lote inteiro é descartado de uma vez, sem repetição nem isolamento
+    private static void descarteComPoolEncerrado() throws Exception {
+        AtomicInteger tentativas = new AtomicInteger();
+        FilaEscritaAssincrona fila = new FilaEscritaAssincrona(null, 16, 16, lote -> {
+            tentativas.incrementAndGet();
+            throw new SQLNonTransientConnectionException("Pool de conexões encerrado");
+        });
+        List<Boolean> repeticoes = Collections.synchronizedList(new ArrayList<>());
+        fila.adicionarOuvinteFalha((lote, erro, seraRepetido) -> repeticoes.add(seraRepetido));
+        fila.enfileirar(new FilaEscritaAssincrona.Insercao(corpo("Z")), 1, TimeUnit.SECONDS);
+
+        verificar(fila.aguardarEscrita(5, TimeUnit.SECONDS), "aguardarEscrita");
+        verificar(tentativas.get() == 1, "uma tentativa só");
+        verificar(repeticoes.equals(List.of(false)), "descartado sem repetição");
+        verificar(fila.encerrar(5, TimeUnit.SECONDS), "encerrar");
+        try {
+            fila.enfileirar(new FilaEscritaAssincrona.Insercao(corpo("W")), 1, TimeUnit.SECONDS);
+            throw new AssertionError("FALHOU: fila encerrada aceitou mutação");
+        } catch (IllegalStateException esperado) {
+            // ok
+        }
+    }
+
+    // O gravador roda na thread de escrita, que ninguém interrompe
+    private static void esperar(CountDownLatch sinal) {
+        try {
+            sinal.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static CorpoCeleste corpo(String nome) {
+        return nome.hashCode() % 2 == 0 ? new Planeta(nome, 1e24, 1, false) : new Estrela(nome, 1e30, 1, "G2V");
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) throw new AssertionError("FALHOU: " + mensagem);
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.projeto.persistencia;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// Confere a conversão de números do LeitorCatalogo (caminho rápido sem String) contra
+// Double.parseDouble / Long.parseLong, bit a bit, inclusive nos limites do caminho rápido.
+// Executar com: java -cp <classes>:<classes de teste> br.com.projeto.persistencia.TesteLeitorCatalogo
+public class TesteLeitorCatalogo {
+
+    private static final String[] CASOS = {
+            "0", "-0", "+0", "0.0", "-0.0", "00012", "1", "-1", "+7", "3.14159", ".5", "5.", "-.25",
+            "1.989e30", "1.989E+30", "5.972e24", "2.446e-29", "1e22", "1e23", "9e-22", "9e-23", "1e-324",
+            "4.9e-324", "1.7976931348623157e308", "1e309", "-1e309",
+            // 15, 16, 17 e 19 dígitos na mantissa (a partir de 16 vai para o JDK)
+            "123456789012345", "1234567890123456", "12345678901234567", "1234567890123456789",
+            "0.000000000000000000000000123", "123456789012345e10", "12345e30", "1e00000000022",
+            // Formatos que só o JDK aceita (ou ninguém)
+            "NaN", "Infinity", "-Infinity", "0x1p3", "1.5d", "1.5f", "", "-", ".", "e5", "1e", "1e+", "1..2", "abc", "1,5"
+    };
+
+    public static void main(String[] args) {
+        for (String caso : CASOS) conferirDouble(caso);
+
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 200_000; i++) conferirDouble(doubleAleatorio(aleatorio));
+        for (int i = 0; i < 50_000; i++) conferirDouble(Double.toString(Double.longBitsToDouble(aleatorio.nextLong())));
+
+        for (String caso : new String[]{"0", "-0", "42", "+42", "-9223372036854775808", "9223372036854775807"}) {
+            conferirLong(caso);
+        }
+        for (String invalido : new String[]{"", "-", "+", "9223372036854775808", "-9223372036854775809", "1.0", "12a"}) {
+            try {
+                LeitorCatalogo.lerLong(buffer(invalido), 0, invalido.length());
+                throw new AssertionError("FALHOU: lerLong aceitou \"" + invalido + "\"");
+            } catch (NumberFormatException esperado) {
+                // ok
+            }
+        }
+        System.out.println("SUCESSO! LeitorCatalogo");
+    }
+
+    // Mantissas de 1 a 19 dígitos com ponto e expoente em qualquer posição
+    private static String doubleAleatorio(Random aleatorio) {
+        StringBuilder sb = new StringBuilder();
+        if (aleatorio.nextBoolean()) sb.append('-');
+        int digitos = 1 + aleatorio.nextInt(19);
+        int ponto = aleatorio.nextInt(digitos + 1);
+        for (int i = 0; i < digitos; i++) {
+            if (i == ponto && i > 0) sb.append('.');
+            sb.append((char) ('0' + aleatorio.nextInt(10)));
+        }
+        if (aleatorio.nextInt(3) > 0) {
+            sb.append(aleatorio.nextBoolean() ? 'e' : 'E');
+            sb.append(aleatorio.nextInt(80) - 40);
+        }
+        return sb.toString();
+    }
+
+    private static void conferirDouble(String texto) {
+        // Com deslocamento, para pegar leituras fora de [inicio, fim)
+        String comMargem = "#;" + texto + ";#";
+        double lido = LeitorCatalogo.lerDouble(buffer(comMargem), 2, 2 + texto.length());
+        double esperado;
+        try {
+            esperado = Double.parseDouble(texto);
+        } catch (NumberFormatException e) {
+            esperado = Double.NaN;
+        }
+        if (Double.doubleToRawLongBits(lido) != Double.doubleToRawLongBits(esperado)
+                && !(Double.isNaN(lido) && Double.isNaN(esperado))) {
+            throw new AssertionError("FALHOU: lerDouble(\"" + texto + "\") = " + lido + ", esperado " + esperado);
+        }
+    }
+
+    private static void conferirLong(String texto) {
+        long lido = LeitorCatalogo.lerLong(buffer(texto), 0, texto.length());
+        if (lido != Long.parseLong(texto)) throw new AssertionError("FALHOU: lerLong(\"" + texto + "\") = " + lido);
+    }
+
+    private static ByteBuffer buffer(String texto) {
+        return ByteBuffer.wrap(texto.getBytes(StandardCharsets.US_ASCII));
+    }
+}
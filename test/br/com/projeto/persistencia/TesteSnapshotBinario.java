@@ -0,0 +1,193 @@
+package br.com.projeto.persistencia;
+
+import br.com.projeto.modelo.CorpoCeleste;
+import br.com.projeto.modelo.Estrela;
+import br.com.projeto.modelo.Planeta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// Confere o formato do SnapshotBinario: cabeçalho, posição das colunas no arquivo, alinhamento,
+// CRC32C do conteúdo, ida e volta dos corpos e recusa de arquivos corrompidos ou truncados.
+// Executar com: java -cp <classes>:<classes de teste> br.com.projeto.persistencia.TesteSnapshotBinario
+public class TesteSnapshotBinario {
+
+    private static final int TAMANHO_CABECALHO = 64;
+
+    public static void main(String[] args) throws IOException {
+        Path pasta = Files.createTempDirectory("teste-snapshot");
+        try {
+            List<CorpoCeleste> corpos = amostra(130);
+            Path arquivo = pasta.resolve("colecao.snap");
+            SnapshotBinario.gravar(arquivo, corpos);
+
+            byte[] bytes = Files.readAllBytes(arquivo);
+            conferirLayout(bytes, corpos);
+            conferirIdaEVolta(arquivo, corpos);
+            conferirColecaoVazia(pasta.resolve("vazia.snap"));
+            conferirCorrompido(pasta.resolve("corrompido.snap"), bytes);
+            conferirTruncado(pasta.resolve("truncado.snap"), bytes);
+        } finally {
+            try (var arquivos = Files.list(pasta)) {
+                for (Path p : arquivos.toList()) Files.deleteIfExists(p);
+            }
+            Files.deleteIfExists(pasta);
+        }
+        System.out.println("SUCESSO! SnapshotBinario");
+    }
+
+    // Planetas e estrelas alternados, com nome acentuado, nome vazio e tipos espectrais repetidos;
+    // 130 linhas = dois longs cheios de bits de habitável e um parcial
+    private static List<CorpoCeleste> amostra(int n) {
+        String[] espectrais = {"G2V", "M4Ve", "A0V"};
+        List<CorpoCeleste> corpos = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String nome = (i == 3) ? "" : (i % 7 == 0) ? "Órion " + i : "Corpo " + i;
+            CorpoCeleste c = (i % 2 == 0)
+                    ? new Planeta(nome, 1e24 * (i + 1), i, i % 3 == 0)
+                    : new Estrela(nome, 1e30 * (i + 1), 1000L * i, espectrais[i % espectrais.length]);
+            c.setId(i + 1);
+            corpos.add(c);
+        }
+        return corpos;
+    }
+
+    private static void conferirLayout(byte[] bytes, List<CorpoCeleste> corpos) {
+        int n = corpos.size();
+        ByteBuffer arquivo = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        verificar(new String(bytes, 0, 8, StandardCharsets.US_ASCII).equals("ASTRSNAP"), "assinatura");
+        verificar(arquivo.getInt(8) == 1, "versão do formato");
+        verificar(arquivo.getInt(12) == n, "quantidade");
+        long tamanhoConteudo = arquivo.getLong(24);
+        verificar(bytes.length == TAMANHO_CABECALHO + tamanhoConteudo, "tamanho = cabeçalho + conteúdo");
+        verificar(tamanhoConteudo % 8 == 0, "conteúdo termina alinhado em 8 bytes");
+        verificar(arquivo.getInt(36) == 3, "tamanho do dicionário espectral");
+
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, TAMANHO_CABECALHO, (int) tamanhoConteudo);
+        verificar((int) crc.getValue() == arquivo.getInt(32), "CRC32C do conteúdo");
+
+        // Seções na ordem do formato, cada uma começando em múltiplo de 8
+        int pos = TAMANHO_CABECALHO;
+        for (int i = 0; i < n; i++) verificar(arquivo.getInt(pos + 4 * i) == corpos.get(i).getId(), "coluna de ids");
+        pos = alinhado(pos + 4 * n);
+        for (int i = 0; i < n; i++) {
+            verificar(bytes[pos + i] == (corpos.get(i) instanceof Planeta ? 0 : 1), "coluna de tipos");
+        }
+        pos = alinhado(pos + n);
+        for (int i = 0; i < n; i++) {
+            boolean bit = (arquivo.getLong(pos + 8 * (i >> 6)) & (1L << (i & 63))) != 0;
+            verificar(bit == (corpos.get(i) instanceof Planeta p && p.isHabitavel()), "bits de habitável");
+        }
+        pos += 8 * ((n + 63) / 64);
+        for (int i = 0; i < n; i++) {
+            verificar(arquivo.getDouble(pos + 8 * i) == corpos.get(i).getMassaKg(), "coluna de massas");
+        }
+        pos += 8 * n;
+        for (int i = 0; i < n; i++) {
+            verificar(arquivo.getLong(pos + 8 * i) == corpos.get(i).getDistanciaEmAnosLuz(), "coluna de distâncias");
+        }
+        pos += 8 * n;
+        // Códigos na ordem da primeira ocorrência de cada tipo espectral; -1 nos planetas
+        List<String> dicionario = List.of("M4Ve", "G2V", "A0V");
+        for (int i = 0; i < n; i++) {
+            int codigo = arquivo.getInt(pos + 4 * i);
+            int esperado = (corpos.get(i) instanceof Estrela e) ? dicionario.indexOf(e.getTipoEspectral()) : -1;
+            verificar(codigo == esperado, "código espectral " + i);
+        }
+        pos += 4 * n;
+        int inicioFins = pos;
+        pos = alinhado(pos + 4 * n);
+        int inicioNome = 0;
+        for (int i = 0; i < n; i++) {
+            int fimNome = arquivo.getInt(inicioFins + 4 * i);
+            String nome = new String(bytes, pos + inicioNome, fimNome - inicioNome, StandardCharsets.UTF_8);
+            verificar(nome.equals(corpos.get(i).getNome()), "nome " + i);
+            inicioNome = fimNome;
+        }
+        pos = alinhado(pos + inicioNome);
+        // Dicionário: tamanho + bytes de cada tipo espectral, na ordem da primeira ocorrência
+        for (String esperado : dicionario) {
+            int tamanho = arquivo.getInt(pos);
+            verificar(new String(bytes, pos + 4, tamanho, StandardCharsets.UTF_8).equals(esperado), "dicionário " + esperado);
+            pos += 4 + tamanho;
+        }
+        verificar(alinhado(pos) == bytes.length, "dicionário é a última seção");
+    }
+
+    private static void conferirIdaEVolta(Path arquivo, List<CorpoCeleste> corpos) throws IOException {
+        List<CorpoCeleste> lidos = new ArrayList<>();
+        SnapshotBinario.Cabecalho cabecalho = SnapshotBinario.ler(arquivo, lidos::add);
+        verificar(cabecalho.quantidade() == corpos.size() && lidos.size() == corpos.size(), "quantidade lida");
+        for (int i = 0; i < corpos.size(); i++) {
+            CorpoCeleste esperado = corpos.get(i), lido = lidos.get(i);
+            verificar(lido.getClass() == esperado.getClass(), "tipo " + i);
+            verificar(lido.getId() == esperado.getId(), "id " + i);
+            verificar(lido.getNome().equals(esperado.getNome()), "nome " + i);
+            verificar(lido.getMassaKg() == esperado.getMassaKg(), "massa " + i);
+            verificar(lido.getDistanciaEmAnosLuz() == esperado.getDistanciaEmAnosLuz(), "distância " + i);
+            if (esperado instanceof Planeta p) {
+                verificar(((Planeta) lido).isHabitavel() == p.isHabitavel(), "habitável " + i);
+            } else {
+                verificar(((Estrela) lido).getTipoEspectral().equals(((Estrela) esperado).getTipoEspectral()), "espectral " + i);
+            }
+        }
+        verificar(SnapshotBinario.lerCabecalho(arquivo).equals(cabecalho), "lerCabecalho = cabeçalho da leitura");
+    }
+
+    private static void conferirColecaoVazia(Path arquivo) throws IOException {
+        SnapshotBinario.gravar(arquivo, List.of());
+        verificar(Files.size(arquivo) == TAMANHO_CABECALHO, "coleção vazia: só o cabeçalho");
+        List<CorpoCeleste> lidos = new ArrayList<>();
+        verificar(SnapshotBinario.ler(arquivo, lidos::add).quantidade() == 0 && lidos.isEmpty(), "coleção vazia lida");
+    }
+
+    // Um bit trocado no conteúdo é recusado pelo CRC
+    private static void conferirCorrompido(Path arquivo, byte[] original) throws IOException {
+        byte[] bytes = original.clone();
+        bytes[TAMANHO_CABECALHO + 4 * 10] ^= 0x01;
+        Files.write(arquivo, bytes);
+        verificarRecusa(arquivo, "CRC não recusou conteúdo alterado");
+        // lerCabecalho não confere o CRC, só o tamanho
+        SnapshotBinario.lerCabecalho(arquivo);
+    }
+
+    private static void conferirTruncado(Path arquivo, byte[] original) throws IOException {
+        Files.write(arquivo, Arrays.copyOf(original, original.length - 8));
+        verificarRecusa(arquivo, "arquivo truncado aceito");
+        try {
+            SnapshotBinario.lerCabecalho(arquivo);
+            throw new AssertionError("FALHOU: lerCabecalho aceitou arquivo truncado");
+        } catch (IOException esperado) {
+            // ok
+        }
+        Files.write(arquivo, Arrays.copyOf(original, 20));
+        verificarRecusa(arquivo, "cabeçalho truncado aceito");
+    }
+
+    private static void verificarRecusa(Path arquivo, String mensagem) {
+        try {
+            SnapshotBinario.ler(arquivo, c -> { });
+            throw new AssertionError("FALHOU: " + mensagem);
+        } catch (IOException esperado) {
+            // ok
+        }
+    }
+
+    private static int alinhado(int pos) {
+        return (pos + 7) & ~7;
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) throw new AssertionError("FALHOU: " + mensagem);
+    }
+}